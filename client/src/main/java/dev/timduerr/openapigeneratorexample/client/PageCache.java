@@ -0,0 +1,73 @@
+package dev.timduerr.openapigeneratorexample.client;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * PageCache.
+ *
+ * <p>A small least-recently-used cache of pages that serves every page for a fixed time after it was fetched.
+ * Pages are fetched outside the lock, so concurrent misses of the same page may both reach the server.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+final class PageCache {
+
+    private final Map<Object, Entry> entries;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoTime;
+
+    PageCache(int maxEntries, Duration timeToLive) {
+        this(maxEntries, timeToLive, System::nanoTime);
+    }
+
+    PageCache(int maxEntries, Duration timeToLive, LongSupplier nanoTime) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Returns the cached page for a key, fetching and caching it if it is missing or expired.
+     *
+     * @param key the key of the page
+     * @param fetch fetches the page
+     * @return the page
+     */
+    TodoPage get(Object key, Supplier<TodoPage> fetch) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && nanoTime.getAsLong() - entry.fetchedAt() < timeToLiveNanos) {
+                return entry.page();
+            }
+        }
+
+        long fetchedAt = nanoTime.getAsLong();
+        TodoPage page = fetch.get();
+        synchronized (entries) {
+            entries.put(key, new Entry(page, fetchedAt));
+        }
+        return page;
+    }
+
+    /**
+     * Drops all cached pages.
+     */
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private record Entry(TodoPage page, long fetchedAt) {
+    }
+}
@@ -0,0 +1,132 @@
+package dev.timduerr.openapigeneratorexample.client;
+
+import dev.timduerr.openapigeneratorexample.client.api.DefaultApi;
+import dev.timduerr.openapigeneratorexample.client.invoker.ApiClient;
+import dev.timduerr.openapigeneratorexample.client.invoker.ApiException;
+import dev.timduerr.openapigeneratorexample.client.model.Todo;
+
+import java.net.http.HttpClient;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * TodoClient.
+ *
+ * <p>Wraps the generated {@link DefaultApi} for long-lived use. All calls share a single {@link HttpClient} that
+ * prefers HTTP/2, so that requests are multiplexed over one connection per server, or reuse the pooled
+ * keep-alive connections of servers that only speak HTTP/1.1. Create one client per server and share it;
+ * every client holds a pool of its own.
+ *
+ * <p>On top of the generated calls, the client streams all todos page by page, fetching the next page while the
+ * current one is consumed, and optionally caches pages for a short time.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class TodoClient implements AutoCloseable {
+
+    private final DefaultApi api;
+    private final ExecutorService prefetchExecutor;
+    private final PageCache cache;
+
+    public TodoClient(TodoClientSettings settings) {
+        ApiClient apiClient = new ApiClient();
+        apiClient.setHttpClientBuilder(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(settings.connectTimeout()));
+        apiClient.updateBaseUri(settings.baseUri().toString());
+        apiClient.setReadTimeout(settings.requestTimeout());
+
+        // the generated API builds its HttpClient, and with it the connection pool, once on construction
+        this.api = new DefaultApi(apiClient);
+        this.prefetchExecutor = Executors.newFixedThreadPool(settings.prefetchThreads(), daemonThreads());
+        this.cache = settings.cacheSize() > 0
+                ? new PageCache(settings.cacheSize(), settings.cacheTimeToLive())
+                : null;
+    }
+
+    /**
+     * Returns the generated API, for all calls that the client does not wrap.
+     *
+     * @return the API sharing this client's connections
+     */
+    public DefaultApi api() {
+        return api;
+    }
+
+    /**
+     * Lists a page of todos, from the cache if it is enabled.
+     *
+     * @param page the zero-based page index
+     * @param size the page size
+     * @param sort the sort property, e.g. {@code -title}, or {@code null} for the server default
+     * @param q the case-insensitive search term, or {@code null}
+     * @return the page
+     * @throws TodoClientException if the request fails
+     */
+    public TodoPage listTodos(int page, int size, String sort, String q) {
+        if (cache == null) {
+            return fetch(page, size, sort, q);
+        }
+        return cache.get(new PageKey(page, size, sort, q), () -> fetch(page, size, sort, q));
+    }
+
+    /**
+     * Streams all todos, page by page. Pages are fetched lazily, each one while the one before it is consumed.
+     * Close the stream when abandoning it early, to drop a page that is still being fetched.
+     *
+     * @param size the page size
+     * @param sort the sort property, or {@code null} for the server default; pass a unique order such as
+     *             {@code id} to see every todo exactly once while others write
+     * @param q the case-insensitive search term, or {@code null}
+     * @return the todos
+     */
+    public Stream<Todo> streamTodos(int size, String sort, String q) {
+        TodoPageIterator iterator = new TodoPageIterator(page -> listTodos(page, size, sort, q), prefetchExecutor);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Drops all cached pages, e.g. after writing todos.
+     */
+    public void invalidateCache() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private TodoPage fetch(int page, int size, String sort, String q) {
+        try {
+            return TodoPage.of(api.listTodosWithHttpInfo(page, size, sort, q, null, null));
+        } catch (ApiException e) {
+            throw new TodoClientException("Listing page " + page + " failed", e.getCode(), e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "todo-client-prefetch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record PageKey(int page, int size, String sort, String q) {
+    }
+}
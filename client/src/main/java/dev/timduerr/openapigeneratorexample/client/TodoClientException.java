@@ -0,0 +1,28 @@
+package dev.timduerr.openapigeneratorexample.client;
+
+/**
+ * TodoClientException.
+ *
+ * <p>Thrown by the streaming and caching calls of {@link TodoClient} if a request fails.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class TodoClientException extends RuntimeException {
+
+    private final int status;
+
+    public TodoClientException(String message, int status, Throwable cause) {
+        super(message, cause);
+        this.status = status;
+    }
+
+    /**
+     * Returns the HTTP status of the failed request.
+     *
+     * @return the status, or {@code 0} if no response was received
+     */
+    public int getStatus() {
+        return status;
+    }
+}
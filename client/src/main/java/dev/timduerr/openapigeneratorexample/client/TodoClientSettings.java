@@ -0,0 +1,44 @@
+package dev.timduerr.openapigeneratorexample.client;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * TodoClientSettings.
+ *
+ * <p>Settings of a {@link TodoClient}. A {@code cacheSize} of {@code 0} disables the page cache.
+ *
+ * @param baseUri the base URI of the API, e.g. {@code http://localhost:8080/api}
+ * @param connectTimeout the timeout for opening a connection
+ * @param requestTimeout the timeout for a single request
+ * @param prefetchThreads the number of threads fetching pages ahead of their consumers
+ * @param cacheSize the maximum number of cached pages
+ * @param cacheTimeToLive the time a cached page is served for
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public record TodoClientSettings(URI baseUri, Duration connectTimeout, Duration requestTimeout, int prefetchThreads,
+                                 int cacheSize, Duration cacheTimeToLive) {
+
+    /**
+     * Returns the default settings for an API, without page cache.
+     *
+     * @param baseUri the base URI of the API
+     * @return the settings
+     */
+    public static TodoClientSettings of(URI baseUri) {
+        return new TodoClientSettings(baseUri, Duration.ofSeconds(2), Duration.ofSeconds(10), 2, 0, Duration.ZERO);
+    }
+
+    /**
+     * Returns a copy of these settings that caches pages.
+     *
+     * @param cacheSize the maximum number of cached pages
+     * @param cacheTimeToLive the time a cached page is served for
+     * @return the settings
+     */
+    public TodoClientSettings withCache(int cacheSize, Duration cacheTimeToLive) {
+        return new TodoClientSettings(baseUri, connectTimeout, requestTimeout, prefetchThreads, cacheSize,
+                cacheTimeToLive);
+    }
+}
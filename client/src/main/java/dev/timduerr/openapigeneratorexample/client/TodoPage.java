@@ -0,0 +1,58 @@
+package dev.timduerr.openapigeneratorexample.client;
+
+import dev.timduerr.openapigeneratorexample.client.invoker.ApiResponse;
+import dev.timduerr.openapigeneratorexample.client.model.Todo;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TodoPage.
+ *
+ * <p>A page of todos together with the pagination headers it was returned with.
+ *
+ * @param items the todos of the page
+ * @param page the zero-based page index ({@code X-Page})
+ * @param size the page size ({@code X-Size})
+ * @param totalElements the total number of todos ({@code X-Total-Elements})
+ * @param totalPages the total number of pages ({@code X-Total-Pages})
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public record TodoPage(List<Todo> items, int page, int size, long totalElements, int totalPages) {
+
+    /**
+     * Reads a page from a {@code listTodos} response.
+     *
+     * @param response the response
+     * @return the page
+     */
+    static TodoPage of(ApiResponse<List<Todo>> response) {
+        Map<String, List<String>> headers = response.getHeaders();
+        List<Todo> items = response.getData() == null ? List.of() : List.copyOf(response.getData());
+        return new TodoPage(items,
+                (int) header(headers, "X-Page", 0),
+                (int) header(headers, "X-Size", items.size()),
+                header(headers, "X-Total-Elements", items.size()),
+                (int) header(headers, "X-Total-Pages", 1));
+    }
+
+    /**
+     * Returns whether a page follows this one.
+     *
+     * @return {@code true} if there is a next page
+     */
+    public boolean hasNext() {
+        return !items.isEmpty() && page + 1 < totalPages;
+    }
+
+    private static long header(Map<String, List<String>> headers, String name, long fallback) {
+        // header names are case-insensitive, whatever map the transport hands out
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return Long.parseLong(header.getValue().getFirst().strip());
+            }
+        }
+        return fallback;
+    }
+}
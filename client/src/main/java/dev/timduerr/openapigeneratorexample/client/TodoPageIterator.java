@@ -0,0 +1,88 @@
+package dev.timduerr.openapigeneratorexample.client;
+
+import dev.timduerr.openapigeneratorexample.client.model.Todo;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * TodoPageIterator.
+ *
+ * <p>Iterates over the todos of all pages. The first page is fetched on the first call to {@link #hasNext()};
+ * as soon as a page arrives, the page after it is fetched in the background while the consumer works through
+ * the current one. Iteration ends after the page {@code X-Total-Pages} names as the last one, or at the first
+ * empty page.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+final class TodoPageIterator implements Iterator<Todo> {
+
+    private final IntFunction<TodoPage> fetch;
+    private final Executor executor;
+
+    private Iterator<Todo> current = Collections.emptyIterator();
+    private int nextPage = 0;
+    private CompletableFuture<TodoPage> prefetched;
+
+    TodoPageIterator(IntFunction<TodoPage> fetch, Executor executor) {
+        this.fetch = fetch;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (nextPage < 0) {
+                return false;
+            }
+
+            TodoPage page = prefetched == null ? fetch.apply(nextPage) : join(prefetched);
+            prefetched = null;
+            current = page.items().iterator();
+
+            if (page.hasNext()) {
+                int pageIndex = page.page() + 1;
+                nextPage = pageIndex;
+                prefetched = CompletableFuture.supplyAsync(() -> fetch.apply(pageIndex), executor);
+            } else {
+                nextPage = -1;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Todo next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Stops iterating and abandons a page still being fetched.
+     */
+    void close() {
+        nextPage = -1;
+        current = Collections.emptyIterator();
+        if (prefetched != null) {
+            prefetched.cancel(false);
+            prefetched = null;
+        }
+    }
+
+    private static TodoPage join(CompletableFuture<TodoPage> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
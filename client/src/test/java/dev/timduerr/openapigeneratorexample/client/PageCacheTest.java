@@ -0,0 +1,76 @@
+package dev.timduerr.openapigeneratorexample.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PageCacheTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class PageCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    /**
+     * Tests that a page is served from the cache until its time to live has passed.
+     */
+    @Test
+    void get_withinTimeToLive_servesCachedPage() {
+        PageCache cache = new PageCache(4, Duration.ofSeconds(5), now::get);
+
+        TodoPage first = cache.get(0, counting());
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertSame(first, cache.get(0, counting()), "Expected the cached page");
+        assertEquals(1, fetches.get(), "Expected a single fetch");
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNotSame(first, cache.get(0, counting()), "Expected the expired page to be fetched again");
+        assertEquals(2, fetches.get(), "Expected a second fetch");
+    }
+
+    /**
+     * Tests that the least recently used page is evicted first.
+     */
+    @Test
+    void get_full_evictsLeastRecentlyUsed() {
+        PageCache cache = new PageCache(2, Duration.ofMinutes(1), now::get);
+
+        cache.get(0, counting());
+        cache.get(1, counting());
+        cache.get(0, counting());
+        cache.get(2, counting());
+        assertEquals(3, fetches.get(), "Expected three fetches");
+
+        cache.get(0, counting());
+        assertEquals(3, fetches.get(), "Expected the recently used page to be kept");
+        cache.get(1, counting());
+        assertEquals(4, fetches.get(), "Expected the least recently used page to be evicted");
+    }
+
+    /**
+     * Tests that clearing the cache drops all pages.
+     */
+    @Test
+    void clear_dropsAllPages() {
+        PageCache cache = new PageCache(4, Duration.ofMinutes(1), now::get);
+
+        cache.get(0, counting());
+        cache.clear();
+        cache.get(0, counting());
+        assertEquals(2, fetches.get(), "Expected the page to be fetched again");
+    }
+
+    private Supplier<TodoPage> counting() {
+        return () -> new TodoPage(List.of(), fetches.incrementAndGet(), 20, 0, 0);
+    }
+}
@@ -0,0 +1,98 @@
+package dev.timduerr.openapigeneratorexample.client;
+
+import dev.timduerr.openapigeneratorexample.client.model.Todo;
+import dev.timduerr.openapigeneratorexample.client.model.TodoCreate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TodoClientIT.
+ *
+ * <p>Runs against the application at {@code todo.base-uri}, which the build starts before the integration tests
+ * and stops after them. The todos created by a test are deleted after it.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoClientIT {
+
+    private static final URI BASE_URI = URI.create(System.getProperty("todo.base-uri", "http://localhost:8080/api"));
+
+    private final List<UUID> created = new ArrayList<>();
+
+    private TodoClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new TodoClient(TodoClientSettings.of(BASE_URI).withCache(16, Duration.ofSeconds(30)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try {
+            for (UUID id : created) {
+                client.api().deleteTodo(id);
+            }
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * Tests that streaming returns every matching todo exactly once across page boundaries.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void streamTodos_acrossPages_returnsEveryTodoOnce() throws Exception {
+        String term = "client-" + UUID.randomUUID();
+        for (int i = 0; i < 7; i++) {
+            create(term + " " + i);
+        }
+
+        try (Stream<Todo> todos = client.streamTodos(3, "id", term)) {
+            List<UUID> streamed = todos.map(Todo::getId).toList();
+            assertEquals(created.size(), streamed.size(), "Expected every todo once");
+            assertTrue(streamed.containsAll(created), "Expected the created todos");
+        }
+
+        TodoPage first = client.listTodos(0, 3, "id", term);
+        assertEquals(7, first.totalElements(), "Expected X-Total-Elements");
+        assertEquals(3, first.totalPages(), "Expected X-Total-Pages");
+        assertTrue(first.hasNext(), "Expected a next page");
+    }
+
+    /**
+     * Tests that pages are served from the cache until it is invalidated.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_cached_untilInvalidated() throws Exception {
+        String term = "cached-" + UUID.randomUUID();
+        create(term);
+
+        TodoPage first = client.listTodos(0, 5, null, term);
+        assertSame(first, client.listTodos(0, 5, null, term), "Expected the cached page");
+
+        create(term);
+        assertEquals(1, client.listTodos(0, 5, null, term).totalElements(), "Expected the stale cached page");
+
+        client.invalidateCache();
+        assertEquals(2, client.listTodos(0, 5, null, term).totalElements(), "Expected a fresh page");
+    }
+
+    private void create(String title) throws Exception {
+        created.add(client.api().createTodo(new TodoCreate().title(title)).getId());
+    }
+}
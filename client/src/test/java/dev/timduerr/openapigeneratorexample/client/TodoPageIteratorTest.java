@@ -0,0 +1,83 @@
+package dev.timduerr.openapigeneratorexample.client;
+
+import dev.timduerr.openapigeneratorexample.client.model.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TodoPageIteratorTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoPageIteratorTest {
+
+    private final List<Integer> fetched = new CopyOnWriteArrayList<>();
+    private final List<Runnable> pending = new ArrayList<>();
+    private final Executor deferred = pending::add;
+
+    /**
+     * Tests that the iterator walks all pages in order and fetches each page once.
+     */
+    @Test
+    void next_allPages_inOrder() {
+        TodoPageIterator iterator = new TodoPageIterator(pages(5, 2), Runnable::run);
+
+        List<String> titles = new ArrayList<>();
+        iterator.forEachRemaining(todo -> titles.add(todo.getTitle()));
+
+        assertEquals(List.of("0", "1", "2", "3", "4"), titles, "Expected all todos in page order");
+        assertEquals(List.of(0, 1, 2), fetched, "Expected every page to be fetched once");
+    }
+
+    /**
+     * Tests that the next page is requested as soon as the current page arrives, before it is consumed.
+     */
+    @Test
+    void hasNext_firstPage_prefetchesSecondPage() {
+        TodoPageIterator iterator = new TodoPageIterator(pages(5, 2), deferred);
+
+        assertTrue(iterator.hasNext(), "Expected todos");
+        assertEquals(List.of(0), fetched, "Expected the first page to be fetched in the caller");
+        assertEquals(1, pending.size(), "Expected the second page to be scheduled");
+
+        pending.removeFirst().run();
+        assertEquals(List.of(0, 1), fetched, "Expected the second page to be fetched ahead");
+        assertEquals("0", iterator.next().getTitle(), "Expected the first todo");
+    }
+
+    /**
+     * Tests that nothing is fetched after the last page, and that closing abandons a scheduled page.
+     */
+    @Test
+    void hasNext_lastPageOrClosed_stops() {
+        TodoPageIterator single = new TodoPageIterator(pages(2, 2), deferred);
+        single.forEachRemaining(todo -> { });
+        assertTrue(pending.isEmpty(), "Expected no fetch after the last page");
+
+        TodoPageIterator closed = new TodoPageIterator(pages(5, 2), deferred);
+        assertTrue(closed.hasNext(), "Expected todos");
+        closed.close();
+        assertFalse(closed.hasNext(), "Expected no todos after closing");
+    }
+
+    private IntFunction<TodoPage> pages(int total, int size) {
+        int totalPages = (total + size - 1) / size;
+        return page -> {
+            fetched.add(page);
+            List<Todo> items = new ArrayList<>();
+            for (int i = page * size; i < Math.min(total, (page + 1) * size); i++) {
+                items.add(new Todo().id(UUID.randomUUID()).title(String.valueOf(i)).completed(false));
+            }
+            return new TodoPage(items, page, size, total, totalPages);
+        };
+    }
+}
@@ -0,0 +1,44 @@
+// Writes Brotli (.br) and gzip (.gz) variants next to every compressible file of the production build, so that
+// the backend can serve precompressed assets instead of compressing on every request.
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib';
+import { readdirSync, readFileSync, statSync, writeFileSync } from 'node:fs';
+import { extname, join } from 'node:path';
+
+const outputDirectory = process.argv[2] ?? 'dist/openapi-generator-example-frontend/browser';
+const compressible = new Set(['.html', '.js', '.mjs', '.css', '.json', '.svg', '.txt', '.ico', '.map', '.webmanifest']);
+// below this size the encoding overhead outweighs the savings
+const minimumSize = 256;
+
+function* files(directory) {
+  for (const entry of readdirSync(directory)) {
+    const path = join(directory, entry);
+    if (statSync(path).isDirectory()) {
+      yield* files(path);
+    } else {
+      yield path;
+    }
+  }
+}
+
+let count = 0;
+for (const path of files(outputDirectory)) {
+  if (!compressible.has(extname(path))) {
+    continue;
+  }
+
+  const content = readFileSync(path);
+  if (content.length < minimumSize) {
+    continue;
+  }
+
+  writeFileSync(`${path}.br`, brotliCompressSync(content, {
+    params: {
+      [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+      [constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+    },
+  }));
+  writeFileSync(`${path}.gz`, gzipSync(content, { level: constants.Z_BEST_COMPRESSION }));
+  count++;
+}
+
+console.log(`Precompressed ${count} files in ${outputDirectory}`);
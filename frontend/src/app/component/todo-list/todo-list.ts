@@ -1,4 +1,12 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
+import {
+  debounceTime,
+  distinctUntilChanged,
+  map,
+  Subject,
+  Subscription,
+  switchMap,
+} from 'rxjs';
 import { Todo } from '../../interface/todo';
 import { TodoService } from '../../service/todo-service';
 import {
@@ -7,38 +15,94 @@ import {
   CdkVirtualScrollViewport,
 } from '@angular/cdk/scrolling';
 
+/**
+ * A request for one page of the current search.
+ */
+interface PageRequest {
+  page: number;
+  q: string;
+}
+
 @Component({
   selector: 'app-todo-list',
   templateUrl: './todo-list.html',
   styleUrl: './todo-list.css',
   imports: [CdkVirtualScrollViewport, CdkFixedSizeVirtualScroll, CdkVirtualForOf],
 })
-export class TodoList implements OnInit {
+export class TodoList implements OnInit, OnDestroy {
   todos: Todo[] = [];
 
   page = 0;
   size = 20;
   totalPages = 1;
   loading = false;
+  query = '';
+
+  /** Loaded pages by index; a page can be emitted twice (cached, then revalidated) and simply replaces itself. */
+  private pages: Todo[][] = [];
+
+  private readonly searches = new Subject<string>();
+  private readonly pageRequests = new Subject<PageRequest>();
+  private readonly subscriptions = new Subscription();
 
   constructor(private todoService: TodoService) {}
 
   ngOnInit() {
+    // a new search term discards the loaded pages; switchMap cancels the request of the previous term
+    this.subscriptions.add(
+      this.searches
+        .pipe(debounceTime(300), distinctUntilChanged())
+        .subscribe((q) => {
+          this.query = q;
+          this.pages = [];
+          this.todos = [];
+          this.page = 0;
+          this.totalPages = 1;
+          this.loading = false;
+          this.loadPage(0);
+        }),
+    );
+
+    this.subscriptions.add(
+      this.pageRequests
+        .pipe(
+          switchMap((request) =>
+            this.todoService
+              .listTodos(request.page, this.size, undefined, request.q || undefined)
+              .pipe(map((response) => ({ request, response }))),
+          ),
+        )
+        .subscribe(({ request, response }) => {
+          if (request.q !== this.query) {
+            return;
+          }
+
+          this.pages[response.page] = response.items;
+          this.todos = this.pages.flat();
+          this.page = Math.max(this.page, response.page);
+          this.totalPages = response.totalPages;
+          this.loading = false;
+        }),
+    );
+
     this.loadPage(0);
   }
 
+  ngOnDestroy() {
+    this.subscriptions.unsubscribe();
+  }
+
+  onSearch(q: string) {
+    this.searches.next(q.trim());
+  }
+
   loadPage(page: number) {
     if (this.loading || page >= this.totalPages) {
       return;
     }
 
     this.loading = true;
-    this.todoService.listTodos(page, this.size).subscribe((response) => {
-      this.todos = [...this.todos, ...response.items];
-      this.page = response.page;
-      this.totalPages = response.totalPages;
-      this.loading = false;
-    });
+    this.pageRequests.next({ page, q: this.query });
   }
 
   onScroll(index: number) {
@@ -46,4 +110,8 @@ export class TodoList implements OnInit {
       this.loadPage(this.page + 1);
     }
   }
+
+  trackById(_index: number, todo: Todo) {
+    return todo.id;
+  }
 }
@@ -1,21 +1,121 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpParams } from '@angular/common/http';
-import { map, Observable } from 'rxjs';
+import {
+  HttpClient,
+  HttpErrorResponse,
+  HttpHeaders,
+  HttpParams,
+  HttpResponse,
+} from '@angular/common/http';
+import {
+  catchError,
+  concat,
+  distinctUntilChanged,
+  EMPTY,
+  finalize,
+  map,
+  Observable,
+  of,
+  shareReplay,
+  tap,
+  throwError,
+} from 'rxjs';
 import { PagedResponse } from '../interface/paged-response';
 import { Todo } from '../interface/todo';
 
+/**
+ * A cached page together with the entity tag the API returned for it.
+ */
+interface CachedPage {
+  etag: string | null;
+  response: PagedResponse<Todo>;
+}
+
 @Injectable({ providedIn: 'root' })
 export class TodoService {
   private baseUrl = '/api/todos';
 
+  /** Maximum number of pages kept in the cache, the least recently used page is evicted first. */
+  private readonly maxCachedPages = 50;
+
+  /** Pages by request key, in access order (a Map iterates in insertion order). */
+  private readonly pageCache = new Map<string, CachedPage>();
+
+  /** Requests on the wire by request key, shared so that a page is never fetched twice at once. */
+  private readonly inFlight = new Map<string, Observable<PagedResponse<Todo> | null>>();
+
   constructor(private http: HttpClient) {}
 
+  /**
+   * Lists a page of todos.
+   *
+   * A cached page is emitted immediately and then revalidated with `If-None-Match`; the fresh page is only
+   * emitted if the API reports a change. Once a page arrives, the next page is prefetched into the cache.
+   */
   listTodos(
     page: number,
     size: number,
     sort?: string,
     q?: string,
   ): Observable<PagedResponse<Todo>> {
+    const key = this.cacheKey(page, size, sort, q);
+    const cached = this.touch(key);
+
+    const fresh = this.fetch(key, page, size, sort, q).pipe(
+      tap((response) => {
+        if (response && response.page + 1 < response.totalPages) {
+          this.prefetch(page + 1, size, sort, q);
+        }
+      }),
+    );
+
+    if (!cached) {
+      return fresh.pipe(map((response) => response!));
+    }
+
+    if (cached.response.page + 1 < cached.response.totalPages) {
+      this.prefetch(page + 1, size, sort, q);
+    }
+
+    return concat(
+      of(cached.response),
+      fresh.pipe(
+        // a null response means the cached page is still current
+        map((response) => response ?? cached.response),
+        catchError(() => EMPTY),
+      ),
+    ).pipe(distinctUntilChanged());
+  }
+
+  /**
+   * Loads a page into the cache without emitting it, unless it is already cached or on its way.
+   */
+  prefetch(page: number, size: number, sort?: string, q?: string) {
+    const key = this.cacheKey(page, size, sort, q);
+    if (this.pageCache.has(key) || this.inFlight.has(key)) {
+      return;
+    }
+
+    this.fetch(key, page, size, sort, q)
+      .pipe(catchError(() => EMPTY))
+      .subscribe();
+  }
+
+  /**
+   * Fetches a page, revalidating the cached copy if there is one. Emits the fresh page, or `null` if the API
+   * answered `304 Not Modified`.
+   */
+  private fetch(
+    key: string,
+    page: number,
+    size: number,
+    sort?: string,
+    q?: string,
+  ): Observable<PagedResponse<Todo> | null> {
+    const pending = this.inFlight.get(key);
+    if (pending) {
+      return pending;
+    }
+
     let params = new HttpParams().set('page', page).set('size', size);
 
     if (sort) {
@@ -26,23 +126,66 @@ export class TodoService {
       params = params.set('q', q);
     }
 
-    return this.http
+    const etag = this.pageCache.get(key)?.etag;
+    const headers = etag ? new HttpHeaders({ 'If-None-Match': etag }) : undefined;
+
+    const request = this.http
       .get<Todo[]>(this.baseUrl, {
         params,
+        headers,
         observe: 'response',
       })
       .pipe(
         map((response) => {
-          const items = response.body ?? [];
-
-          return {
-            items,
-            page: Number(response.headers.get('X-Page') ?? 0),
-            size: Number(response.headers.get('X-Size') ?? items.length),
-            totalElements: Number(response.headers.get('X-Total-Elements') ?? items.length),
-            totalPages: Number(response.headers.get('X-Total-Pages') ?? 1),
-          } as PagedResponse<Todo>;
+          const pagedResponse = this.toPagedResponse(response);
+          this.store(key, { etag: response.headers.get('ETag'), response: pagedResponse });
+          return pagedResponse as PagedResponse<Todo> | null;
         }),
+        catchError((error: HttpErrorResponse) =>
+          error.status === 304 ? of(null) : throwError(() => error),
+        ),
+        finalize(() => this.inFlight.delete(key)),
+        shareReplay({ bufferSize: 1, refCount: false }),
       );
+
+    this.inFlight.set(key, request);
+    return request;
+  }
+
+  private toPagedResponse(response: HttpResponse<Todo[]>): PagedResponse<Todo> {
+    const items = response.body ?? [];
+
+    return {
+      items,
+      page: Number(response.headers.get('X-Page') ?? 0),
+      size: Number(response.headers.get('X-Size') ?? items.length),
+      totalElements: Number(response.headers.get('X-Total-Elements') ?? items.length),
+      totalPages: Number(response.headers.get('X-Total-Pages') ?? 1),
+    } as PagedResponse<Todo>;
+  }
+
+  private cacheKey(page: number, size: number, sort?: string, q?: string): string {
+    return JSON.stringify([page, size, sort ?? '', q ?? '']);
+  }
+
+  /** Returns a cached page and marks it as most recently used. */
+  private touch(key: string): CachedPage | undefined {
+    const cached = this.pageCache.get(key);
+    if (cached) {
+      this.pageCache.delete(key);
+      this.pageCache.set(key, cached);
+    }
+    return cached;
+  }
+
+  private store(key: string, page: CachedPage) {
+    this.pageCache.delete(key);
+    this.pageCache.set(key, page);
+
+    while (this.pageCache.size > this.maxCachedPages) {
+      const eldest = this.pageCache.keys().next().value!;
+      this.pageCache.delete(eldest);
+    }
   }
 }
+
@@ -0,0 +1,33 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import dev.timduerr.openapigeneratorexample.domain.ChangeSequence;
+import dev.timduerr.openapigeneratorexample.domain.TodoArchiveRepository;
+import dev.timduerr.openapigeneratorexample.domain.TodoArchiver;
+import dev.timduerr.openapigeneratorexample.domain.TodoTitleIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * ArchiveConfiguration.
+ *
+ * <p>The {@link TodoArchiver} only runs with {@code todo.archive.enabled=true}. The archive is a relational
+ * table, so the {@code memory} profile, whose todos do not live in {@code tbl_todo}, keeps it disabled.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.archive", name = "enabled", havingValue = "true")
+    public TodoArchiver todoArchiver(TodoArchiveRepository todoArchiveRepository, ChangeSequence changeSequence,
+                                     TodoTitleIndex todoTitleIndex, PlatformTransactionManager transactionManager,
+                                     ArchiveProperties properties) {
+        return new TodoArchiver(todoArchiveRepository, changeSequence, todoTitleIndex, transactionManager, properties);
+    }
+}
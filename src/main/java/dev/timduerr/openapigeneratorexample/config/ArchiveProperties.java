@@ -0,0 +1,24 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ArchiveProperties.
+ *
+ * @param enabled whether completed todos are moved to the archive table in the background.
+ * @param completedFor how long a todo has to be completed before it is archived.
+ * @param chunkSize the maximum number of todos moved per transaction.
+ * @param pause the time to wait between two chunks, so that the archival does not compete with requests.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.archive")
+public record ArchiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("30d") Duration completedFor,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("100ms") Duration pause) {
+}
@@ -0,0 +1,61 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import dev.timduerr.openapigeneratorexample.execution.OperationCancellingInterceptor;
+import dev.timduerr.openapigeneratorexample.execution.OperationContextPropagator;
+import dev.timduerr.openapigeneratorexample.execution.StatementDeadlineListener;
+import dev.timduerr.openapigeneratorexample.execution.TodoOperationExecutor;
+import dev.timduerr.openapigeneratorexample.observability.StatementRecorder;
+import dev.timduerr.openapigeneratorexample.replica.ReadYourWritesTracker;
+import jakarta.annotation.Nonnull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * AsyncConfiguration.
+ *
+ * <p>Runs the API operations asynchronously on the {@link TodoOperationExecutor}. The statement deadlines are
+ * enforced by the {@link StatementDeadlineListener}, which is registered with the datasource-proxy of
+ * {@link DataSourceProxyConfiguration}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncProperties.class)
+public class AsyncConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    public TodoOperationExecutor todoOperationExecutor(AsyncProperties properties,
+                                                       ObjectProvider<StatementRecorder> statementRecorder,
+                                                       ObjectProvider<ReadYourWritesTracker> readYourWritesTracker) {
+        // not exposed as a bean, so that it does not replace the application task executor
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("todo-operation-");
+        executor.setCorePoolSize(properties.threads());
+        executor.setMaxPoolSize(properties.threads());
+        executor.setQueueCapacity(properties.queueCapacity());
+        executor.setTaskDecorator(new OperationContextPropagator(
+                statementRecorder.getIfAvailable(), readYourWritesTracker.getIfAvailable()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(properties.maxTimeout().toMillis());
+        executor.initialize();
+        return new TodoOperationExecutor(executor, properties);
+    }
+
+    @Bean
+    public WebMvcConfigurer asyncSupportConfigurer(AsyncProperties properties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(@Nonnull AsyncSupportConfigurer configurer) {
+                // the operation deadlines fire first, the container timeout is the last resort
+                configurer.setDefaultTimeout(properties.maxTimeout().plusSeconds(1).toMillis());
+                configurer.registerDeferredResultInterceptors(new OperationCancellingInterceptor());
+            }
+        };
+    }
+}
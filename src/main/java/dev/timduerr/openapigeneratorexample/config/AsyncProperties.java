@@ -0,0 +1,52 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * AsyncProperties.
+ *
+ * @param threads the number of threads running API operations.
+ * @param queueCapacity the number of operations waiting for a thread before requests are rejected.
+ * @param defaultTimeout the deadline of operations without an entry in {@code timeouts}.
+ * @param timeouts the deadline per API operation, keyed by {@code operationId}.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.async")
+public record AsyncProperties(
+        @DefaultValue("16") int threads,
+        @DefaultValue("100") int queueCapacity,
+        @DefaultValue("5s") Duration defaultTimeout,
+        Map<String, Duration> timeouts) {
+
+    public AsyncProperties {
+        timeouts = (timeouts == null) ? Map.of() : Map.copyOf(timeouts);
+    }
+
+    /**
+     * Returns the deadline of an operation.
+     *
+     * @param operation the operationId
+     * @return the configured timeout, or the default timeout
+     */
+    public Duration timeout(String operation) {
+        return timeouts.getOrDefault(operation, defaultTimeout);
+    }
+
+    /**
+     * Returns the longest deadline of all operations.
+     *
+     * @return the maximum of the default timeout and all configured timeouts
+     */
+    public Duration maxTimeout() {
+        Duration max = defaultTimeout;
+        for (Duration timeout : timeouts.values()) {
+            if (timeout.compareTo(max) > 0) max = timeout;
+        }
+        return max;
+    }
+}
@@ -0,0 +1,15 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * BulkConfiguration.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(BulkProperties.class)
+public class BulkConfiguration {
+}
@@ -0,0 +1,16 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * BulkProperties.
+ *
+ * @param chunkSize the maximum number of todos a bulk update or delete locks and writes per transaction.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.bulk")
+public record BulkProperties(
+        @DefaultValue("500") int chunkSize) {
+}
@@ -0,0 +1,56 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import dev.timduerr.openapigeneratorexample.execution.StatementDeadlineListener;
+import dev.timduerr.openapigeneratorexample.observability.ServerTimingStatementListener;
+import jakarta.annotation.Nonnull;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSourceProxyConfiguration.
+ *
+ * <p>Wraps every {@link DataSource} in a datasource-proxy that feeds all {@link QueryExecutionListener} beans.
+ * The {@link StatementDeadlineListener} and the {@link ServerTimingStatementListener} are registered here rather
+ * than with the features they serve, so that switching off the SQL monitoring of
+ * {@link SqlMonitoringConfiguration} neither lifts the statement deadlines nor drops the statement timings.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+public class DataSourceProxyConfiguration {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@Nonnull Object bean, @Nonnull String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                    listeners.orderedStream().forEach(builder::listener);
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public StatementDeadlineListener statementDeadlineListener() {
+        return new StatementDeadlineListener();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "todo.timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ServerTimingStatementListener serverTimingStatementListener() {
+        return new ServerTimingStatementListener();
+    }
+}
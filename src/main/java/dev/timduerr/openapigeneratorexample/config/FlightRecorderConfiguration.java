@@ -0,0 +1,40 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.observability.jfr.RecordingJsonHttpMessageConverter;
+import dev.timduerr.openapigeneratorexample.observability.jfr.TodoOperationEventInterceptor;
+import jakarta.annotation.Nonnull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * FlightRecorderConfiguration.
+ *
+ * <p>Emits the Todo API JFR events. They are only recorded while a recording enables them, e.g. with the
+ * settings in {@code jfr/todo-api.jfc}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderConfiguration {
+
+    @Bean
+    public RecordingJsonHttpMessageConverter recordingJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new RecordingJsonHttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public WebMvcConfigurer todoOperationEventConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@Nonnull InterceptorRegistry registry) {
+                registry.addInterceptor(new TodoOperationEventInterceptor());
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * HttpCachingConfiguration.
+ *
+ * <p>Adds an {@code ETag} to successful {@code GET} responses and answers {@code 304 Not Modified} when the client
+ * sends a matching {@code If-None-Match}, so that clients can revalidate cached pages without downloading them again.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+public class HttpCachingConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.setName("shallowEtagHeaderFilter");
+        return registration;
+    }
+}
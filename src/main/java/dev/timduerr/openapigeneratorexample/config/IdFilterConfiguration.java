@@ -0,0 +1,15 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * IdFilterConfiguration.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(IdFilterProperties.class)
+public class IdFilterConfiguration {
+}
@@ -0,0 +1,23 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * IdFilterProperties.
+ *
+ * @param enabled whether requests for unknown todo ids are answered from the id filter without a query.
+ * @param falsePositiveRate the rate at which an unknown id is expected to pass the filter once it is full.
+ * @param headroom the factor by which a rebuilt filter is sized above the current number of todos, so that todos
+ *                 created until the next rebuild do not push it past its false-positive rate.
+ * @param minCapacity the number of ids a filter is sized for at least.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.id-filter")
+public record IdFilterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("2.0") double headroom,
+        @DefaultValue("10000") int minCapacity) {
+}
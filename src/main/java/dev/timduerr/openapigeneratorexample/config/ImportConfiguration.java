@@ -0,0 +1,22 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import dev.timduerr.openapigeneratorexample.web.StreamingResourceHttpMessageConverter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ImportConfiguration.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(ImportProperties.class)
+public class ImportConfiguration {
+
+    @Bean
+    public StreamingResourceHttpMessageConverter streamingResourceHttpMessageConverter() {
+        return new StreamingResourceHttpMessageConverter();
+    }
+}
@@ -0,0 +1,21 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * ImportProperties.
+ *
+ * @param batchSize the number of imported todos inserted with one JDBC batch and committed together.
+ * @param maxLineLength the longest line of an import, longer lines are skipped as invalid.
+ * @param maxErrors the number of invalid lines reported individually, further ones are only counted.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.import")
+public record ImportProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("16KB") DataSize maxLineLength,
+        @DefaultValue("100") int maxErrors) {
+}
@@ -0,0 +1,18 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * LookupProperties.
+ *
+ * @param maxIds the maximum number of ids a client may look up per request.
+ * @param chunkSize the maximum number of ids bound to a single {@code IN} query.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.lookup")
+public record LookupProperties(
+        @DefaultValue("500") int maxIds,
+        @DefaultValue("100") int chunkSize) {
+}
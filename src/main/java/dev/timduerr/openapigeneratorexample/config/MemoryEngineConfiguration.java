@@ -0,0 +1,64 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
+import dev.timduerr.openapigeneratorexample.domain.id.TodoIdStrategy;
+import dev.timduerr.openapigeneratorexample.domain.memory.InMemoryTodoRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * MemoryEngineConfiguration.
+ *
+ * <p>Active with the {@code memory} profile: replaces the JPA-backed {@link TodoRepository} with the
+ * {@link InMemoryTodoRepository} engine. All other repositories stay on JPA.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@Profile("memory")
+@EnableConfigurationProperties(MemoryEngineProperties.class)
+@EnableJpaRepositories(
+        basePackageClasses = TodoRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = TodoRepository.class))
+public class MemoryEngineConfiguration {
+
+    private static final String SEED_QUERY = "SELECT id, title, completed, change_seq FROM tbl_todo";
+
+    @Bean(destroyMethod = "close")
+    public InMemoryTodoRepository todoRepository(MemoryEngineProperties properties,
+                                                 @Value("${spring.jpa.properties.todo.id-strategy:uuid-v7}") String idStrategy) {
+        return InMemoryTodoRepository.open(
+                properties.directory(),
+                (int) properties.walChunkSize().toBytes(),
+                properties.syncOnWrite(),
+                TodoIdStrategy.fromValue(idStrategy));
+    }
+
+    /**
+     * Recovers the engine once all singletons exist, i.e. after {@code data.sql} has populated the relational
+     * table that seeds an empty journal.
+     */
+    @Bean
+    public SmartInitializingSingleton todoRepositoryRecovery(InMemoryTodoRepository todoRepository, JdbcTemplate jdbcTemplate) {
+        return () -> todoRepository.recover(() -> jdbcTemplate.query(SEED_QUERY, (rs, rowNum) -> {
+            TodoEntity entity = new TodoEntity();
+            entity.setId(rs.getObject("id", UUID.class));
+            entity.setTitle(rs.getString("title"));
+            entity.setCompleted(rs.getBoolean("completed"));
+            entity.setChangeSeq(rs.getLong("change_seq"));
+            return entity;
+        }));
+    }
+}
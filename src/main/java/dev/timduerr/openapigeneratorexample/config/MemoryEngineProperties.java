@@ -0,0 +1,24 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * MemoryEngineProperties.
+ *
+ * @param directory the directory holding the write-ahead logs and snapshots of the in-memory engine.
+ * @param walChunkSize the size of the chunks in which the write-ahead log is memory-mapped and pre-allocated.
+ * @param syncOnWrite whether every mutation is forced to the storage device; otherwise it is durable against
+ *                    process crashes but may be lost on power failure.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.memory")
+public record MemoryEngineProperties(
+        @DefaultValue("./target/memory/todo-store") Path directory,
+        @DefaultValue("16MB") DataSize walChunkSize,
+        @DefaultValue("false") boolean syncOnWrite) {
+}
@@ -0,0 +1,132 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import dev.timduerr.openapigeneratorexample.domain.ChangeSequence;
+import dev.timduerr.openapigeneratorexample.replica.ReadYourWritesFilter;
+import dev.timduerr.openapigeneratorexample.replica.ReadYourWritesTracker;
+import dev.timduerr.openapigeneratorexample.replica.ReplicaRoutingDataSource;
+import dev.timduerr.openapigeneratorexample.replica.ReplicationStandIn;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReplicaConfiguration.
+ *
+ * <p>Splits reads from writes: connections of read-only transactions go to the replicas (or the primary for
+ * clients that wrote recently), all others to the primary. The application {@link DataSource} is a
+ * {@link LazyConnectionDataSourceProxy}, which defers fetching the physical connection until the transaction's
+ * read-only flag is known.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "todo.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaConfiguration {
+
+    private final DataSource primaryDataSource;
+    private final Map<String, DataSource> replicaDataSources = new LinkedHashMap<>();
+    private final ReplicaProperties replicaProperties;
+    private final MeterRegistry meterRegistry;
+    // looked up on use, the sequence depends on the repositories, which depend on the data source defined here
+    private final ObjectProvider<ChangeSequence> changeSequence;
+
+    public ReplicaConfiguration(DataSourceProperties dataSourceProperties, ReplicaProperties replicaProperties,
+                                MeterRegistry meterRegistry, ObjectProvider<ChangeSequence> changeSequence) {
+        this.replicaProperties = replicaProperties;
+        this.meterRegistry = meterRegistry;
+        this.changeSequence = changeSequence;
+        this.primaryDataSource = pool("primary", dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+
+        List<String> urls = replicaProperties.urls();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + i;
+            replicaDataSources.put(name, pool(name, urls.get(i), replicaProperties.username(), replicaProperties.password()));
+        }
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(replicaProperties.stickiness(), Clock.systemUTC());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesFilter(readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadYourWritesTracker readYourWritesTracker) {
+        ReplicaRoutingDataSource readOnlyDataSource = new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSources, readYourWritesTracker, meterRegistry);
+        readOnlyDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicationStandIn replicationStandIn() {
+        ReplicationStandIn replicationStandIn = new ReplicationStandIn(primaryDataSource, replicaDataSources,
+                () -> changeSequence.getObject().watermark(), Clock.systemUTC(), meterRegistry);
+        replicationStandIn.initializeReplicas();
+        return replicationStandIn;
+    }
+
+    /**
+     * Brings the replicas up to date with the seeded primary before the first request is served.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replicateOnStartup() {
+        replicationStandIn().replicate();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.datasource.replicas.replication-interval:1s}",
+            initialDelayString = "${todo.datasource.replicas.replication-interval:1s}")
+    public void replicatePeriodically() {
+        replicationStandIn().replicate();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.datasource.replicas.stickiness:5s}")
+    public void evictExpiredWriters() {
+        readYourWritesTracker().evictExpired();
+    }
+
+    @PreDestroy
+    public void closePools() {
+        replicaDataSources.values().forEach(dataSource -> ((HikariDataSource) dataSource).close());
+        ((HikariDataSource) primaryDataSource).close();
+    }
+
+    private HikariDataSource pool(String name, String url, String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
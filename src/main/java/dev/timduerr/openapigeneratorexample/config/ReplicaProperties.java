@@ -0,0 +1,29 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * ReplicaProperties.
+ *
+ * @param enabled whether read-only transactions are routed to replicas.
+ * @param urls the JDBC URLs of the replica databases.
+ * @param username the user name for the replica databases.
+ * @param password the password for the replica databases.
+ * @param stickiness how long a client's reads stay on the primary after the client wrote.
+ * @param replicationInterval how often the local replication stand-in copies changes to the replicas.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.datasource.replicas")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<String> urls,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("5s") Duration stickiness,
+        @DefaultValue("1s") Duration replicationInterval) {
+}
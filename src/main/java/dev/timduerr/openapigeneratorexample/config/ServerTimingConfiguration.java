@@ -0,0 +1,36 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import dev.timduerr.openapigeneratorexample.observability.ServerTimingInterceptor;
+import dev.timduerr.openapigeneratorexample.observability.ServerTimingStatementListener;
+import jakarta.annotation.Nonnull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ServerTimingConfiguration.
+ *
+ * <p>Registers the {@link ServerTimingInterceptor} for the API. The {@link ServerTimingStatementListener}, which
+ * adds the statement metrics, is registered with the datasource-proxy of {@link DataSourceProxyConfiguration}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(ServerTimingProperties.class)
+@ConditionalOnProperty(prefix = "todo.timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfiguration {
+
+    @Bean
+    public WebMvcConfigurer serverTimingConfigurer(ServerTimingProperties properties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@Nonnull InterceptorRegistry registry) {
+                registry.addInterceptor(new ServerTimingInterceptor(properties));
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * ServerTimingProperties.
+ *
+ * @param enabled whether requests can be timed and answered with a {@code Server-Timing} header.
+ * @param requestHeader the request header with which a client asks for the timing of its request.
+ * @param sampleRate the fraction of requests timed and logged without being asked for, {@code 0} for none.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.timing")
+public record ServerTimingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Server-Timing") String requestHeader,
+        @DefaultValue("0.0") double sampleRate) {
+}
@@ -0,0 +1,148 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
+import dev.timduerr.openapigeneratorexample.domain.id.TodoIdStrategy;
+import dev.timduerr.openapigeneratorexample.domain.shard.ShardedTodoRepository;
+import dev.timduerr.openapigeneratorexample.domain.shard.TodoShard;
+import dev.timduerr.openapigeneratorexample.execution.OperationContextPropagator;
+import dev.timduerr.openapigeneratorexample.observability.StatementRecorder;
+import dev.timduerr.openapigeneratorexample.replica.ReadYourWritesTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ShardConfiguration.
+ *
+ * <p>Active with the {@code sharded} profile: replaces the JPA-backed {@link TodoRepository} with the
+ * {@link ShardedTodoRepository}, which spreads the todos over the databases of {@code todo.datasource.shards.urls}.
+ * Every shard gets a pool, an entity manager factory and a JPA repository of its own; the schema is created the
+ * same way as in the application's database. All other repositories stay on the application's database.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@Profile("sharded")
+@EnableConfigurationProperties(ShardProperties.class)
+@EnableJpaRepositories(
+        basePackageClasses = TodoRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = TodoRepository.class))
+public class ShardConfiguration {
+
+    private static final String SEED_QUERY = "SELECT id, title, completed, change_seq, completed_at FROM tbl_todo";
+
+    private final ShardProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+    private final ThreadPoolTaskExecutor fanOutExecutor;
+
+    public ShardConfiguration(ShardProperties properties, MeterRegistry meterRegistry,
+                              ObjectProvider<StatementRecorder> statementRecorder,
+                              ObjectProvider<ReadYourWritesTracker> readYourWritesTracker) {
+        if (properties.urls().isEmpty()) {
+            throw new IllegalStateException("The sharded profile requires todo.datasource.shards.urls");
+        }
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        List<String> urls = properties.urls();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "shard-" + i;
+            pools.put(name, pool(name, urls.get(i)));
+        }
+
+        // not exposed as a bean, so that it does not replace the application task executor
+        this.fanOutExecutor = new ThreadPoolTaskExecutor();
+        fanOutExecutor.setThreadNamePrefix("todo-shard-");
+        fanOutExecutor.setCorePoolSize(properties.fanOutThreads());
+        fanOutExecutor.setMaxPoolSize(properties.fanOutThreads());
+        fanOutExecutor.setTaskDecorator(new OperationContextPropagator(
+                statementRecorder.getIfAvailable(), readYourWritesTracker.getIfAvailable()));
+        fanOutExecutor.initialize();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardedTodoRepository todoRepository(EntityManagerFactoryBuilder entityManagerFactoryBuilder,
+                                                ObjectProvider<QueryExecutionListener> listeners,
+                                                @Value("${spring.jpa.properties.todo.id-strategy:uuid-v7}") String idStrategy) {
+        List<TodoShard> shards = new ArrayList<>();
+        pools.forEach((name, pool) -> {
+            // proxied like the application's datasource, see DataSourceProxyConfiguration
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(pool).name(name);
+            listeners.orderedStream().forEach(builder::listener);
+            DataSource dataSource = builder.build();
+
+            LocalContainerEntityManagerFactoryBean entityManagerFactory = entityManagerFactoryBuilder
+                    .dataSource(dataSource)
+                    .packages(TodoEntity.class)
+                    .persistenceUnit(name)
+                    .build();
+            entityManagerFactory.afterPropertiesSet();
+            shards.add(new TodoShard(name, dataSource, entityManagerFactory.getObject(), entityManagerFactory));
+        });
+
+        return new ShardedTodoRepository(shards, properties.virtualNodes(), fanOutExecutor,
+                TodoIdStrategy.fromValue(idStrategy));
+    }
+
+    /**
+     * Seeds the shards once all singletons exist, i.e. after {@code data.sql} has populated the relational table
+     * of the application's database.
+     */
+    @Bean
+    public SmartInitializingSingleton todoShardSeed(ShardedTodoRepository todoRepository, JdbcTemplate jdbcTemplate) {
+        return () -> todoRepository.seed(() -> jdbcTemplate.query(SEED_QUERY, (rs, rowNum) -> {
+            TodoEntity entity = new TodoEntity();
+            entity.setId(rs.getObject("id", UUID.class));
+            entity.setTitle(rs.getString("title"));
+            entity.setCompleted(rs.getBoolean("completed"));
+            entity.setChangeSeq(rs.getLong("change_seq"));
+            OffsetDateTime completedAt = rs.getObject("completed_at", OffsetDateTime.class);
+            entity.setCompletedAt(completedAt == null ? null : completedAt.toInstant());
+            return entity;
+        }));
+    }
+
+    @PreDestroy
+    public void closePools() {
+        fanOutExecutor.shutdown();
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(String name, String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(properties.username());
+        dataSource.setPassword(properties.password());
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
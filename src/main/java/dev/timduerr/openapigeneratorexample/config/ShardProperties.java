@@ -0,0 +1,27 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * ShardProperties.
+ *
+ * @param urls the JDBC URLs of the shard databases, in ring order; appending a shard moves about
+ *             {@code 1 / shards} of the todos, reordering them moves most.
+ * @param username the user name for the shard databases.
+ * @param password the password for the shard databases.
+ * @param virtualNodes the number of points each shard owns on the hash ring.
+ * @param fanOutThreads the number of threads querying the shards of a scatter-gather in parallel.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.datasource.shards")
+public record ShardProperties(
+        @DefaultValue List<String> urls,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("64") int virtualNodes,
+        @DefaultValue("8") int fanOutThreads) {
+}
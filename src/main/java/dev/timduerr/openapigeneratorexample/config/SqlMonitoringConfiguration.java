@@ -0,0 +1,41 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import dev.timduerr.openapigeneratorexample.observability.StatementBudgetInterceptor;
+import dev.timduerr.openapigeneratorexample.observability.StatementRecorder;
+import jakarta.annotation.Nonnull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * SqlMonitoringConfiguration.
+ *
+ * <p>Records the statements of each request with the {@link StatementRecorder}, which the datasource-proxy of
+ * {@link DataSourceProxyConfiguration} feeds, and registers the {@link StatementBudgetInterceptor} for the API.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+@ConditionalOnProperty(prefix = "todo.sql", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMonitoringConfiguration {
+
+    @Bean
+    public StatementRecorder statementRecorder(SqlMonitoringProperties properties) {
+        return new StatementRecorder(properties);
+    }
+
+    @Bean
+    public WebMvcConfigurer statementBudgetConfigurer(StatementRecorder statementRecorder, SqlMonitoringProperties properties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@Nonnull InterceptorRegistry registry) {
+                registry.addInterceptor(new StatementBudgetInterceptor(statementRecorder, properties));
+            }
+        };
+    }
+}
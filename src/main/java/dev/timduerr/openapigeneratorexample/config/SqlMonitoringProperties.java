@@ -0,0 +1,29 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * SqlMonitoringProperties.
+ *
+ * @param enabled whether the datasource is proxied to count and time statements.
+ * @param slowQueryThreshold the execution time from which a statement is reported as slow.
+ * @param explainSlowQueries whether the {@code EXPLAIN} plan is included in slow query reports.
+ * @param budgets the maximum number of statements per API operation, keyed by {@code operationId}.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.sql")
+public record SqlMonitoringProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50ms") Duration slowQueryThreshold,
+        @DefaultValue("true") boolean explainSlowQueries,
+        Map<String, Integer> budgets) {
+
+    public SqlMonitoringProperties {
+        budgets = (budgets == null) ? Map.of() : Map.copyOf(budgets);
+    }
+}
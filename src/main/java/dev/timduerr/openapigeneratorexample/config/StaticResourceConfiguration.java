@@ -0,0 +1,55 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import jakarta.annotation.Nonnull;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * StaticResourceConfiguration.
+ *
+ * <p>Serves the Angular build from {@code classpath:/static/}. The build writes {@code .br} and {@code .gz}
+ * variants of every asset, which are picked according to {@code Accept-Encoding}, so nothing is compressed at
+ * request time. Scripts and stylesheets carry a content hash in their file name and are cached forever,
+ * {@code index.html} only briefly so that a new deployment is picked up.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+public class StaticResourceConfiguration {
+
+    private static final String LOCATION = "classpath:/static/";
+
+    static final CacheControl HASHED_ASSET_CACHE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    static final CacheControl INDEX_CACHE = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic().mustRevalidate();
+    static final CacheControl ASSET_CACHE = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+
+    @Bean
+    public WebMvcConfigurer staticResourceConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addResourceHandlers(@Nonnull ResourceHandlerRegistry registry) {
+                // file names like main-7ZQ2M5YH.js, see outputHashing in angular.json
+                register(registry, HASHED_ASSET_CACHE, "/*.js", "/*.css");
+                register(registry, INDEX_CACHE, "/index.html");
+                register(registry, ASSET_CACHE, "/**");
+            }
+        };
+    }
+
+    private static void register(ResourceHandlerRegistry registry, CacheControl cacheControl, String... pathPatterns) {
+        registry.addResourceHandler(pathPatterns)
+                .addResourceLocations(LOCATION)
+                .setCacheControl(cacheControl)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
+    }
+}
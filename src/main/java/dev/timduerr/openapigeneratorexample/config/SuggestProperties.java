@@ -0,0 +1,22 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * SuggestProperties.
+ *
+ * @param defaultLimit the number of suggestions returned if the client does not ask for a number.
+ * @param maxLimit the maximum number of suggestions a client may ask for.
+ * @param maxKeyLength the number of characters of a title indexed from each word start.
+ * @param maxWordsPerTitle the number of word starts indexed per title.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.suggest")
+public record SuggestProperties(
+        @DefaultValue("10") int defaultLimit,
+        @DefaultValue("20") int maxLimit,
+        @DefaultValue("32") int maxKeyLength,
+        @DefaultValue("8") int maxWordsPerTitle) {
+}
@@ -0,0 +1,22 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * SyncProperties.
+ *
+ * @param defaultLimit the number of changes returned when the client does not specify a limit.
+ * @param maxLimit the upper bound for the number of changes returned per request.
+ * @param tombstoneRetention how long tombstones of deleted todos are kept before compaction.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.sync")
+public record SyncProperties(
+        @DefaultValue("100") int defaultLimit,
+        @DefaultValue("500") int maxLimit,
+        @DefaultValue("7d") Duration tombstoneRetention) {
+}
@@ -0,0 +1,32 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.web.TodoApiWarmup;
+import dev.timduerr.openapigeneratorexample.web.TodosApiOperations;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * WarmupConfiguration.
+ *
+ * <p>Active with {@code todo.warmup.enabled=true}. The warm-up runs as an application runner, i.e. after the
+ * web server has started but before the {@code ApplicationReadyEvent} switches the readiness state to
+ * {@code ACCEPTING_TRAFFIC}, so the readiness probe stays down until it has finished.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.warmup", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfiguration {
+
+    @Bean
+    public TodoApiWarmup todoApiWarmup(TodosApiOperations todosApiOperations, ObjectMapper objectMapper,
+                                       PlatformTransactionManager transactionManager, WarmupProperties properties) {
+        return new TodoApiWarmup(todosApiOperations, objectMapper, transactionManager, properties);
+    }
+}
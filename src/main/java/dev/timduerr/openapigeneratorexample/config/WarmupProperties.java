@@ -0,0 +1,22 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * WarmupProperties.
+ *
+ * @param enabled whether a synthetic request mix is replayed before the instance reports ready.
+ * @param iterations the number of times the request mix is replayed.
+ * @param maxDuration the time after which the warm-up stops, even if iterations are left.
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "todo.warmup")
+public record WarmupProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("500") int iterations,
+        @DefaultValue("30s") Duration maxDuration) {
+}
@@ -0,0 +1,91 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * BloomFilter.
+ *
+ * <p>Fixed-size Bloom filter over UUIDs. The bit positions are derived from two 64-bit hashes of the id by double
+ * hashing. Bits are set with atomic updates, so ids can be added and tested concurrently without a lock; an id
+ * is visible to every test that starts after its {@link #add(UUID)} has returned.
+ *
+ * <p>Ids cannot be removed; the owning filter is rebuilt instead.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    /**
+     * Creates a filter sized for the given number of ids and false-positive rate.
+     *
+     * @param capacity the number of ids the filter is sized for
+     * @param falsePositiveRate the false-positive rate expected once {@code capacity} ids have been added
+     */
+    BloomFilter(long capacity, double falsePositiveRate) {
+        long n = Math.max(1, capacity);
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (optimalBits + 63) >>> 6)));
+        this.bits = words.length() * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * LN2));
+    }
+
+    void add(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(id, h1);
+        for (int i = 0; i < hashes; i++) {
+            long index = Math.floorMod(h1 + i * h2, bits);
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+            }
+        }
+    }
+
+    boolean mightContain(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(id, h1);
+        for (int i = 0; i < hashes; i++) {
+            long index = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    long bitSize() {
+        return bits;
+    }
+
+    int hashCount() {
+        return hashes;
+    }
+
+    private static long hash1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    private static long hash2(UUID id, long h1) {
+        // odd, so that the probe sequence does not collapse onto a few positions
+        return mix(h1 ^ id.getLeastSignificantBits()) | 1;
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3, spreading the time-ordered bits of UUIDv7 ids over the whole word.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
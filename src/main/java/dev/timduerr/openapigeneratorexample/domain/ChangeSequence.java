@@ -0,0 +1,125 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ChangeSequence.
+ *
+ * <p>Hands out the monotonically increasing change tokens stored in {@code change_seq} of
+ * {@link TodoEntity}, {@link TodoTombstoneEntity} and {@link TodoArchiveEntity}. The counter is seeded from the highest
+ * token already present in the database once the application is ready, or on first use.
+ *
+ * <p>Tokens are handed out before the writing transaction commits, so transactions commit out of token order. Each
+ * token stays in flight until its transaction completes, and readers of the change feed only serve tokens up to the
+ * {@link #watermark() watermark} below the lowest token in flight; a change committed late can then never fall behind
+ * a token a client already got.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Component
+public class ChangeSequence {
+
+    private static final long UNINITIALIZED = -1;
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final TodoArchiveRepository todoArchiveRepository;
+    private final AtomicLong current = new AtomicLong(UNINITIALIZED);
+    // the first token of each block whose transaction has not completed yet
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+
+    public ChangeSequence(TodoRepository todoRepository, TodoTombstoneRepository todoTombstoneRepository,
+                          TodoArchiveRepository todoArchiveRepository) {
+        this.todoRepository = todoRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.todoArchiveRepository = todoArchiveRepository;
+    }
+
+    /**
+     * Returns the next change token. The token is in flight until the current transaction completes.
+     *
+     * @return a token greater than every token handed out before
+     * @throws IllegalStateException if no transaction is active
+     */
+    public long next() {
+        return reserve(1) + 1;
+    }
+
+    /**
+     * Reserves a block of consecutive change tokens, e.g. for the todos of a bulk write. The block is in flight until
+     * the current transaction completes.
+     *
+     * @param count the number of tokens to reserve
+     * @return the token preceding the block, the reserved tokens are {@code offset + 1} to {@code offset + count}
+     * @throws IllegalStateException if no transaction is active
+     */
+    public long reserve(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Change tokens have to be handed out within the transaction that writes them");
+        }
+        if (current.get() == UNINITIALIZED) initialize();
+
+        long offset;
+        synchronized (inFlight) {
+            offset = current.getAndAdd(count);
+            inFlight.add(offset + 1);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(offset + 1);
+            }
+        });
+        return offset;
+    }
+
+    /**
+     * Returns the most recently handed out change token without advancing the sequence.
+     *
+     * @return the current change token
+     */
+    public long current() {
+        if (current.get() == UNINITIALIZED) initialize();
+        return current.get();
+    }
+
+    /**
+     * Returns the highest change token below which every token handed out has completed, i.e. is committed or will
+     * never be.
+     *
+     * @return the token up to which the change feed may be served
+     */
+    public long watermark() {
+        if (current.get() == UNINITIALIZED) initialize();
+        synchronized (inFlight) {
+            return inFlight.isEmpty() ? current.get() : inFlight.first() - 1;
+        }
+    }
+
+    /**
+     * Seeds the counter before the first request, so that no request pays for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (current.get() == UNINITIALIZED) initialize();
+    }
+
+    /**
+     * Seeds the counter with the highest change token found in the todo, tombstone and archive tables.
+     */
+    private synchronized void initialize() {
+        if (current.get() != UNINITIALIZED) return;
+        long max = Math.max(todoRepository.findMaxChangeSeq(),
+                Math.max(todoTombstoneRepository.findMaxChangeSeq(), todoArchiveRepository.findMaxChangeSeq()));
+        current.set(max);
+    }
+}
@@ -0,0 +1,186 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * TitleTrie.
+ *
+ * <p>Radix tree mapping string keys to the ids of the todos carrying them. Chains of single-child nodes are
+ * compressed into one edge, and the children of a node are kept in a sorted array, so the tree needs one node per
+ * branching point and visits keys in lexicographic order.
+ *
+ * <p>Instances are not thread-safe; the owning index guards them with its lock.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+final class TitleTrie {
+
+    private static final char[] NO_FIRSTS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node("");
+
+    void add(String key, UUID id) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int slot = node.slot(key.charAt(i));
+            if (slot < 0) {
+                node.insertChild(-slot - 1, new Node(key.substring(i)));
+                node = node.children[-slot - 1];
+                break;
+            }
+
+            Node child = node.children[slot];
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                // split the edge at the end of the common prefix
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.firsts = new char[]{child.label.charAt(0)};
+                split.children = new Node[]{child};
+                node.children[slot] = split;
+                child = split;
+            }
+            node = child;
+            i += common;
+        }
+        node.addId(id);
+    }
+
+    void remove(String key, UUID id) {
+        Node parent = null;
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int slot = node.slot(key.charAt(i));
+            if (slot < 0) return;
+            Node child = node.children[slot];
+            if (!key.startsWith(child.label, i)) return;
+            parent = node;
+            node = child;
+            i += child.label.length();
+        }
+
+        if (node.ids == null || !node.ids.remove(id)) return;
+        if (!node.ids.isEmpty()) return;
+        node.ids = null;
+        if (parent == null) return;
+
+        if (node.children.length == 0) {
+            parent.removeChild(parent.slot(node.label.charAt(0)));
+            if (parent != root && parent.ids == null && parent.children.length == 1) parent.mergeWithChild();
+        } else if (node.children.length == 1) {
+            node.mergeWithChild();
+        }
+    }
+
+    void clear() {
+        root.ids = null;
+        root.firsts = NO_FIRSTS;
+        root.children = NO_CHILDREN;
+    }
+
+    /**
+     * Visits the ids of all keys starting with the given prefix, shorter keys first and keys in lexicographic
+     * order, until the visitor returns {@code false}.
+     *
+     * @param prefix the prefix of the keys
+     * @param visitor receives the ids, returns whether to continue
+     */
+    void visit(String prefix, Predicate<UUID> visitor) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int slot = node.slot(prefix.charAt(i));
+            if (slot < 0) return;
+            Node child = node.children[slot];
+            int common = commonPrefixLength(child.label, prefix, i);
+            // the prefix ends inside the edge or continues below the child, anything else is a mismatch
+            if (common < child.label.length() && i + common < prefix.length()) return;
+            node = child;
+            i += common;
+        }
+        visit(node, visitor);
+    }
+
+    private static boolean visit(Node node, Predicate<UUID> visitor) {
+        if (node.ids != null) {
+            for (UUID id : node.ids) {
+                if (!visitor.test(id)) return false;
+            }
+        }
+        for (Node child : node.children) {
+            if (!visit(child, visitor)) return false;
+        }
+        return true;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) i++;
+        return i;
+    }
+
+    private static final class Node {
+
+        private String label;
+        private char[] firsts = NO_FIRSTS;
+        private Node[] children = NO_CHILDREN;
+        private Set<UUID> ids;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int slot(char first) {
+            return Arrays.binarySearch(firsts, first);
+        }
+
+        private void addId(UUID id) {
+            if (ids == null) ids = new HashSet<>(2);
+            ids.add(id);
+        }
+
+        private void insertChild(int slot, Node child) {
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            newFirsts[slot] = child.label.charAt(0);
+            newChildren[slot] = child;
+            System.arraycopy(firsts, slot, newFirsts, slot + 1, firsts.length - slot);
+            System.arraycopy(children, slot, newChildren, slot + 1, children.length - slot);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        private void removeChild(int slot) {
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            System.arraycopy(firsts, slot + 1, newFirsts, slot, firsts.length - slot - 1);
+            System.arraycopy(children, slot + 1, newChildren, slot, children.length - slot - 1);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        /**
+         * Absorbs the only child of an id-less node, keeping the edge into this node.
+         */
+        private void mergeWithChild() {
+            Node child = children[0];
+            label = label + child.label;
+            ids = child.ids;
+            firsts = child.firsts;
+            children = child.children;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * TodoArchiveRepository.
+ *
+ * <p>Besides the archive itself, this repository moves todos out of {@code tbl_todo}. These statements are
+ * relational by nature and therefore kept off the storage-neutral {@link TodoRepository}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public interface TodoArchiveRepository extends JpaRepository<TodoArchiveEntity, UUID> {
+
+    @Query("select coalesce(max(a.changeSeq), 0) from TodoArchiveEntity a")
+    long findMaxChangeSeq();
+
+    /**
+     * Locks the next chunk of todos that were completed before the cutoff, in id order after the given id.
+     *
+     * @param cutoff the completion time before which todos are archived
+     * @param after the id of the last todo of the previous chunk
+     * @param pageable the chunk size
+     * @return the locked todos
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from TodoEntity t where t.completed = true and t.completedAt < :cutoff and t.id > :after order by t.id")
+    List<TodoEntity> lockArchivable(@Param("cutoff") Instant cutoff, @Param("after") UUID after, Pageable pageable);
+
+    @Modifying
+    @Query("insert into TodoArchiveEntity (id, title, completed, changeSeq, completedAt, archivedAt) "
+            + "select t.id, t.title, t.completed, :changeSeq, t.completedAt, :archivedAt from TodoEntity t where t.id in :ids")
+    int copyToArchive(@Param("ids") Collection<UUID> ids, @Param("changeSeq") long changeSeq, @Param("archivedAt") Instant archivedAt);
+
+    @Modifying
+    @Query("delete from TodoEntity t where t.id in :ids")
+    int deleteArchived(@Param("ids") Collection<UUID> ids);
+}
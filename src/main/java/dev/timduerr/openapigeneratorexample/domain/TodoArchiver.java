@@ -0,0 +1,102 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.config.ArchiveProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * TodoArchiver.
+ *
+ * <p>Periodically moves todos that have been completed for longer than the configured age from {@code tbl_todo}
+ * into {@code tbl_todo_archive}. The todos are walked in id order and moved in chunks, each in a short
+ * transaction of its own that locks only the rows it moves, with a pause between chunks.
+ *
+ * <p>An archived todo is not deleted: the change feed does not report it, and {@code GET /todos} returns it
+ * when asked to include archived todos. It leaves the title index, though.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class TodoArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoArchiver.class);
+
+    /**
+     * The smallest id in the database's unsigned order, the keyset start of every run.
+     */
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final TodoArchiveRepository todoArchiveRepository;
+    private final ChangeSequence changeSequence;
+    private final TodoTitleIndex todoTitleIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+
+    public TodoArchiver(TodoArchiveRepository todoArchiveRepository, ChangeSequence changeSequence,
+                        TodoTitleIndex todoTitleIndex, PlatformTransactionManager transactionManager,
+                        ArchiveProperties properties) {
+        this.todoArchiveRepository = todoArchiveRepository;
+        this.changeSequence = changeSequence;
+        this.todoTitleIndex = todoTitleIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Archives all todos completed before the cutoff, chunk by chunk.
+     *
+     * @return the number of archived todos
+     */
+    @Scheduled(fixedDelayString = "${todo.archive.interval:PT1H}", initialDelayString = "${todo.archive.interval:PT1H}")
+    public int archive() {
+        Instant cutoff = Instant.now().minus(properties.completedFor());
+        UUID after = FIRST_ID;
+        int archived = 0;
+
+        while (true) {
+            UUID from = after;
+            List<UUID> ids = transactionTemplate.execute(status -> archiveChunk(cutoff, from));
+            archived += ids.size();
+            if (ids.size() < properties.chunkSize()) break;
+
+            after = ids.getLast();
+            if (!pause()) break;
+        }
+
+        if (archived > 0) log.info("Archived {} todos completed before {}", archived, cutoff);
+        return archived;
+    }
+
+    private List<UUID> archiveChunk(Instant cutoff, UUID after) {
+        List<UUID> ids = todoArchiveRepository.lockArchivable(cutoff, after, PageRequest.ofSize(properties.chunkSize())).stream()
+                .map(TodoEntity::getId)
+                .toList();
+        if (ids.isEmpty()) return ids;
+
+        long changeSeq = changeSequence.next();
+        todoArchiveRepository.copyToArchive(ids, changeSeq, Instant.now());
+        todoArchiveRepository.deleteArchived(ids);
+        ids.forEach(id -> todoTitleIndex.delete(id, changeSeq));
+
+        log.debug("Archived chunk of {} todos up to id {}", ids.size(), ids.getLast());
+        return ids;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.pause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * TodoBulkRepository.
+ *
+ * <p>Set-based writes to all todos matching a filter, applied chunk by chunk: {@link #lockMatching} claims the
+ * next chunk in id order, which is then updated or deleted with a single statement. Imported todos are inserted
+ * batch by batch with {@link #insertAll}. The relational implementation is {@link TodoBulkRepositoryImpl}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public interface TodoBulkRepository {
+
+    /**
+     * Locks the next todos matching the filter, for the rest of the transaction.
+     *
+     * @param completed the completed state to match, or {@code null} to match both
+     * @param q the case-insensitive title search term, or {@code null} to match every title
+     * @param after the exclusive lower bound of the ids, the last id of the previous chunk
+     * @param limit the maximum number of todos to lock
+     * @return the ids of the locked todos in ascending order
+     */
+    List<UUID> lockMatching(Boolean completed, String q, UUID after, int limit);
+
+    /**
+     * Applies a title and completed state to the todos. A todo whose completed state changes is stamped with the
+     * completion time or has it cleared. Each todo is stamped with its own change token, the {@code n}-th id in
+     * ascending order with {@code changeSeqOffset + n}.
+     *
+     * @param ids the ids of the todos, as returned by {@link #lockMatching}
+     * @param title the new title, or {@code null} to keep the titles
+     * @param completed the new completed state, or {@code null} to keep it
+     * @param changeSeqOffset the change token preceding the first one of the todos
+     * @param now the completion time of todos that become completed
+     * @return the number of updated todos
+     */
+    int bulkPatch(List<UUID> ids, String title, Boolean completed, long changeSeqOffset, Instant now);
+
+    /**
+     * Deletes the todos.
+     *
+     * @param ids the ids of the todos, as returned by {@link #lockMatching}
+     * @return the number of deleted todos
+     */
+    int bulkDelete(List<UUID> ids);
+
+    /**
+     * Inserts new todos that already carry their ids and change tokens, bypassing the id generation.
+     *
+     * @param todos the todos
+     * @return the number of inserted todos
+     */
+    int insertAll(List<TodoEntity> todos);
+}
@@ -0,0 +1,122 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * TodoBulkRepositoryImpl.
+ *
+ * <p>Spring Data fragment of the JPA-backed {@link TodoRepository}. The chunk is locked with a
+ * {@code SELECT ... FOR UPDATE} and written with one {@code UPDATE} or {@code DELETE}; the change token of each
+ * todo is derived from its rank within the chunk by a correlated count, so that the statement stays set-based.
+ * Inserts go to the connection of the transaction as one JDBC batch.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoBulkRepositoryImpl implements TodoBulkRepository {
+
+    private static final String INSERT_TODO = "INSERT INTO tbl_todo (id, title, completed, change_seq, completed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final EntityManager entityManager;
+
+    TodoBulkRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<UUID> lockMatching(Boolean completed, String q, UUID after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<TodoEntity> query = cb.createQuery(TodoEntity.class);
+        Root<TodoEntity> root = query.from(TodoEntity.class);
+        List<Predicate> filters = new ArrayList<>();
+        filters.add(cb.greaterThan(root.<UUID>get(TodoField.ID.getValue()), after));
+        if (completed != null) filters.add(cb.equal(root.get(TodoField.COMPLETED.getValue()), completed));
+        Predicate titleFilter = TodoProjectionRepositoryImpl.titleFilter(cb, root, q);
+        if (titleFilter != null) filters.add(titleFilter);
+        query.where(filters.toArray(Predicate[]::new));
+        query.orderBy(cb.asc(root.get(TodoField.ID.getValue())));
+
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(TodoEntity::getId)
+                .toList();
+    }
+
+    @Override
+    public int bulkPatch(List<UUID> ids, String title, Boolean completed, long changeSeqOffset, Instant now) {
+        if (ids.isEmpty()) return 0;
+
+        entityManager.flush();
+        int patched = entityManager.createQuery("""
+                        update TodoEntity t
+                        set t.title = coalesce(:title, t.title),
+                            t.completedAt = case when t.completed = coalesce(:completed, t.completed) then t.completedAt
+                                                 when t.completed = true then null
+                                                 else :now end,
+                            t.completed = coalesce(:completed, t.completed),
+                            t.changeSeq = :changeSeqOffset
+                                + (select count(u) from TodoEntity u where u.id in :ids and u.id <= t.id)
+                        where t.id in :ids""")
+                .setParameter("title", title)
+                .setParameter("completed", completed)
+                .setParameter("now", now)
+                .setParameter("changeSeqOffset", changeSeqOffset)
+                .setParameter("ids", ids)
+                .executeUpdate();
+        // like @Modifying(clearAutomatically = true), loaded todos would be stale now
+        entityManager.clear();
+        return patched;
+    }
+
+    @Override
+    public int bulkDelete(List<UUID> ids) {
+        if (ids.isEmpty()) return 0;
+
+        entityManager.flush();
+        int deleted = entityManager.createQuery("delete from TodoEntity t where t.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        entityManager.clear();
+        return deleted;
+    }
+
+    @Override
+    public int insertAll(List<TodoEntity> todos) {
+        if (todos.isEmpty()) return 0;
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_TODO)) {
+                for (TodoEntity todo : todos) {
+                    insert.setObject(1, todo.getId());
+                    insert.setString(2, todo.getTitle());
+                    insert.setBoolean(3, todo.isCompleted());
+                    insert.setLong(4, todo.getChangeSeq());
+                    insert.setObject(5, (todo.getCompletedAt() == null)
+                            ? null : OffsetDateTime.ofInstant(todo.getCompletedAt(), ZoneOffset.UTC));
+                    insert.addBatch();
+                }
+                // drivers may report rows of a batch as SUCCESS_NO_INFO, which is a row all the same
+                return Arrays.stream(insert.executeBatch()).map(rows -> (rows == Statement.SUCCESS_NO_INFO) ? 1 : rows).sum();
+            }
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.config.BulkProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+/**
+ * TodoBulkWriter.
+ *
+ * <p>Updates or deletes all todos matching a filter with set-based statements. The matches are walked in id
+ * order, {@code todo.bulk.chunk-size} at a time; every chunk is locked, written and committed in a transaction
+ * of its own, so that row locks are held for one chunk only. A failure leaves the chunks committed before it
+ * applied.
+ *
+ * <p>Every written todo and tombstone gets a change token of its own, so that the change feed can page through
+ * a bulk write like through single writes.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Component
+public class TodoBulkWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoBulkWriter.class);
+
+    /**
+     * The smallest id in the database's unsigned order, the keyset start of every walk.
+     */
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final ChangeSequence changeSequence;
+    private final TodoTitleIndex todoTitleIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkProperties properties;
+
+    public TodoBulkWriter(TodoRepository todoRepository, TodoTombstoneRepository todoTombstoneRepository,
+                          ChangeSequence changeSequence, TodoTitleIndex todoTitleIndex,
+                          PlatformTransactionManager transactionManager, BulkProperties properties) {
+        this.todoRepository = todoRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.changeSequence = changeSequence;
+        this.todoTitleIndex = todoTitleIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Applies a title and completed state to all matching todos.
+     *
+     * @param completed the completed state to match, or {@code null} to match both
+     * @param q the case-insensitive title search term, or {@code null} to match every title
+     * @param title the new title, or {@code null} to keep the titles
+     * @param newCompleted the new completed state, or {@code null} to keep it
+     * @return the number of updated todos
+     */
+    public int patchMatching(Boolean completed, String q, String title, Boolean newCompleted) {
+        int patched = inChunks(completed, q, ids -> {
+            long changeSeqOffset = changeSequence.reserve(ids.size());
+            int written = todoRepository.bulkPatch(ids, title, newCompleted, changeSeqOffset, Instant.now());
+            if (title != null) {
+                // the ids are in id order, so each one's rank is its change token within the block
+                for (int i = 0; i < ids.size(); i++) {
+                    todoTitleIndex.put(ids.get(i), title, changeSeqOffset + i + 1);
+                }
+            }
+            return written;
+        });
+
+        log.debug("Patched {} todos matching completed={}, q={}", patched, completed, q);
+        return patched;
+    }
+
+    /**
+     * Deletes all matching todos, leaving a tombstone for each.
+     *
+     * @param completed the completed state to match, or {@code null} to match both
+     * @param q the case-insensitive title search term, or {@code null} to match every title
+     * @return the number of deleted todos
+     */
+    public int deleteMatching(Boolean completed, String q) {
+        int deleted = inChunks(completed, q, ids -> {
+            long changeSeqOffset = changeSequence.reserve(ids.size());
+            todoTombstoneRepository.insertAll(ids, changeSeqOffset, Instant.now());
+            int written = todoRepository.bulkDelete(ids);
+            for (int i = 0; i < ids.size(); i++) {
+                todoTitleIndex.delete(ids.get(i), changeSeqOffset + i + 1);
+            }
+            return written;
+        });
+
+        log.debug("Deleted {} todos matching completed={}, q={}", deleted, completed, q);
+        return deleted;
+    }
+
+    private int inChunks(Boolean completed, String q, ToIntFunction<List<UUID>> write) {
+        UUID after = FIRST_ID;
+        int affected = 0;
+
+        while (true) {
+            UUID from = after;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<UUID> ids = todoRepository.lockMatching(completed, q, from, properties.chunkSize());
+                return new Chunk(ids, ids.isEmpty() ? 0 : write.applyAsInt(ids));
+            });
+            affected += chunk.affected();
+            if (chunk.ids().size() < properties.chunkSize()) break;
+
+            after = chunk.ids().getLast();
+        }
+
+        return affected;
+    }
+
+    private record Chunk(List<UUID> ids, int affected) {
+    }
+}
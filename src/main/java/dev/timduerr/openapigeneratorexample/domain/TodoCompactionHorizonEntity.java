@@ -0,0 +1,45 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * TodoCompactionHorizonEntity.
+ *
+ * <p>The single row that keeps the horizon of the {@link TodoTombstoneCompactor} across restarts, so that clients
+ * holding a token below it are still told to re-list after the tombstones they miss are gone.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Entity
+@Table(name = "tbl_todo_compaction_horizon")
+public class TodoCompactionHorizonEntity {
+
+    /**
+     * The id of the only row.
+     */
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private int id = ID;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+}
@@ -0,0 +1,12 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * TodoCompactionHorizonRepository.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public interface TodoCompactionHorizonRepository extends JpaRepository<TodoCompactionHorizonEntity, Integer> {
+}
@@ -1,8 +1,10 @@
 package dev.timduerr.openapigeneratorexample.domain;
 
+import dev.timduerr.openapigeneratorexample.domain.id.TodoId;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -12,11 +14,11 @@ import java.util.UUID;
  * @version 1.0
  */
 @Entity
-@Table(name = "tbl_todo")
+@Table(name = "tbl_todo", indexes = @Index(name = "idx_todo_change_seq", columnList = "change_seq"))
 public class TodoEntity implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TodoId
     @Column(name = "id", nullable = false)
     private UUID id;
 
@@ -26,6 +28,12 @@ public class TodoEntity implements Serializable {
     @Column(name = "completed", nullable = false)
     private boolean completed;
 
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
     public UUID getId() {
         return id;
     }
@@ -49,4 +57,20 @@ public class TodoEntity implements Serializable {
     public void setCompleted(boolean completed) {
         this.completed = completed;
     }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
 }
@@ -0,0 +1,26 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+/**
+ * TodoField.
+ *
+ * <p>The properties of a todo that can be selected individually, named like the entity properties.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public enum TodoField {
+
+    ID("id"),
+    TITLE("title"),
+    COMPLETED("completed");
+
+    private final String value;
+
+    TodoField(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,161 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.config.IdFilterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * TodoIdFilter.
+ *
+ * <p>Bloom filter of the ids of all todos, answering requests for unknown ids with {@code 404 Not Found} without
+ * a query. An id the filter does not contain definitely has no todo; an id it contains may still have none,
+ * either by a false positive or because the todo was deleted or archived, since ids cannot be removed from the
+ * filter. Such requests cost the query they always did.
+ *
+ * <p>The filter is built once the application has started and rebuilt periodically, which drops the ids of
+ * removed todos. Created todos are added before their id is returned to the client, so a todo is never reported
+ * missing to someone who knows its id. Ids added while a rebuild runs go to both the current and the new filter,
+ * and the ids added since the previous rebuild are replayed into the new one, covering creates that commit after
+ * the rebuild read past them.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Component
+public class TodoIdFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoIdFilter.class);
+
+    private static final int LOAD_PAGE_SIZE = 1_000;
+
+    /**
+     * The smallest id in the database's unsigned order, the keyset start of every rebuild.
+     */
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final TodoRepository todoRepository;
+    private final IdFilterProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> avoidedQueries = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the switch of {@link #next} and {@link #added}; adds hold the read lock, so they never miss a switch.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile BloomFilter current;
+    private BloomFilter next;
+    private Set<UUID> added = ConcurrentHashMap.newKeySet();
+    private volatile long ids;
+
+    public TodoIdFilter(TodoRepository todoRepository, IdFilterProperties properties, MeterRegistry meterRegistry) {
+        this.todoRepository = todoRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("todo.id.filter.ids", this, filter -> filter.ids)
+                .description("Ids the todo id filter was last built with")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the ids of all todos, page by page, into a new filter and replaces the current one. Pages follow the
+     * last id read rather than an offset, so todos deleted meanwhile do not shift live ones past the walk.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(fixedDelayString = "${todo.id-filter.rebuild-interval:PT15M}", initialDelayString = "${todo.id-filter.rebuild-interval:PT15M}")
+    public synchronized void rebuild() {
+        if (!properties.enabled()) return;
+
+        long start = System.nanoTime();
+        long capacity = Math.max(properties.minCapacity(), (long) (todoRepository.count() * properties.headroom()));
+        BloomFilter building = new BloomFilter(capacity, properties.falsePositiveRate());
+        Set<UUID> addedBefore;
+        lock.writeLock().lock();
+        try {
+            next = building;
+            addedBefore = added;
+            added = ConcurrentHashMap.newKeySet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long loaded = 0;
+        UUID after = FIRST_ID;
+        List<TodoEntity> page;
+        do {
+            page = todoRepository.findByIdGreaterThanOrderById(after, Limit.of(LOAD_PAGE_SIZE));
+            for (TodoEntity entity : page) {
+                building.add(entity.getId());
+                after = entity.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        addedBefore.forEach(building::add);
+
+        lock.writeLock().lock();
+        try {
+            current = building;
+            next = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ids = loaded;
+        log.info("Built todo id filter of {} ids ({} bits, {} hashes) in {} ms",
+                loaded, building.bitSize(), building.hashCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds the id of a created todo. Called before the id is handed out, so that no request can ask for it
+     * earlier; if the creation fails after all, the id stays a false positive until the next rebuild.
+     *
+     * @param id the id of the todo
+     */
+    public void add(UUID id) {
+        if (!properties.enabled()) return;
+
+        lock.readLock().lock();
+        try {
+            BloomFilter filter = current;
+            if (filter != null) filter.add(id);
+            if (next != null) next.add(id);
+            added.add(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tells whether there definitely is no todo with the given id, and counts the avoided query if so.
+     *
+     * @param id the requested id
+     * @param operation the operation that would have queried the id
+     * @return {@code true} if no todo has the id, {@code false} if one may have it or the filter is not built yet
+     */
+    public boolean isAbsent(UUID id, String operation) {
+        BloomFilter filter = current;
+        if (filter == null || filter.mightContain(id)) return false;
+
+        avoidedQueries.computeIfAbsent(operation, op -> Counter.builder("todo.id.filter.avoided")
+                        .description("Requests for unknown todo ids answered without a query")
+                        .tag("operation", op)
+                        .register(meterRegistry))
+                .increment();
+        return true;
+    }
+}
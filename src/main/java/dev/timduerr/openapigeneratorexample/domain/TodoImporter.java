@@ -0,0 +1,65 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.domain.id.TodoIdStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * TodoImporter.
+ *
+ * <p>Creates imported todos batch by batch. Every batch gets its ids and a block of change tokens up front, is
+ * inserted with {@link TodoRepository#insertAll} and committed in a transaction of its own. A failure leaves the
+ * batches committed before it applied.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Component
+public class TodoImporter {
+
+    private final TodoRepository todoRepository;
+    private final ChangeSequence changeSequence;
+    private final TodoIdFilter todoIdFilter;
+    private final TodoTitleIndex todoTitleIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoIdStrategy idStrategy;
+
+    public TodoImporter(TodoRepository todoRepository, ChangeSequence changeSequence, TodoIdFilter todoIdFilter,
+                        TodoTitleIndex todoTitleIndex, PlatformTransactionManager transactionManager,
+                        @Value("${spring.jpa.properties.todo.id-strategy:uuid-v7}") String idStrategy) {
+        this.todoRepository = todoRepository;
+        this.changeSequence = changeSequence;
+        this.todoIdFilter = todoIdFilter;
+        this.todoTitleIndex = todoTitleIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idStrategy = TodoIdStrategy.fromValue(idStrategy);
+    }
+
+    /**
+     * Inserts a batch of new todos and commits it.
+     *
+     * @param todos the todos, without id; they are given their ids and change tokens
+     * @return the number of inserted todos
+     */
+    public int insert(List<TodoEntity> todos) {
+        if (todos.isEmpty()) return 0;
+
+        return transactionTemplate.execute(status -> {
+            long changeSeqOffset = changeSequence.reserve(todos.size());
+            for (int i = 0; i < todos.size(); i++) {
+                TodoEntity todo = todos.get(i);
+                todo.setId(idStrategy.nextId());
+                todo.setChangeSeq(changeSeqOffset + i + 1);
+                todoIdFilter.add(todo.getId());
+            }
+
+            int written = todoRepository.insertAll(todos);
+            todos.forEach(todo -> todoTitleIndex.put(todo.getId(), todo.getTitle(), todo.getChangeSeq()));
+            return written;
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.util.UUID;
+
+/**
+ * TodoListingEntity.
+ *
+ * <p>Read-only view over the todos of {@code tbl_todo} and {@code tbl_todo_archive}, used to list todos
+ * including archived ones. The properties carry the names of {@link TodoEntity}, so that sorts resolved against
+ * it apply unchanged.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Entity
+@Immutable
+@Subselect("SELECT id, title, completed, change_seq FROM tbl_todo "
+        + "UNION ALL SELECT id, title, completed, change_seq FROM tbl_todo_archive")
+@Synchronize({"tbl_todo", "tbl_todo_archive"})
+public class TodoListingEntity {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "completed")
+    private boolean completed;
+
+    @Column(name = "change_seq")
+    private long changeSeq;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+}
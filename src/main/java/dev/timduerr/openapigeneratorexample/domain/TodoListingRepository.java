@@ -0,0 +1,22 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+
+import java.util.UUID;
+
+/**
+ * TodoListingRepository.
+ *
+ * <p>Pages through active and archived todos alike, see {@link TodoListingEntity}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public interface TodoListingRepository extends Repository<TodoListingEntity, UUID> {
+
+    Page<TodoListingEntity> findAll(Pageable pageable);
+
+    Page<TodoListingEntity> findByTitleContainingIgnoreCase(String q, Pageable pageable);
+}
@@ -0,0 +1,53 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * TodoOrder.
+ *
+ * <p>Orders todos in memory the way the database orders them, for engines that sort or merge todos themselves.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public final class TodoOrder {
+
+    /**
+     * Orders UUIDs by their unsigned 128-bit value, like the database does.
+     */
+    public static final Comparator<UUID> ID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private TodoOrder() {
+    }
+
+    /**
+     * Returns a comparator for a sort on {@code id}, {@code title} (optionally ignoring case), {@code completed}
+     * and {@code changeSeq}.
+     *
+     * @param sort the sort
+     * @return the comparator, which considers all todos equal for an unsorted sort
+     * @throws IllegalArgumentException if the sort refers to another property
+     */
+    public static Comparator<TodoEntity> of(Sort sort) {
+        Comparator<TodoEntity> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<TodoEntity> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(TodoEntity::getId, ID_ORDER);
+                case "title" -> order.isIgnoreCase()
+                        ? Comparator.comparing((TodoEntity entity) -> entity.getTitle().toLowerCase(Locale.ROOT))
+                        : Comparator.comparing(TodoEntity::getTitle);
+                case "completed" -> Comparator.comparing(TodoEntity::isCompleted);
+                case "changeSeq" -> Comparator.comparingLong(TodoEntity::getChangeSeq);
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            };
+            comparator = comparator.thenComparing(order.isDescending() ? next.reversed() : next);
+        }
+        return comparator;
+    }
+}
@@ -0,0 +1,32 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * TodoProjection.
+ *
+ * <p>A todo narrowed to a set of {@link TodoField}s; the fields that were not selected are {@code null}.
+ *
+ * @param id the id, if selected
+ * @param title the title, if selected
+ * @param completed the completed state, if selected
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public record TodoProjection(UUID id, String title, Boolean completed) {
+
+    /**
+     * Narrows a loaded todo to the given fields.
+     *
+     * @param entity the todo
+     * @param fields the fields to keep
+     * @return the projection of the todo
+     */
+    public static TodoProjection of(TodoEntity entity, Set<TodoField> fields) {
+        return new TodoProjection(
+                fields.contains(TodoField.ID) ? entity.getId() : null,
+                fields.contains(TodoField.TITLE) ? entity.getTitle() : null,
+                fields.contains(TodoField.COMPLETED) ? entity.isCompleted() : null);
+    }
+}
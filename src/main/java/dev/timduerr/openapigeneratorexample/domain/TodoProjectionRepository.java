@@ -0,0 +1,40 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * TodoProjectionRepository.
+ *
+ * <p>Reads todos narrowed to a set of fields. The relational implementation selects only the columns of these
+ * fields, see {@link TodoProjectionRepositoryImpl}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public interface TodoProjectionRepository {
+
+    /**
+     * Pages through todos, optionally filtered by a case-insensitive title search.
+     *
+     * @param fields the fields to select, never empty
+     * @param q the search term, or {@code null} to list all todos
+     * @param includeArchived whether archived todos are listed as well
+     * @param pageable the page and sort, which may refer to fields that are not selected
+     * @return the page of projections
+     */
+    Page<TodoProjection> findProjected(Set<TodoField> fields, String q, boolean includeArchived, Pageable pageable);
+
+    /**
+     * Reads a single todo.
+     *
+     * @param id the id of the todo
+     * @param fields the fields to select, never empty
+     * @return the projection, or empty if there is no todo with the id
+     */
+    Optional<TodoProjection> findProjectedById(UUID id, Set<TodoField> fields);
+}
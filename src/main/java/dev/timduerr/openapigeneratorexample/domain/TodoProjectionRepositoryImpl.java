@@ -0,0 +1,124 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * TodoProjectionRepositoryImpl.
+ *
+ * <p>Spring Data fragment of the JPA-backed {@link TodoRepository}: builds tuple queries that select only the
+ * columns of the requested fields. The title search and the skipped count query of a partial page behave like
+ * the derived queries of the repository.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoProjectionRepositoryImpl implements TodoProjectionRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final EntityManager entityManager;
+
+    TodoProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<TodoProjection> findProjected(Set<TodoField> fields, String q, boolean includeArchived, Pageable pageable) {
+        // archived todos only exist in the relational view over both tables
+        Class<?> domainClass = includeArchived ? TodoListingEntity.class : TodoEntity.class;
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(domainClass);
+        query.multiselect(selections(root, fields));
+        Predicate filter = titleFilter(cb, root, q);
+        if (filter != null) query.where(filter);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<TodoProjection> content = typedQuery.getResultList().stream()
+                .map(tuple -> toProjection(tuple, fields))
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(domainClass, q));
+    }
+
+    @Override
+    public Optional<TodoProjection> findProjectedById(UUID id, Set<TodoField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TodoEntity> root = query.from(TodoEntity.class);
+        query.multiselect(selections(root, fields));
+        query.where(cb.equal(root.get(TodoField.ID.getValue()), id));
+
+        return entityManager.createQuery(query).getResultStream()
+                .findFirst()
+                .map(tuple -> toProjection(tuple, fields));
+    }
+
+    private long count(Class<?> domainClass, String q) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<?> root = query.from(domainClass);
+        query.select(cb.count(root));
+        Predicate filter = titleFilter(cb, root, q);
+        if (filter != null) query.where(filter);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, Set<TodoField> fields) {
+        return fields.stream()
+                .<Selection<?>>map(field -> root.get(field.getValue()).alias(field.getValue()))
+                .toList();
+    }
+
+    /**
+     * Builds the case-insensitive title search of the derived {@code ContainingIgnoreCase} queries, also used by
+     * {@link TodoBulkRepositoryImpl}.
+     */
+    static Predicate titleFilter(CriteriaBuilder cb, Root<?> root, String q) {
+        if (q == null || q.isBlank()) return null;
+        String pattern = "%" + escapeLike(q.toLowerCase(Locale.ROOT)) + "%";
+        return cb.like(cb.lower(root.get(TodoField.TITLE.getValue())), pattern, LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') escaped.append(LIKE_ESCAPE);
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static TodoProjection toProjection(Tuple tuple, Set<TodoField> fields) {
+        return new TodoProjection(
+                fields.contains(TodoField.ID) ? tuple.get(TodoField.ID.getValue(), UUID.class) : null,
+                fields.contains(TodoField.TITLE) ? tuple.get(TodoField.TITLE.getValue(), String.class) : null,
+                fields.contains(TodoField.COMPLETED) ? tuple.get(TodoField.COMPLETED.getValue(), Boolean.class) : null);
+    }
+}
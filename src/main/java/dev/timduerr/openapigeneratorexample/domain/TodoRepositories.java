@@ -0,0 +1,42 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.support.PersistenceExceptionTranslationInterceptor;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.data.repository.core.support.RepositoryFragment;
+
+/**
+ * TodoRepositories.
+ *
+ * <p>Creates Spring Data JPA {@link TodoRepository} instances outside of the application context, e.g. one per
+ * shard, each on an entity manager of its own. The repositories carry the same fragments as the one Spring Data
+ * creates for the application, but no transactions: callers run them in transactions of the entity manager's
+ * transaction manager.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public final class TodoRepositories {
+
+    private TodoRepositories() {
+    }
+
+    /**
+     * Creates a repository on an entity manager.
+     *
+     * @param entityManager the shared entity manager, bound to the transactions of its factory
+     * @param exceptionTranslator translates persistence exceptions into Spring's data access exceptions
+     * @return the repository
+     */
+    public static TodoRepository jpa(EntityManager entityManager, PersistenceExceptionTranslator exceptionTranslator) {
+        JpaRepositoryFactory factory = new JpaRepositoryFactory(entityManager);
+        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                proxyFactory.addAdvice(new PersistenceExceptionTranslationInterceptor(exceptionTranslator)));
+
+        return factory.getRepository(TodoRepository.class, RepositoryFragments.of(
+                RepositoryFragment.implemented(TodoProjectionRepository.class, new TodoProjectionRepositoryImpl(entityManager)),
+                RepositoryFragment.implemented(TodoBulkRepository.class, new TodoBulkRepositoryImpl(entityManager))));
+    }
+}
@@ -1,18 +1,105 @@
 package dev.timduerr.openapigeneratorexample.domain;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.ListPagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * TodoRepository.
  *
+ * <p>Only the storage-neutral CRUD and paging contracts are exposed, so that the repository can be backed
+ * either by Spring Data JPA or by the in-memory engine of the {@code memory} profile. Writes to a single todo that
+ * must not lose concurrent changes go through {@link #toggleCompleted} and {@link #compareAndSet}, which apply in
+ * one statement and only while the todo still carries an expected change token.
+ *
  * @author Tim Dürr
  * @version 1.0
  */
-public interface TodoRepository extends JpaRepository<TodoEntity, UUID> {
+public interface TodoRepository extends ListCrudRepository<TodoEntity, UUID>, ListPagingAndSortingRepository<TodoEntity, UUID>,
+        TodoProjectionRepository, TodoBulkRepository {
 
     Page<TodoEntity> findByTitleContainingIgnoreCase(String q, Pageable pageable);
+
+    List<TodoEntity> findByChangeSeqGreaterThan(long changeSeq, Pageable pageable);
+
+    /**
+     * Loads the todos following an id in id order, the keyset page for a walk over all todos that neither skips
+     * nor repeats a todo when others are inserted or deleted meanwhile.
+     *
+     * @param after the last id of the previous page, or the smallest id to start the walk
+     * @param limit the maximum number of todos
+     * @return the todos with an id greater than {@code after}, ordered by id
+     */
+    List<TodoEntity> findByIdGreaterThanOrderById(UUID after, Limit limit);
+
+    @Query("select coalesce(max(t.changeSeq), 0) from TodoEntity t")
+    long findMaxChangeSeq();
+
+    /**
+     * Flips the completed state of a todo in place, stamping or clearing its completion time.
+     *
+     * @param id the id of the todo
+     * @param acceptedChangeSeqs the change tokens the todo must carry one of, or {@code null} to toggle unconditionally
+     * @param changeSeq the change token of the toggle
+     * @param now the completion time if the todo becomes completed
+     * @return {@code 1} if the todo was toggled, {@code 0} if it does not exist or carries none of the change tokens
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update TodoEntity t
+            set t.completed = case when t.completed = true then false else true end,
+                t.completedAt = case when t.completed = true then null else :now end,
+                t.changeSeq = :changeSeq
+            where t.id = :id
+              and (:#{#acceptedChangeSeqs == null} = true or t.changeSeq in :#{#acceptedChangeSeqs ?: T(java.util.Set).of()})""")
+    int toggleCompleted(@Param("id") UUID id, @Param("acceptedChangeSeqs") Set<Long> acceptedChangeSeqs,
+                        @Param("changeSeq") long changeSeq, @Param("now") Instant now);
+
+    /**
+     * Writes a todo, unless it has been changed since it carried the expected change token.
+     *
+     * @param todo the new state of the todo, including its new change token
+     * @param expectedChangeSeq the change token the stored todo must carry
+     * @return {@code 1} if the todo was written, {@code 0} if it does not exist or carries another change token
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update TodoEntity t
+            set t.title = :#{#todo.title},
+                t.completed = :#{#todo.completed},
+                t.completedAt = :#{#todo.completedAt},
+                t.changeSeq = :#{#todo.changeSeq}
+            where t.id = :#{#todo.id} and t.changeSeq = :expectedChangeSeq""")
+    int compareAndSet(@Param("todo") TodoEntity todo, @Param("expectedChangeSeq") long expectedChangeSeq);
+
+    /**
+     * Loads the todos with the given ids, binding at most {@code chunkSize} distinct ids to each {@code IN} query.
+     *
+     * @param ids the ids to load, duplicates are queried once
+     * @param chunkSize the maximum number of ids per query
+     * @return the todos found, in no particular order
+     */
+    default List<TodoEntity> findAllByIdInChunks(Collection<UUID> ids, int chunkSize) {
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        List<TodoEntity> todos = new ArrayList<>(distinctIds.size());
+
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            todos.addAll(findAllById(distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()))));
+        }
+
+        return todos;
+    }
 }
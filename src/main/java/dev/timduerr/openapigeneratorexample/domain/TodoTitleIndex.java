@@ -0,0 +1,269 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.config.SuggestProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * TodoTitleIndex.
+ *
+ * <p>Case-folded prefix index over the titles of all todos, answering autocomplete queries without touching the
+ * database. Every word start of a title is indexed, up to {@link SuggestProperties#maxWordsPerTitle()} words
+ * and {@link SuggestProperties#maxKeyLength()} characters per key, which bounds the memory per todo. A lookup
+ * walks the prefix and stops after the requested number of todos, so its cost does not depend on the number
+ * of todos.
+ *
+ * <p>The index is built once the application has started and kept current by the write paths, which apply
+ * their changes after the surrounding transaction has committed. Transactions do not necessarily get there in
+ * the order they committed, so every change carries its change token and a change older than the indexed one is
+ * ignored. A removal is remembered until the {@link ChangeSequence#watermark() watermark} passes it, which is
+ * when no older change of the todo can still arrive and bring it back.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Component
+public class TodoTitleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoTitleIndex.class);
+
+    private static final int LOAD_PAGE_SIZE = 1_000;
+
+    /**
+     * The smallest id in the database's unsigned order, the keyset start of every rebuild.
+     */
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final TodoRepository todoRepository;
+    private final ChangeSequence changeSequence;
+    private final SuggestProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TitleTrie trie = new TitleTrie();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Queue<Removal> removals = new PriorityQueue<>(Comparator.comparingLong(Removal::changeSeq));
+
+    public TodoTitleIndex(TodoRepository todoRepository, ChangeSequence changeSequence, SuggestProperties properties) {
+        this.todoRepository = todoRepository;
+        this.changeSequence = changeSequence;
+        this.properties = properties;
+    }
+
+    /**
+     * A todo whose title matches a prefix.
+     *
+     * @param id the id of the todo
+     * @param title the title of the todo
+     */
+    public record Suggestion(UUID id, String title) {
+    }
+
+    /**
+     * Loads the titles of all todos, page by page, before the instance reports ready. Pages follow the last id
+     * read rather than an offset, so todos deleted meanwhile do not shift live ones past the walk.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            trie.clear();
+            entries.clear();
+            removals.clear();
+            UUID after = FIRST_ID;
+            List<TodoEntity> page;
+            do {
+                page = todoRepository.findByIdGreaterThanOrderById(after, Limit.of(LOAD_PAGE_SIZE));
+                for (TodoEntity entity : page) {
+                    apply(entity.getId(), entity.getTitle(), entity.getChangeSeq());
+                    after = entity.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} todo titles in {} ms", entries.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Indexes the title of a created or updated todo once the current transaction has committed.
+     *
+     * @param id the id of the todo
+     * @param title the current title of the todo
+     * @param changeSeq the change token of the write
+     */
+    public void put(UUID id, String title, long changeSeq) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                apply(id, title, changeSeq);
+                forgetRemovals();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes a deleted todo once the current transaction has committed.
+     *
+     * @param id the id of the todo
+     * @param changeSeq the change token of the removal
+     */
+    public void delete(UUID id, long changeSeq) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (apply(id, null, changeSeq)) removals.add(new Removal(id, changeSeq));
+                forgetRemovals();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns the todos with a title word starting with the given prefix, ignoring case, ordered by the matching
+     * part of the title.
+     *
+     * @param prefix the prefix typed by the user
+     * @param limit the maximum number of suggestions
+     * @return at most {@code limit} suggestions
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String folded = fold(prefix.strip());
+        if (folded.isEmpty() || limit <= 0) return List.of();
+
+        // keys are truncated, so longer prefixes are matched on the truncated key and verified on the title
+        String key = truncate(folded);
+        boolean verify = key.length() < folded.length();
+
+        lock.readLock().lock();
+        try {
+            Set<UUID> ids = new LinkedHashSet<>();
+            trie.visit(key, id -> {
+                if (!verify || matches(entries.get(id).title(), folded)) ids.add(id);
+                return ids.size() < limit;
+            });
+
+            List<Suggestion> suggestions = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                suggestions.add(new Suggestion(id, entries.get(id).title()));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the indexed title of a todo, unless the index already holds a change at least as recent.
+     *
+     * @param title the new title, or {@code null} to remove the todo
+     * @return {@code true} if the change was applied
+     */
+    private boolean apply(UUID id, String title, long changeSeq) {
+        Entry existing = entries.get(id);
+        if (existing != null && existing.changeSeq() >= changeSeq) return false;
+
+        if (existing != null && existing.title() != null) {
+            for (String key : keys(existing.title())) {
+                trie.remove(key, id);
+            }
+        }
+        entries.put(id, new Entry(title, changeSeq));
+        if (title != null) {
+            for (String key : keys(title)) {
+                trie.add(key, id);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops the removals at or below the watermark: every older change of their todos has been applied by now.
+     */
+    private void forgetRemovals() {
+        if (removals.isEmpty()) return;
+
+        long watermark = changeSequence.watermark();
+        while (!removals.isEmpty() && removals.peek().changeSeq() <= watermark) {
+            Removal removal = removals.poll();
+            entries.remove(removal.id(), new Entry(null, removal.changeSeq()));
+        }
+    }
+
+    /**
+     * Returns the case-folded, truncated title suffixes starting at the title itself and at each word start.
+     */
+    private Set<String> keys(String title) {
+        String folded = fold(title);
+        Set<String> keys = new LinkedHashSet<>();
+        if (!folded.isEmpty()) keys.add(truncate(folded));
+
+        for (int i = 1; i < folded.length() && keys.size() < properties.maxWordsPerTitle(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i)) && !Character.isLetterOrDigit(folded.charAt(i - 1))) {
+                keys.add(truncate(folded.substring(i)));
+            }
+        }
+        return keys;
+    }
+
+    private boolean matches(String title, String foldedPrefix) {
+        if (title == null) return false;
+        String folded = fold(title);
+        for (int i = folded.indexOf(foldedPrefix); i >= 0; i = folded.indexOf(foldedPrefix, i + 1)) {
+            if (i == 0 || !Character.isLetterOrDigit(folded.charAt(i - 1))) return true;
+        }
+        return false;
+    }
+
+    private String truncate(String key) {
+        return (key.length() <= properties.maxKeyLength()) ? key : key.substring(0, properties.maxKeyLength());
+    }
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The indexed title of a todo, {@code null} once it is removed, and the change token that wrote it.
+     */
+    private record Entry(String title, long changeSeq) {
+    }
+
+    private record Removal(UUID id, long changeSeq) {
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * TodoTombstoneBulkRepository.
+ *
+ * <p>Records the deletion of many todos with a single statement, see {@link TodoTombstoneBulkRepositoryImpl}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public interface TodoTombstoneBulkRepository {
+
+    /**
+     * Inserts a tombstone per todo, stamping the {@code n}-th id with the change token {@code changeSeqOffset + n}.
+     *
+     * @param ids the ids of the deleted todos in ascending order
+     * @param changeSeqOffset the change token preceding the first one of the tombstones
+     * @param deletedAt the deletion time
+     * @return the number of inserted tombstones
+     */
+    int insertAll(List<UUID> ids, long changeSeqOffset, Instant deletedAt);
+}
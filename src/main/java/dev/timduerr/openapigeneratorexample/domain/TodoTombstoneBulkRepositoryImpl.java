@@ -0,0 +1,45 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * TodoTombstoneBulkRepositoryImpl.
+ *
+ * <p>Spring Data fragment of the {@link TodoTombstoneRepository}: writes the tombstones of a chunk with one
+ * multi-row {@code INSERT ... VALUES}. The ids are bound as values rather than selected from {@code tbl_todo},
+ * which the in-memory engine does not maintain.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoTombstoneBulkRepositoryImpl implements TodoTombstoneBulkRepository {
+
+    private final EntityManager entityManager;
+
+    TodoTombstoneBulkRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int insertAll(List<UUID> ids, long changeSeqOffset, Instant deletedAt) {
+        if (ids.isEmpty()) return 0;
+
+        StringBuilder statement = new StringBuilder("insert into TodoTombstoneEntity (id, changeSeq, deletedAt) values ");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) statement.append(", ");
+            statement.append("(:id").append(i).append(", :changeSeq").append(i).append(", :deletedAt)");
+        }
+
+        Query query = entityManager.createQuery(statement.toString());
+        for (int i = 0; i < ids.size(); i++) {
+            query.setParameter("id" + i, ids.get(i));
+            query.setParameter("changeSeq" + i, changeSeqOffset + i + 1);
+        }
+        return query.setParameter("deletedAt", deletedAt).executeUpdate();
+    }
+}
@@ -0,0 +1,80 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.config.SyncProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TodoTombstoneCompactor.
+ *
+ * <p>Periodically purges tombstones older than the configured retention. Clients whose change token
+ * lies below the purged horizon can no longer be served a complete delta and must re-list. The horizon is stored
+ * with the purge and loaded again once the application is ready.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Component
+public class TodoTombstoneCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoTombstoneCompactor.class);
+
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final TodoCompactionHorizonRepository todoCompactionHorizonRepository;
+    private final SyncProperties syncProperties;
+    private final AtomicLong horizon = new AtomicLong();
+
+    public TodoTombstoneCompactor(TodoTombstoneRepository todoTombstoneRepository,
+                                  TodoCompactionHorizonRepository todoCompactionHorizonRepository,
+                                  SyncProperties syncProperties) {
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.todoCompactionHorizonRepository = todoCompactionHorizonRepository;
+        this.syncProperties = syncProperties;
+    }
+
+    /**
+     * Loads the horizon stored by an earlier run. Not read-only, so that it is read from the primary.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void onApplicationReady() {
+        todoCompactionHorizonRepository.findById(TodoCompactionHorizonEntity.ID)
+                .ifPresent(stored -> horizon.accumulateAndGet(stored.getChangeSeq(), Math::max));
+    }
+
+    /**
+     * Deletes all tombstones that were recorded before the retention cutoff and advances the horizon.
+     */
+    @Scheduled(fixedDelayString = "${todo.sync.compaction-interval:PT1H}")
+    @Transactional
+    public void compact() {
+        Instant cutoff = Instant.now().minus(syncProperties.tombstoneRetention());
+        long purgeUpTo = todoTombstoneRepository.findMaxChangeSeqDeletedBefore(cutoff);
+        if (purgeUpTo <= horizon.get()) return;
+
+        int purged = todoTombstoneRepository.deleteUpToChangeSeq(purgeUpTo);
+        TodoCompactionHorizonEntity stored = todoCompactionHorizonRepository.findById(TodoCompactionHorizonEntity.ID)
+                .orElseGet(TodoCompactionHorizonEntity::new);
+        stored.setChangeSeq(purgeUpTo);
+        todoCompactionHorizonRepository.save(stored);
+        horizon.accumulateAndGet(purgeUpTo, Math::max);
+        log.debug("Compacted {} tombstones up to change token {}", purged, purgeUpTo);
+    }
+
+    /**
+     * Returns the highest change token whose tombstones may already have been purged.
+     *
+     * @return the compaction horizon; tokens below it require a full re-list
+     */
+    public long horizon() {
+        return horizon.get();
+    }
+}
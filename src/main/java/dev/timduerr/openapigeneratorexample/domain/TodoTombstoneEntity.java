@@ -0,0 +1,54 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * TodoTombstoneEntity.
+ *
+ * <p>Records the deletion of a todo so that delta-sync clients can drop their local copy. The todo id is the
+ * primary key, which keeps the table compacted to at most one tombstone per deleted todo.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Entity
+@Table(name = "tbl_todo_tombstone", indexes = @Index(name = "idx_todo_tombstone_change_seq", columnList = "change_seq"))
+public class TodoTombstoneEntity {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
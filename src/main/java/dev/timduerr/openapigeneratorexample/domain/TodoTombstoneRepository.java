@@ -0,0 +1,32 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * TodoTombstoneRepository.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstoneEntity, UUID>, TodoTombstoneBulkRepository {
+
+    List<TodoTombstoneEntity> findByChangeSeqGreaterThan(long changeSeq, Pageable pageable);
+
+    @Query("select coalesce(max(t.changeSeq), 0) from TodoTombstoneEntity t")
+    long findMaxChangeSeq();
+
+    @Query("select coalesce(max(t.changeSeq), 0) from TodoTombstoneEntity t where t.deletedAt < :cutoff")
+    long findMaxChangeSeqDeletedBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("delete from TodoTombstoneEntity t where t.changeSeq <= :changeSeq")
+    int deleteUpToChangeSeq(@Param("changeSeq") long changeSeq);
+}
@@ -0,0 +1,24 @@
+package dev.timduerr.openapigeneratorexample.domain.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * TodoId.
+ *
+ * <p>Marks an identifier attribute whose value is generated by {@link TodoIdGenerator}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@IdGeneratorType(TodoIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TodoId {
+}
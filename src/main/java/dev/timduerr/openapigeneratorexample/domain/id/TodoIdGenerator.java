@@ -0,0 +1,47 @@
+package dev.timduerr.openapigeneratorexample.domain.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * TodoIdGenerator.
+ *
+ * <p>Hibernate id generator that delegates to the {@link TodoIdStrategy} configured with the
+ * setting {@value #STRATEGY_SETTING} (e.g. {@code spring.jpa.properties.todo.id-strategy=random}).
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class TodoIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String STRATEGY_SETTING = "todo.id-strategy";
+
+    private final TodoIdStrategy strategy;
+
+    public TodoIdGenerator(TodoId config, Member member, CustomIdGeneratorCreationContext context) {
+        ConfigurationService configurationService = context.getServiceRegistry().getService(ConfigurationService.class);
+        Object value = (configurationService == null) ? null : configurationService.getSettings().get(STRATEGY_SETTING);
+        this.strategy = TodoIdStrategy.fromValue(value == null ? null : value.toString());
+    }
+
+    public TodoIdStrategy getStrategy() {
+        return strategy;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return strategy.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,57 @@
+package dev.timduerr.openapigeneratorexample.domain.id;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * TodoIdStrategy.
+ *
+ * <p>The available strategies for generating todo ids, selected via the Hibernate setting
+ * {@value TodoIdGenerator#STRATEGY_SETTING}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public enum TodoIdStrategy {
+
+    /**
+     * Random version 4 UUIDs. Inserts land at random positions in the primary key index.
+     */
+    RANDOM {
+        @Override
+        public UUID nextId() {
+            return UUID.randomUUID();
+        }
+    },
+
+    /**
+     * Time-ordered version 7 UUIDs. Inserts are appended to the right edge of the primary key index.
+     */
+    UUID_V7 {
+        private final UuidV7Generator generator = new UuidV7Generator();
+
+        @Override
+        public UUID nextId() {
+            return generator.next();
+        }
+    };
+
+    /**
+     * Generates a new todo id.
+     *
+     * @return the generated id
+     */
+    public abstract UUID nextId();
+
+    /**
+     * Resolves a strategy from its configuration value, e.g. {@code random} or {@code uuid-v7}.
+     *
+     * @param value the configured value, may be {@code null} or blank.
+     * @return the matching strategy, or {@link #UUID_V7} if no value is configured
+     * @throws IllegalArgumentException if the value does not name a strategy
+     */
+    public static TodoIdStrategy fromValue(String value) {
+        if (value == null || value.isBlank()) return UUID_V7;
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,77 @@
+package dev.timduerr.openapigeneratorexample.domain.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * UuidV7Generator.
+ *
+ * <p>Generates RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by a 12-bit
+ * counter in {@code rand_a} and 62 random bits in {@code rand_b}. The counter is seeded randomly in
+ * its lower half at every new millisecond and incremented for further UUIDs within the same millisecond
+ * (RFC 9562, section 6.2, method 1). A counter overflow carries into the timestamp, so the generated
+ * values stay strictly monotonic even if the system clock stalls or moves backwards.
+ *
+ * <p>Timestamp and counter are packed into a single {@link AtomicLong}, which makes generation lock-free
+ * and safe under concurrent use.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class UuidV7Generator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7L << COUNTER_BITS;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC_9562 = 0x8000000000000000L;
+
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong state = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a generator reading the current time in Unix milliseconds from the given clock.
+     *
+     * @param clock the source of the current time in milliseconds since the Unix epoch.
+     */
+    public UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Generates the next UUIDv7.
+     *
+     * @return a UUID greater than every UUID previously returned by this generator
+     */
+    public UUID next() {
+        long timestampAndCounter = nextTimestampAndCounter();
+
+        long mostSigBits = ((timestampAndCounter >>> COUNTER_BITS) << 16) | VERSION_7 | (timestampAndCounter & COUNTER_MASK);
+        long leastSigBits = (random.nextLong() & VARIANT_MASK) | VARIANT_RFC_9562;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Advances the packed {@code timestamp << 12 | counter} state.
+     *
+     * @return the new state, unique and greater than all previously returned states
+     */
+    private long nextTimestampAndCounter() {
+        long now = clock.getAsLong();
+        while (true) {
+            long previous = state.get();
+            long next = (now > (previous >>> COUNTER_BITS))
+                    ? (now << COUNTER_BITS) | random.nextInt(COUNTER_SEED_BOUND)
+                    : previous + 1; // same (or earlier) millisecond, an overflow borrows the next millisecond
+            if (state.compareAndSet(previous, next)) return next;
+        }
+    }
+}
@@ -0,0 +1,519 @@
+package dev.timduerr.openapigeneratorexample.domain.memory;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoField;
+import dev.timduerr.openapigeneratorexample.domain.TodoOrder;
+import dev.timduerr.openapigeneratorexample.domain.TodoProjection;
+import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
+import dev.timduerr.openapigeneratorexample.domain.id.TodoIdStrategy;
+import org.springframework.data.domain.*;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static dev.timduerr.openapigeneratorexample.domain.TodoOrder.ID_ORDER;
+
+/**
+ * InMemoryTodoRepository.
+ *
+ * <p>{@link TodoRepository} engine that keeps all todos in a concurrent primary map plus sorted secondary
+ * indexes for the keys {@link dev.timduerr.openapigeneratorexample.web.SortResolver} allows (case-insensitive
+ * title, completed, id) and for the change token. Every mutation is appended to a memory-mapped
+ * {@link TodoJournal} before it becomes visible; snapshots are taken periodically and on shutdown.
+ *
+ * <p>Point reads are lock-free. Mutations and index walks are guarded by a read/write lock, so that a page
+ * and its total count always see the same state.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class InMemoryTodoRepository implements TodoRepository, Closeable {
+
+    private final TodoJournal journal;
+    private final TodoIdStrategy idStrategy;
+
+    private final Map<UUID, TodoEntity> primary = new ConcurrentHashMap<>();
+    private final SortedIndex<UUID> idIndex = new SortedIndex<>(ID_ORDER, ID_ORDER);
+    private final SortedIndex<String> titleIndex = new SortedIndex<>(Comparator.naturalOrder(), ID_ORDER);
+    private final SortedIndex<Boolean> completedIndex = new SortedIndex<>(Comparator.naturalOrder(), ID_ORDER);
+    private final SortedIndex<Long> changeSeqIndex = new SortedIndex<>(Comparator.naturalOrder(), ID_ORDER);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock snapshotLock = new ReentrantLock();
+
+    InMemoryTodoRepository(TodoJournal journal, TodoIdStrategy idStrategy) {
+        this.journal = journal;
+        this.idStrategy = idStrategy;
+    }
+
+    /**
+     * Creates a repository persisting to a journal in the given directory. The repository is empty until
+     * {@link #recover(Supplier)} is called.
+     *
+     * @param directory the directory holding the write-ahead logs and snapshots
+     * @param walChunkSize the number of bytes the write-ahead log maps and pre-allocates at once
+     * @param syncOnWrite whether every mutation is forced to the storage device before it is acknowledged
+     * @param idStrategy the strategy generating ids of new todos
+     * @return a new repository
+     */
+    public static InMemoryTodoRepository open(Path directory, int walChunkSize, boolean syncOnWrite, TodoIdStrategy idStrategy) {
+        return new InMemoryTodoRepository(new TodoJournal(directory, walChunkSize, syncOnWrite), idStrategy);
+    }
+
+    /**
+     * Restores the state from the journal. If the journal is empty, the todos provided by the seed are
+     * imported instead, e.g. rows of the relational table populated by {@code data.sql}.
+     *
+     * @param seed supplies the initial todos for an empty journal
+     */
+    public void recover(Supplier<List<TodoEntity>> seed) {
+        lock.writeLock().lock();
+        try {
+            journal.recover().values().forEach(this::index);
+            if (primary.isEmpty()) {
+                for (TodoEntity entity : seed.get()) {
+                    journal.put(entity);
+                    index(TodoRecords.copy(entity));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current state and drops the log entries it supersedes.
+     */
+    @Scheduled(fixedDelayString = "${todo.memory.snapshot-interval:PT5M}", initialDelayString = "${todo.memory.snapshot-interval:PT5M}")
+    public void snapshot() {
+        if (!snapshotLock.tryLock()) return;
+        try {
+            long generation;
+            List<TodoEntity> state;
+            lock.writeLock().lock();
+            try {
+                generation = journal.rotate();
+                state = new ArrayList<>(primary.values());
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // stored entities are never mutated in place, so the captured state can be written without the lock
+            journal.writeSnapshot(generation, state);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        snapshot();
+        journal.close();
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Queries
+
+    @Override
+    public Optional<TodoEntity> findById(UUID id) {
+        TodoEntity entity = primary.get(id);
+        return (entity == null) ? Optional.empty() : Optional.of(TodoRecords.copy(entity));
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return primary.containsKey(id);
+    }
+
+    @Override
+    public long count() {
+        return primary.size();
+    }
+
+    @Override
+    public List<TodoEntity> findAll() {
+        return findAll(Sort.unsorted());
+    }
+
+    @Override
+    public List<TodoEntity> findAllById(Iterable<UUID> ids) {
+        List<TodoEntity> result = new ArrayList<>();
+        for (UUID id : ids) {
+            findById(id).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public List<TodoEntity> findAll(Sort sort) {
+        lock.readLock().lock();
+        try {
+            return collect(sort, entity -> true, 0, Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<TodoEntity> findAll(Pageable pageable) {
+        return findPage(pageable, entity -> true, true);
+    }
+
+    @Override
+    public Page<TodoEntity> findByTitleContainingIgnoreCase(String q, Pageable pageable) {
+        String needle = q.toLowerCase(Locale.ROOT);
+        return findPage(pageable, entity -> entity.getTitle().toLowerCase(Locale.ROOT).contains(needle), false);
+    }
+
+    /**
+     * Narrows the stored todos after reading them; there is no row format to select columns from. The engine has
+     * no archive, so archived todos are never included.
+     */
+    @Override
+    public Page<TodoProjection> findProjected(Set<TodoField> fields, String q, boolean includeArchived, Pageable pageable) {
+        Page<TodoEntity> page = (q == null || q.isBlank()) ? findAll(pageable) : findByTitleContainingIgnoreCase(q, pageable);
+        return page.map(entity -> TodoProjection.of(entity, fields));
+    }
+
+    @Override
+    public Optional<TodoProjection> findProjectedById(UUID id, Set<TodoField> fields) {
+        TodoEntity entity = primary.get(id);
+        return (entity == null) ? Optional.empty() : Optional.of(TodoProjection.of(entity, fields));
+    }
+
+    /**
+     * Walks the id index; there are no row locks, a chunk is written under the write lock instead.
+     */
+    @Override
+    public List<UUID> lockMatching(Boolean completed, String q, UUID after, int limit) {
+        String needle = (q == null || q.isBlank()) ? null : q.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            List<UUID> result = new ArrayList<>();
+            Iterator<UUID> ids = idIndex.tailIterator(after);
+            while (ids.hasNext() && result.size() < limit) {
+                TodoEntity entity = primary.get(ids.next());
+                if (completed != null && entity.isCompleted() != completed) continue;
+                if (needle != null && !entity.getTitle().toLowerCase(Locale.ROOT).contains(needle)) continue;
+                result.add(entity.getId());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TodoEntity> findByIdGreaterThanOrderById(UUID after, Limit limit) {
+        lock.readLock().lock();
+        try {
+            List<TodoEntity> result = new ArrayList<>();
+            Iterator<UUID> ids = idIndex.tailIterator(after);
+            int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+            while (ids.hasNext() && result.size() < max) {
+                result.add(TodoRecords.copy(primary.get(ids.next())));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TodoEntity> findByChangeSeqGreaterThan(long changeSeq, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            List<TodoEntity> result = new ArrayList<>();
+            Iterator<UUID> ids = changeSeqIndex.tailIterator(changeSeq);
+            int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+            while (ids.hasNext() && result.size() < limit) {
+                result.add(TodoRecords.copy(primary.get(ids.next())));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long findMaxChangeSeq() {
+        lock.readLock().lock();
+        try {
+            return changeSeqIndex.lastKey(0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Mutations
+
+    @Override
+    public <S extends TodoEntity> S save(S entity) {
+        if (entity.getId() == null) {
+            entity.setId(idStrategy.nextId());
+        }
+
+        TodoEntity stored = TodoRecords.copy(entity);
+        lock.writeLock().lock();
+        try {
+            journal.put(stored);
+            unindex(primary.get(stored.getId()));
+            index(stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return entity;
+    }
+
+    @Override
+    public int toggleCompleted(UUID id, Set<Long> acceptedChangeSeqs, long changeSeq, Instant now) {
+        lock.writeLock().lock();
+        try {
+            TodoEntity existing = primary.get(id);
+            if (existing == null || (acceptedChangeSeqs != null && !acceptedChangeSeqs.contains(existing.getChangeSeq()))) return 0;
+
+            TodoEntity toggled = TodoRecords.copy(existing);
+            toggled.setCompleted(!existing.isCompleted());
+            toggled.setCompletedAt(existing.isCompleted() ? null : now);
+            toggled.setChangeSeq(changeSeq);
+            journal.put(toggled);
+            unindex(existing);
+            index(toggled);
+            return 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int compareAndSet(TodoEntity todo, long expectedChangeSeq) {
+        TodoEntity stored = TodoRecords.copy(todo);
+        lock.writeLock().lock();
+        try {
+            TodoEntity existing = primary.get(stored.getId());
+            if (existing == null || existing.getChangeSeq() != expectedChangeSeq) return 0;
+
+            journal.put(stored);
+            unindex(existing);
+            index(stored);
+            return 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int bulkPatch(List<UUID> ids, String title, Boolean completed, long changeSeqOffset, Instant now) {
+        lock.writeLock().lock();
+        try {
+            int patched = 0;
+            for (UUID id : ids.stream().sorted(ID_ORDER).toList()) {
+                TodoEntity existing = primary.get(id);
+                if (existing == null) continue;
+
+                TodoEntity updated = TodoRecords.copy(existing);
+                if (title != null) updated.setTitle(title);
+                if (completed != null && completed != existing.isCompleted()) {
+                    updated.setCompleted(completed);
+                    updated.setCompletedAt(completed ? now : null);
+                }
+                // the rank among the patched ids, like the correlated count of the relational engine
+                updated.setChangeSeq(changeSeqOffset + ++patched);
+                journal.put(updated);
+                unindex(existing);
+                index(updated);
+            }
+            return patched;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int bulkDelete(List<UUID> ids) {
+        lock.writeLock().lock();
+        try {
+            int deleted = 0;
+            for (UUID id : ids) {
+                TodoEntity existing = primary.get(id);
+                if (existing == null) continue;
+                journal.delete(id);
+                unindex(existing);
+                deleted++;
+            }
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int insertAll(List<TodoEntity> todos) {
+        List<TodoEntity> stored = todos.stream().map(TodoRecords::copy).toList();
+        lock.writeLock().lock();
+        try {
+            for (TodoEntity todo : stored) {
+                journal.put(todo);
+                unindex(primary.get(todo.getId()));
+                index(todo);
+            }
+            return stored.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <S extends TodoEntity> List<S> saveAll(Iterable<S> entities) {
+        List<S> result = new ArrayList<>();
+        for (S entity : entities) {
+            result.add(save(entity));
+        }
+        return result;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        lock.writeLock().lock();
+        try {
+            TodoEntity existing = primary.get(id);
+            if (existing == null) return;
+            journal.delete(id);
+            unindex(existing);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(TodoEntity entity) {
+        if (entity.getId() != null) deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends UUID> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends TodoEntity> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        lock.writeLock().lock();
+        try {
+            for (UUID id : new ArrayList<>(primary.keySet())) {
+                journal.delete(id);
+            }
+            primary.clear();
+            idIndex.clear();
+            titleIndex.clear();
+            completedIndex.clear();
+            changeSeqIndex.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Internals
+
+    private void index(TodoEntity entity) {
+        primary.put(entity.getId(), entity);
+        idIndex.add(entity.getId(), entity.getId());
+        titleIndex.add(entity.getTitle().toLowerCase(Locale.ROOT), entity.getId());
+        completedIndex.add(entity.isCompleted(), entity.getId());
+        changeSeqIndex.add(entity.getChangeSeq(), entity.getId());
+    }
+
+    private void unindex(TodoEntity entity) {
+        if (entity == null) return;
+        primary.remove(entity.getId());
+        idIndex.remove(entity.getId(), entity.getId());
+        titleIndex.remove(entity.getTitle().toLowerCase(Locale.ROOT), entity.getId());
+        completedIndex.remove(entity.isCompleted(), entity.getId());
+        changeSeqIndex.remove(entity.getChangeSeq(), entity.getId());
+    }
+
+    private Page<TodoEntity> findPage(Pageable pageable, Predicate<TodoEntity> filter, boolean unfiltered) {
+        lock.readLock().lock();
+        try {
+            if (pageable.isUnpaged()) {
+                List<TodoEntity> all = collect(pageable.getSort(), filter, 0, Integer.MAX_VALUE);
+                return new PageImpl<>(all, pageable, all.size());
+            }
+
+            long offset = pageable.getOffset();
+            int size = pageable.getPageSize();
+            List<TodoEntity> content = collect(pageable.getSort(), filter, offset, size);
+            long total = unfiltered ? primary.size() : count(filter);
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long count(Predicate<TodoEntity> filter) {
+        return primary.values().stream().filter(filter).count();
+    }
+
+    /**
+     * Collects a window of matching todos in sort order. Sorts that a secondary index can answer are served by
+     * walking the index; any other sort falls back to sorting all matches.
+     */
+    private List<TodoEntity> collect(Sort sort, Predicate<TodoEntity> filter, long offset, int limit) {
+        Iterator<UUID> ids = indexIterator(sort);
+        if (ids == null) {
+            return primary.values().stream()
+                    .filter(filter)
+                    .sorted(TodoOrder.of(sort))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(TodoRecords::copy)
+                    .toList();
+        }
+
+        List<TodoEntity> result = new ArrayList<>(Math.min(limit, primary.size()));
+        long skipped = 0;
+        while (ids.hasNext() && result.size() < limit) {
+            TodoEntity entity = primary.get(ids.next());
+            if (!filter.test(entity)) continue;
+            if (skipped++ < offset) continue;
+            result.add(TodoRecords.copy(entity));
+        }
+        return result;
+    }
+
+    /**
+     * Returns an index iterator producing the given order, or {@code null} if no index matches. Supported are a
+     * single order on {@code id}, or an order on {@code title} (ignoring case), {@code completed} or {@code id}
+     * optionally followed by {@code id} ascending.
+     */
+    private Iterator<UUID> indexIterator(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) return idIndex.iterator(false);
+        if (orders.size() > 2) return null;
+        if (orders.size() == 2 && !(orders.get(1).getProperty().equals("id") && orders.get(1).isAscending())) return null;
+
+        Sort.Order order = orders.getFirst();
+        boolean descending = order.isDescending();
+        return switch (order.getProperty()) {
+            case "id" -> idIndex.iterator(descending);
+            case "title" -> order.isIgnoreCase() ? titleIndex.iterator(descending) : null;
+            case "completed" -> completedIndex.iterator(descending);
+            default -> null;
+        };
+    }
+}
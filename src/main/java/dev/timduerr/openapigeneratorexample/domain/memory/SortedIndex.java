@@ -0,0 +1,72 @@
+package dev.timduerr.openapigeneratorexample.domain.memory;
+
+import java.util.*;
+
+/**
+ * SortedIndex.
+ *
+ * <p>Secondary index mapping a sort key to the ids of the todos carrying it. Ids sharing a key are kept in
+ * ascending id order, which matches the {@code id} tie-breaker appended to every list query.
+ *
+ * <p>Instances are not thread-safe; the owning repository guards them with its lock.
+ *
+ * @param <K> the type of the sort key
+ * @author Tim Dürr
+ * @version 1.0
+ */
+final class SortedIndex<K> {
+
+    private final NavigableMap<K, NavigableSet<UUID>> buckets;
+    private final Comparator<UUID> idOrder;
+
+    SortedIndex(Comparator<? super K> keyOrder, Comparator<UUID> idOrder) {
+        this.buckets = new TreeMap<>(keyOrder);
+        this.idOrder = idOrder;
+    }
+
+    void add(K key, UUID id) {
+        buckets.computeIfAbsent(key, k -> new TreeSet<>(idOrder)).add(id);
+    }
+
+    void remove(K key, UUID id) {
+        NavigableSet<UUID> ids = buckets.get(key);
+        if (ids == null) return;
+        ids.remove(id);
+        if (ids.isEmpty()) buckets.remove(key);
+    }
+
+    void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * Iterates all ids ordered by key in the given direction and by ascending id within a key.
+     *
+     * @param descending whether the keys are visited in descending order
+     * @return an iterator over the indexed ids
+     */
+    Iterator<UUID> iterator(boolean descending) {
+        NavigableMap<K, NavigableSet<UUID>> ordered = descending ? buckets.descendingMap() : buckets;
+        return ordered.values().stream().flatMap(Collection::stream).iterator();
+    }
+
+    /**
+     * Iterates the ids of all keys strictly greater than the given key in ascending order.
+     *
+     * @param key the exclusive lower bound
+     * @return an iterator over the indexed ids
+     */
+    Iterator<UUID> tailIterator(K key) {
+        return buckets.tailMap(key, false).values().stream().flatMap(Collection::stream).iterator();
+    }
+
+    /**
+     * Returns the greatest indexed key.
+     *
+     * @param fallback the value returned if the index is empty
+     * @return the greatest key, or the fallback
+     */
+    K lastKey(K fallback) {
+        return buckets.isEmpty() ? fallback : buckets.lastKey();
+    }
+}
@@ -0,0 +1,226 @@
+package dev.timduerr.openapigeneratorexample.domain.memory;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * TodoJournal.
+ *
+ * <p>Durable storage of the in-memory engine, organized in generations. Generation {@code n} consists of an
+ * optional {@code snapshot-n.bin} holding the complete state at the start of the generation and a
+ * {@code wal-n.log} holding every mutation after it. Snapshots are written to a temporary file and
+ * atomically renamed, so a snapshot with its final name is always complete.
+ *
+ * <p>Recovery loads the newest snapshot and replays the logs of that and all later generations in order.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+final class TodoJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoJournal.class);
+
+    private static final Pattern WAL_FILE = Pattern.compile("wal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.bin");
+    private static final int SNAPSHOT_MAGIC = 0x54_4F_44_4F; // "TODO"
+
+    private final Path directory;
+    private final int chunkSize;
+    private final boolean syncOnWrite;
+    private WriteAheadLog wal;
+    private long generation;
+
+    TodoJournal(Path directory, int chunkSize, boolean syncOnWrite) {
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    /**
+     * Restores the state from the newest snapshot and all subsequent logs, then opens a new log for appending.
+     *
+     * @return the recovered todos keyed by id
+     */
+    Map<UUID, TodoEntity> recover() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal directory " + directory, e);
+        }
+
+        Map<UUID, TodoEntity> state = new HashMap<>();
+        long snapshotGeneration = latestGeneration(SNAPSHOT_FILE).orElse(0L);
+        if (snapshotGeneration > 0) {
+            readSnapshot(snapshotFile(snapshotGeneration)).forEach(entity -> state.put(entity.getId(), entity));
+        }
+
+        List<Long> walGenerations = generations(WAL_FILE).stream()
+                .filter(gen -> gen >= snapshotGeneration)
+                .sorted()
+                .toList();
+
+        for (long gen : walGenerations) {
+            WriteAheadLog.replay(walFile(gen), (type, payload) -> {
+                if (type == WriteAheadLog.PUT) {
+                    TodoEntity entity = TodoRecords.decode(payload);
+                    state.put(entity.getId(), entity);
+                } else {
+                    state.remove(TodoRecords.getId(payload));
+                }
+            });
+        }
+
+        log.info("Recovered {} todos from snapshot generation {} and {} log(s) in {}",
+                state.size(), snapshotGeneration, walGenerations.size(), directory);
+
+        // always append to a fresh log, so that new records never follow the torn tail of a replayed one
+        long lastGeneration = walGenerations.isEmpty() ? snapshotGeneration : walGenerations.getLast();
+        this.generation = Math.max(snapshotGeneration, lastGeneration) + 1;
+        this.wal = new WriteAheadLog(walFile(generation), chunkSize, syncOnWrite, 0);
+        return state;
+    }
+
+    void put(TodoEntity entity) {
+        wal.append(WriteAheadLog.PUT, TodoRecords.encode(entity));
+    }
+
+    void delete(UUID id) {
+        wal.append(WriteAheadLog.DELETE, TodoRecords.encodeId(id));
+    }
+
+    /**
+     * Closes the current log and starts a new generation. Must be called while no mutations are appended,
+     * together with capturing the state that is passed to {@link #writeSnapshot(long, Collection)}.
+     *
+     * @return the new generation, whose snapshot has to contain the state at the time of rotation
+     */
+    long rotate() {
+        wal.close();
+        generation++;
+        wal = new WriteAheadLog(walFile(generation), chunkSize, syncOnWrite, 0);
+        return generation;
+    }
+
+    /**
+     * Writes the snapshot of a generation and deletes the files of all older generations.
+     *
+     * @param snapshotGeneration the generation returned by {@link #rotate()}
+     * @param todos the state at the time of rotation
+     */
+    void writeSnapshot(long snapshotGeneration, Collection<TodoEntity> todos) {
+        Path target = snapshotFile(snapshotGeneration);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            CRC32C crc = new CRC32C();
+            try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(todos.size());
+                for (TodoEntity entity : todos) {
+                    byte[] record = TodoRecords.encode(entity);
+                    out.writeInt(record.length);
+                    out.write(record);
+                }
+            }
+
+            // the checksum covers everything before it and is appended outside the checked stream
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, crc.getValue()));
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write snapshot " + target, e);
+        }
+
+        deleteGenerationsBefore(snapshotGeneration);
+        log.debug("Wrote snapshot generation {} with {} todos", snapshotGeneration, todos.size());
+    }
+
+    @Override
+    public void close() {
+        if (wal != null) wal.close();
+    }
+
+    private List<TodoEntity> readSnapshot(Path file) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() < Long.BYTES) {
+                throw new IllegalStateException("Snapshot " + file + " is truncated");
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(0, buffer.limit() - Long.BYTES));
+            if (crc.getValue() != buffer.getLong(buffer.limit() - Long.BYTES) || buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IllegalStateException("Snapshot " + file + " is corrupt");
+            }
+
+            int count = buffer.getInt();
+            List<TodoEntity> todos = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = buffer.getInt();
+                todos.add(TodoRecords.decode(buffer.slice(buffer.position(), length)));
+                buffer.position(buffer.position() + length);
+            }
+            return todos;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read snapshot " + file, e);
+        }
+    }
+
+    private void deleteGenerationsBefore(long keepGeneration) {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                OptionalLong gen = generationOf(file, WAL_FILE);
+                if (gen.isEmpty()) gen = generationOf(file, SNAPSHOT_FILE);
+                if (gen.isPresent() && gen.getAsLong() < keepGeneration) Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete old journal generations in " + directory, e);
+        }
+    }
+
+    private Optional<Long> latestGeneration(Pattern pattern) {
+        return generations(pattern).stream().max(Long::compare);
+    }
+
+    private List<Long> generations(Pattern pattern) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> generationOf(file, pattern))
+                    .filter(OptionalLong::isPresent)
+                    .map(OptionalLong::getAsLong)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list journal directory " + directory, e);
+        }
+    }
+
+    private static OptionalLong generationOf(Path file, Pattern pattern) {
+        Matcher matcher = pattern.matcher(file.getFileName().toString());
+        return matcher.matches() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+    }
+
+    private Path walFile(long gen) {
+        return directory.resolve("wal-" + gen + ".log");
+    }
+
+    private Path snapshotFile(long gen) {
+        return directory.resolve("snapshot-" + gen + ".bin");
+    }
+}
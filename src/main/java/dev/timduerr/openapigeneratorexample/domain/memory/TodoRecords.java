@@ -0,0 +1,89 @@
+package dev.timduerr.openapigeneratorexample.domain.memory;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * TodoRecords.
+ *
+ * <p>Binary encoding of todos shared by the write-ahead log and the snapshot files.
+ * A todo is encoded as {@code id (16 bytes) | changeSeq (8) | completed (1) | title length (4) | title (UTF-8)}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+final class TodoRecords {
+
+    static final int ID_BYTES = 16;
+
+    private TodoRecords() {
+    }
+
+    /**
+     * Encodes a todo into a new byte array.
+     *
+     * @param entity the todo to encode
+     * @return the encoded todo
+     */
+    static byte[] encode(TodoEntity entity) {
+        byte[] title = entity.getTitle().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(ID_BYTES + Long.BYTES + 1 + Integer.BYTES + title.length);
+        putId(buffer, entity.getId());
+        buffer.putLong(entity.getChangeSeq());
+        buffer.put((byte) (entity.isCompleted() ? 1 : 0));
+        buffer.putInt(title.length);
+        buffer.put(title);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a todo from the current position of the buffer.
+     *
+     * @param buffer the buffer positioned at an encoded todo
+     * @return the decoded todo
+     */
+    static TodoEntity decode(ByteBuffer buffer) {
+        TodoEntity entity = new TodoEntity();
+        entity.setId(getId(buffer));
+        entity.setChangeSeq(buffer.getLong());
+        entity.setCompleted(buffer.get() != 0);
+        byte[] title = new byte[buffer.getInt()];
+        buffer.get(title);
+        entity.setTitle(new String(title, StandardCharsets.UTF_8));
+        return entity;
+    }
+
+    static byte[] encodeId(UUID id) {
+        ByteBuffer buffer = ByteBuffer.allocate(ID_BYTES);
+        putId(buffer, id);
+        return buffer.array();
+    }
+
+    static void putId(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    static UUID getId(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Creates a detached copy of a todo, so that stored state is never shared with callers.
+     *
+     * @param entity the todo to copy
+     * @return a new instance with the same field values
+     */
+    static TodoEntity copy(TodoEntity entity) {
+        TodoEntity copy = new TodoEntity();
+        copy.setId(entity.getId());
+        copy.setTitle(entity.getTitle());
+        copy.setCompleted(entity.isCompleted());
+        copy.setChangeSeq(entity.getChangeSeq());
+        copy.setCompletedAt(entity.getCompletedAt());
+        return copy;
+    }
+}
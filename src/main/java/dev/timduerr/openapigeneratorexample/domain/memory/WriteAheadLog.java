@@ -0,0 +1,153 @@
+package dev.timduerr.openapigeneratorexample.domain.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * WriteAheadLog.
+ *
+ * <p>Append-only log of todo mutations written through a memory-mapped file. The file is mapped and grown
+ * in fixed-size chunks; unused space stays zero-filled. Each record is laid out as
+ * {@code type (1 byte) | payload length (4) | payload | CRC32C of type and payload (4)}. Replay stops at the
+ * first zero type byte or checksum mismatch, which discards a record torn by a crash.
+ *
+ * <p>Instances are not thread-safe; callers serialize appends.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+final class WriteAheadLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final int HEADER_BYTES = 1 + Integer.BYTES;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+
+    private final Path file;
+    private final int chunkSize;
+    private final boolean syncOnWrite;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long mappedOffset;
+
+    /**
+     * Opens the log for appending at the given position.
+     *
+     * @param file the log file, created if it does not exist
+     * @param chunkSize the number of bytes mapped (and pre-allocated) at once
+     * @param syncOnWrite whether every append is forced to the storage device
+     * @param position the byte offset at which the next record is appended
+     */
+    WriteAheadLog(Path file, int chunkSize, boolean syncOnWrite, long position) {
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.syncOnWrite = syncOnWrite;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open write-ahead log " + file, e);
+        }
+        map(position, chunkSize);
+    }
+
+    Path file() {
+        return file;
+    }
+
+    /**
+     * Appends a record of the given type.
+     *
+     * @param type the record type, {@link #PUT} or {@link #DELETE}
+     * @param payload the encoded record payload
+     */
+    void append(byte type, byte[] payload) {
+        int recordLength = HEADER_BYTES + payload.length + TRAILER_BYTES;
+        if (buffer.remaining() < recordLength) {
+            buffer.force();
+            map(mappedOffset + buffer.position(), Math.max(chunkSize, recordLength));
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+
+        buffer.put(type)
+                .putInt(payload.length)
+                .put(payload)
+                .putInt((int) crc.getValue());
+
+        if (syncOnWrite) buffer.force();
+    }
+
+    /**
+     * Forces all appended records to the storage device.
+     */
+    void sync() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close write-ahead log " + file, e);
+        }
+    }
+
+    private void map(long offset, int size) {
+        try {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, offset, size);
+            this.mappedOffset = offset;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map write-ahead log " + file, e);
+        }
+    }
+
+    /**
+     * Replays all intact records of a log file in append order.
+     *
+     * @param file the log file to replay
+     * @param consumer receives the type and payload of each record
+     * @return the byte offset directly after the last intact record
+     */
+    static long replay(Path file, BiConsumer<Byte, ByteBuffer> consumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            while (buffer.remaining() >= HEADER_BYTES + TRAILER_BYTES) {
+                int start = buffer.position();
+                byte type = buffer.get();
+                int length = buffer.getInt();
+                if ((type != PUT && type != DELETE) || length < 0 || buffer.remaining() < length + TRAILER_BYTES) {
+                    return start;
+                }
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+
+                CRC32C crc = new CRC32C();
+                crc.update(type);
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != buffer.getInt()) {
+                    return start;
+                }
+
+                consumer.accept(type, payload);
+            }
+            return buffer.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay write-ahead log " + file, e);
+        }
+    }
+}
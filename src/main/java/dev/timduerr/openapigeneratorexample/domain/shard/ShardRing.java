@@ -0,0 +1,81 @@
+package dev.timduerr.openapigeneratorexample.domain.shard;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * ShardRing.
+ *
+ * <p>Consistent hash ring assigning todo ids to shards. Every shard owns {@code virtualNodes} points on a 64-bit
+ * ring, an id belongs to the shard owning the first point at or after the id's hash. The points of a shard do not
+ * depend on the number of shards, so adding a shard only moves the ids that fall onto its points, about
+ * {@code 1 / shards} of all ids.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public final class ShardRing {
+
+    private final int shards;
+    private final long[] points;
+    private final int[] owners;
+
+    /**
+     * @param shards the number of shards
+     * @param virtualNodes the number of points per shard, more points spread the ids more evenly
+     */
+    public ShardRing(int shards, int virtualNodes) {
+        if (shards < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("Expected at least one shard and one virtual node");
+        }
+
+        long[][] ring = new long[shards * virtualNodes][];
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring[shard * virtualNodes + node] = new long[]{mix(((long) shard << 32 | node) ^ 0x9e3779b97f4a7c15L), shard};
+            }
+        }
+        Arrays.sort(ring, Comparator.comparingLong(point -> point[0]));
+
+        this.shards = shards;
+        this.points = new long[ring.length];
+        this.owners = new int[ring.length];
+        for (int i = 0; i < ring.length; i++) {
+            points[i] = ring[i][0];
+            owners[i] = (int) ring[i][1];
+        }
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    /**
+     * Returns the shard owning an id.
+     *
+     * @param id the id of the todo
+     * @return the index of the shard, from {@code 0} to {@code shards() - 1}
+     */
+    public int shardOf(UUID id) {
+        int index = Arrays.binarySearch(points, hash(id));
+        if (index < 0) index = -index - 1;
+        return owners[index == points.length ? 0 : index];
+    }
+
+    private static long hash(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3, spreading the time-ordered bits of UUIDv7 ids over the whole ring.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,392 @@
+package dev.timduerr.openapigeneratorexample.domain.shard;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoField;
+import dev.timduerr.openapigeneratorexample.domain.TodoOrder;
+import dev.timduerr.openapigeneratorexample.domain.TodoProjection;
+import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
+import dev.timduerr.openapigeneratorexample.domain.id.TodoIdStrategy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static dev.timduerr.openapigeneratorexample.domain.TodoOrder.ID_ORDER;
+
+/**
+ * ShardedTodoRepository.
+ *
+ * <p>{@link TodoRepository} engine of the {@code sharded} profile that spreads the todos over several databases,
+ * placing each todo on the shard the {@link ShardRing} assigns to its id. Reads and writes of a single todo go to
+ * its shard only. Listings run as scatter-gather: every shard is asked in parallel for the first
+ * {@code (page + 1) * size} matches in the requested order, the answers are merged and the page is cut from the
+ * merged order; the total is the sum of the shards' totals. Deep pages therefore cost more rows per shard than
+ * shallow ones.
+ *
+ * <p>Every call to a shard runs in a transaction of that shard, so a call spanning shards is not atomic, and the
+ * row locks of {@link #lockMatching} end with the call. The tombstones and the archive stay in the application's
+ * database.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class ShardedTodoRepository implements TodoRepository, Closeable {
+
+    private final List<TodoShard> shards;
+    private final ShardRing ring;
+    private final Executor fanOut;
+    private final TodoIdStrategy idStrategy;
+
+    /**
+     * @param shards the shards, in ring order
+     * @param virtualNodes the number of ring points per shard
+     * @param fanOut runs the calls of a scatter-gather in parallel
+     * @param idStrategy the strategy generating ids of new todos, which decide their shard
+     */
+    public ShardedTodoRepository(List<TodoShard> shards, int virtualNodes, Executor fanOut, TodoIdStrategy idStrategy) {
+        this.shards = List.copyOf(shards);
+        this.ring = new ShardRing(shards.size(), virtualNodes);
+        this.fanOut = fanOut;
+        this.idStrategy = idStrategy;
+    }
+
+    /**
+     * Distributes the todos provided by the seed over the shards, unless the shards already hold todos, e.g. rows
+     * of the relational table populated by {@code data.sql}.
+     *
+     * @param seed supplies the initial todos
+     */
+    public void seed(Supplier<List<TodoEntity>> seed) {
+        if (count() > 0) return;
+        byShard(seed.get(), TodoEntity::getId).forEach(TodoShard::insert);
+    }
+
+    public List<TodoShard> getShards() {
+        return shards;
+    }
+
+    /**
+     * Returns the shard a todo is placed on.
+     *
+     * @param id the id of the todo
+     * @return the shard
+     */
+    public TodoShard shardOf(UUID id) {
+        return shards.get(ring.shardOf(id));
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(TodoShard::close);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Queries
+
+    @Override
+    public Optional<TodoEntity> findById(UUID id) {
+        return shardOf(id).read(repository -> repository.findById(id));
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return shardOf(id).read(repository -> repository.existsById(id));
+    }
+
+    @Override
+    public long count() {
+        return gather(shards, shard -> shard.read(TodoRepository::count)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public List<TodoEntity> findAll() {
+        return gather(shards, shard -> shard.read(TodoRepository::findAll)).stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public List<TodoEntity> findAllById(Iterable<UUID> ids) {
+        Map<TodoShard, List<UUID>> idsByShard = byShard(ids, Function.identity());
+        return gather(idsByShard.keySet(), shard -> shard.read(repository -> repository.findAllById(idsByShard.get(shard))))
+                .stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public List<TodoEntity> findAll(Sort sort) {
+        return merge(gather(shards, shard -> shard.read(repository -> repository.findAll(sort))),
+                TodoOrder.of(sort), 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Page<TodoEntity> findAll(Pageable pageable) {
+        return scatterGather(pageable, (repository, window) -> repository.findAll(window));
+    }
+
+    @Override
+    public Page<TodoEntity> findByTitleContainingIgnoreCase(String q, Pageable pageable) {
+        return scatterGather(pageable, (repository, window) -> repository.findByTitleContainingIgnoreCase(q, window));
+    }
+
+    /**
+     * Narrows the todos after merging them; the order may refer to fields that are not selected, and the shards'
+     * answers can only be merged by it. The archive is not sharded, so archived todos are never included.
+     */
+    @Override
+    public Page<TodoProjection> findProjected(Set<TodoField> fields, String q, boolean includeArchived, Pageable pageable) {
+        Page<TodoEntity> page = (q == null || q.isBlank()) ? findAll(pageable) : findByTitleContainingIgnoreCase(q, pageable);
+        return page.map(entity -> TodoProjection.of(entity, fields));
+    }
+
+    @Override
+    public Optional<TodoProjection> findProjectedById(UUID id, Set<TodoField> fields) {
+        return shardOf(id).read(repository -> repository.findProjectedById(id, fields));
+    }
+
+    @Override
+    public List<UUID> lockMatching(Boolean completed, String q, UUID after, int limit) {
+        return merge(gather(shards, shard -> shard.write(repository -> repository.lockMatching(completed, q, after, limit))),
+                ID_ORDER, 0, limit);
+    }
+
+    @Override
+    public List<TodoEntity> findByIdGreaterThanOrderById(UUID after, Limit limit) {
+        return merge(gather(shards, shard -> shard.read(repository -> repository.findByIdGreaterThanOrderById(after, limit))),
+                Comparator.comparing(TodoEntity::getId, ID_ORDER), 0, limit.isLimited() ? limit.max() : Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<TodoEntity> findByChangeSeqGreaterThan(long changeSeq, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return merge(gather(shards, shard -> shard.read(repository -> repository.findByChangeSeqGreaterThan(changeSeq, pageable))),
+                    TodoOrder.of(pageable.getSort()), 0, Integer.MAX_VALUE);
+        }
+
+        Pageable window = window(pageable);
+        return merge(gather(shards, shard -> shard.read(repository -> repository.findByChangeSeqGreaterThan(changeSeq, window))),
+                TodoOrder.of(pageable.getSort()), pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public long findMaxChangeSeq() {
+        return gather(shards, shard -> shard.read(TodoRepository::findMaxChangeSeq)).stream()
+                .mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Mutations
+
+    /**
+     * Generates the id of a new todo before it is written, as the id decides the shard.
+     */
+    @Override
+    public <S extends TodoEntity> S save(S entity) {
+        if (entity.getId() == null) {
+            entity.setId(idStrategy.nextId());
+            shardOf(entity.getId()).insert(List.of(entity));
+            return entity;
+        }
+        return shardOf(entity.getId()).write(repository -> repository.save(entity));
+    }
+
+    @Override
+    public <S extends TodoEntity> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public int toggleCompleted(UUID id, Set<Long> acceptedChangeSeqs, long changeSeq, Instant now) {
+        return shardOf(id).write(repository -> repository.toggleCompleted(id, acceptedChangeSeqs, changeSeq, now));
+    }
+
+    @Override
+    public int compareAndSet(TodoEntity todo, long expectedChangeSeq) {
+        return shardOf(todo.getId()).write(repository -> repository.compareAndSet(todo, expectedChangeSeq));
+    }
+
+    /**
+     * Hands each shard a consecutive block of the reserved change tokens, in the order of the shards. The todos
+     * still get a token of their own, but only the todos of one shard get them in id order.
+     */
+    @Override
+    public int bulkPatch(List<UUID> ids, String title, Boolean completed, long changeSeqOffset, Instant now) {
+        Map<TodoShard, List<UUID>> idsByShard = byShard(ids.stream().sorted(ID_ORDER).toList(), Function.identity());
+        Map<TodoShard, Long> offsets = new LinkedHashMap<>();
+        long offset = changeSeqOffset;
+        for (Map.Entry<TodoShard, List<UUID>> entry : idsByShard.entrySet()) {
+            offsets.put(entry.getKey(), offset);
+            offset += entry.getValue().size();
+        }
+
+        return gather(idsByShard.keySet(), shard -> shard.write(repository -> repository.bulkPatch(
+                idsByShard.get(shard), title, completed, offsets.get(shard), now))).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public int insertAll(List<TodoEntity> todos) {
+        Map<TodoShard, List<TodoEntity>> todosByShard = byShard(todos, TodoEntity::getId);
+        return gather(todosByShard.keySet(), shard -> shard.write(repository -> repository.insertAll(todosByShard.get(shard))))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public int bulkDelete(List<UUID> ids) {
+        Map<TodoShard, List<UUID>> idsByShard = byShard(ids, Function.identity());
+        return gather(idsByShard.keySet(), shard -> shard.write(repository -> repository.bulkDelete(idsByShard.get(shard))))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        shardOf(id).write(repository -> {
+            repository.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(TodoEntity entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends UUID> ids) {
+        Map<TodoShard, List<UUID>> idsByShard = byShard(ids, Function.identity());
+        gather(idsByShard.keySet(), shard -> shard.write(repository -> {
+            repository.deleteAllById(idsByShard.get(shard));
+            return null;
+        }));
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends TodoEntity> entities) {
+        List<UUID> ids = new ArrayList<>();
+        entities.forEach(entity -> ids.add(entity.getId()));
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAll() {
+        gather(shards, shard -> shard.write(repository -> {
+            repository.deleteAll();
+            return null;
+        }));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Internals
+
+    private Page<TodoEntity> scatterGather(Pageable pageable, BiFunction<TodoRepository, Pageable, Page<TodoEntity>> query) {
+        Pageable window = pageable.isPaged() ? window(pageable) : pageable;
+        List<Page<TodoEntity>> pages = gather(shards, shard -> shard.read(repository -> query.apply(repository, window)));
+
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<TodoEntity> content = merge(pages.stream().map(Page::getContent).toList(), TodoOrder.of(pageable.getSort()),
+                pageable.isPaged() ? pageable.getOffset() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Returns the first page covering every row up to the end of the requested page.
+     */
+    private static Pageable window(Pageable pageable) {
+        return PageRequest.of(0, (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize()),
+                pageable.getSort());
+    }
+
+    /**
+     * Groups values by the shard of their id, keeping their order within each shard. The shards are in ring order.
+     */
+    private <T> Map<TodoShard, List<T>> byShard(Iterable<? extends T> values, Function<T, UUID> id) {
+        Map<Integer, List<T>> byIndex = new TreeMap<>();
+        for (T value : values) {
+            byIndex.computeIfAbsent(ring.shardOf(id.apply(value)), index -> new ArrayList<>()).add(value);
+        }
+
+        Map<TodoShard, List<T>> grouped = new LinkedHashMap<>();
+        byIndex.forEach((index, group) -> grouped.put(shards.get(index), group));
+        return grouped;
+    }
+
+    /**
+     * Calls the shards in parallel and waits for all of them; a single shard is called on the current thread.
+     */
+    private <T> List<T> gather(Collection<TodoShard> targets, Function<TodoShard, T> call) {
+        if (targets.size() == 1) {
+            return Collections.singletonList(call.apply(targets.iterator().next()));
+        }
+
+        List<CompletableFuture<T>> calls = targets.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> call.apply(shard), fanOut))
+                .toList();
+        List<T> results = new ArrayList<>(calls.size());
+        for (CompletableFuture<T> pending : calls) {
+            try {
+                results.add(pending.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Merges lists that are each sorted by the order, skipping the first {@code offset} merged elements.
+     */
+    static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order, long offset, int limit) {
+        PriorityQueue<Cursor<T>> cursors = new PriorityQueue<>((a, b) -> order.compare(a.head, b.head));
+        for (List<T> list : sorted) {
+            Iterator<T> iterator = list.iterator();
+            if (iterator.hasNext()) cursors.add(new Cursor<>(iterator.next(), iterator));
+        }
+
+        List<T> merged = new ArrayList<>();
+        long skipped = 0;
+        while (!cursors.isEmpty() && merged.size() < limit) {
+            Cursor<T> cursor = cursors.poll();
+            if (skipped++ >= offset) merged.add(cursor.head);
+            if (cursor.rest.hasNext()) {
+                cursor.head = cursor.rest.next();
+                cursors.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor<T> {
+
+        private T head;
+        private final Iterator<T> rest;
+
+        private Cursor(T head, Iterator<T> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package dev.timduerr.openapigeneratorexample.domain.shard;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoRepositories;
+import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * TodoShard.
+ *
+ * <p>One database of the {@code sharded} profile: a JPA {@link TodoRepository} on an entity manager factory of
+ * its own, and the transactions every access to it runs in.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public final class TodoShard implements Closeable {
+
+    private final String name;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TodoRepository repository;
+    private final TransactionTemplate readTransactions;
+    private final TransactionTemplate writeTransactions;
+
+    /**
+     * @param name the name of the shard, e.g. for logs
+     * @param dataSource the datasource of the shard
+     * @param entityManagerFactory the entity manager factory on the datasource
+     * @param exceptionTranslator translates persistence exceptions of the shard
+     */
+    public TodoShard(String name, DataSource dataSource, EntityManagerFactory entityManagerFactory,
+                     PersistenceExceptionTranslator exceptionTranslator) {
+        this.name = name;
+        this.entityManagerFactory = entityManagerFactory;
+        this.repository = TodoRepositories.jpa(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory), exceptionTranslator);
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.setDataSource(dataSource);
+        transactionManager.afterPropertiesSet();
+        this.readTransactions = new TransactionTemplate(transactionManager);
+        this.readTransactions.setReadOnly(true);
+        this.writeTransactions = new TransactionTemplate(transactionManager);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Reads from the shard in a read-only transaction.
+     *
+     * @param query the query
+     * @return the result of the query
+     * @param <T> the result type
+     */
+    public <T> T read(Function<TodoRepository, T> query) {
+        return readTransactions.execute(status -> query.apply(repository));
+    }
+
+    /**
+     * Writes to the shard in a transaction.
+     *
+     * @param write the write
+     * @return the result of the write
+     * @param <T> the result type
+     */
+    public <T> T write(Function<TodoRepository, T> write) {
+        return writeTransactions.execute(status -> write.apply(repository));
+    }
+
+    /**
+     * Inserts new todos, which already carry their ids, with a single batch.
+     *
+     * @param todos the todos
+     */
+    public void insert(List<TodoEntity> todos) {
+        if (todos.isEmpty()) return;
+        write(repository -> repository.insertAll(todos));
+    }
+
+    @Override
+    public void close() {
+        entityManagerFactory.close();
+    }
+}
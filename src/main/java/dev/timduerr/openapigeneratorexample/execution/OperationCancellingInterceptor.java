@@ -0,0 +1,38 @@
+package dev.timduerr.openapigeneratorexample.execution;
+
+import jakarta.annotation.Nonnull;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+
+/**
+ * OperationCancellingInterceptor.
+ *
+ * <p>Cancels the {@link RunningOperation} of a request when the container reports an error for it, typically
+ * because the client disconnected, or when the asynchronous request times out. Errors are observed through the
+ * error callback of the {@link DeferredResult}, whose own interceptor ends the error handling before any
+ * registered one is asked.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class OperationCancellingInterceptor implements DeferredResultProcessingInterceptor {
+
+    @Override
+    public <T> boolean handleTimeout(@Nonnull NativeWebRequest request, @Nonnull DeferredResult<T> deferredResult) {
+        cancel(request);
+        return true;
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(@Nonnull NativeWebRequest request, @Nonnull DeferredResult<T> deferredResult) {
+        deferredResult.onError(t -> cancel(request));
+    }
+
+    private static void cancel(NativeWebRequest request) {
+        if (request.getAttribute(RunningOperation.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RunningOperation operation) {
+            operation.cancel();
+        }
+    }
+}
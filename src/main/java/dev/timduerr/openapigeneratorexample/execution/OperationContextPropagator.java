@@ -0,0 +1,65 @@
+package dev.timduerr.openapigeneratorexample.execution;
+
+import dev.timduerr.openapigeneratorexample.observability.ServerTiming;
+import dev.timduerr.openapigeneratorexample.observability.StatementRecorder;
+import dev.timduerr.openapigeneratorexample.observability.StatementStatistics;
+import dev.timduerr.openapigeneratorexample.observability.jfr.TodoFlightRecorder;
+import dev.timduerr.openapigeneratorexample.observability.jfr.TodoOperationEvent;
+import dev.timduerr.openapigeneratorexample.replica.ReadYourWritesTracker;
+import jakarta.annotation.Nonnull;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * OperationContextPropagator.
+ *
+ * <p>Hands the thread-bound state of a request to the thread running its operation: the statement statistics,
+ * the JFR operation event, the server timing and the client whose reads have to go to the primary. Tasks an
+ * operation fans out to further threads, e.g. the shard queries of a scatter-gather, also inherit the operation and
+ * with it its deadline.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class OperationContextPropagator implements TaskDecorator {
+
+    private final StatementRecorder statementRecorder;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    /**
+     * @param statementRecorder the statement recorder, or {@code null} if statements are not monitored
+     * @param readYourWritesTracker the tracker, or {@code null} if reads are not routed to replicas
+     */
+    public OperationContextPropagator(StatementRecorder statementRecorder, ReadYourWritesTracker readYourWritesTracker) {
+        this.statementRecorder = statementRecorder;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    @Nonnull
+    public Runnable decorate(@Nonnull Runnable runnable) {
+        StatementStatistics statistics = (statementRecorder == null) ? null : statementRecorder.current();
+        TodoOperationEvent event = TodoFlightRecorder.current();
+        ServerTiming timing = ServerTiming.current();
+        String clientId = (readYourWritesTracker == null) ? null : readYourWritesTracker.currentClient();
+        RunningOperation operation = RunningOperation.current();
+
+        return () -> {
+            if (statementRecorder != null) statementRecorder.resume(statistics);
+            TodoFlightRecorder.attach(event);
+            ServerTiming.attach(timing);
+            if (readYourWritesTracker != null) readYourWritesTracker.bind(clientId);
+            try {
+                if (operation == null) {
+                    runnable.run();
+                } else {
+                    operation.runAttached(runnable);
+                }
+            } finally {
+                if (statementRecorder != null) statementRecorder.end();
+                TodoFlightRecorder.attach(null);
+                ServerTiming.attach(null);
+                if (readYourWritesTracker != null) readYourWritesTracker.unbind();
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package dev.timduerr.openapigeneratorexample.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * RunningOperation.
+ *
+ * <p>An API operation running on the {@link TodoOperationExecutor}, together with its deadline and the JDBC
+ * statement it is currently executing. Cancelling the operation cancels that statement and fails every statement
+ * the operation would execute afterwards.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public final class RunningOperation {
+
+    /** Request attribute holding the operation started for the request. */
+    public static final String REQUEST_ATTRIBUTE = RunningOperation.class.getName();
+
+    private static final Logger log = LoggerFactory.getLogger(RunningOperation.class);
+
+    private static final ThreadLocal<RunningOperation> CURRENT = new ThreadLocal<>();
+
+    private final String operation;
+    private final long deadline;
+    private volatile Statement statement;
+    private volatile boolean cancelled;
+
+    RunningOperation(String operation, Duration timeout) {
+        this.operation = operation;
+        this.deadline = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Returns the operation running on the current thread.
+     *
+     * @return the operation, or {@code null} outside of the {@link TodoOperationExecutor}
+     */
+    public static RunningOperation current() {
+        return CURRENT.get();
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return the remaining time in nanoseconds, zero or negative once the deadline has passed
+     */
+    public long remainingNanos() {
+        return deadline - System.nanoTime();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels the operation and the statement it is executing, if any.
+     */
+    public void cancel() {
+        cancelled = true;
+        Statement executing = statement;
+        if (executing == null) return;
+
+        try {
+            executing.cancel();
+            log.debug("Cancelled the statement of {}", operation);
+        } catch (SQLException e) {
+            log.debug("Could not cancel the statement of {}: {}", operation, e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the operation on the current thread.
+     *
+     * @param action the operation
+     * @return the result of the operation
+     * @param <T> the result type
+     * @throws QueryTimeoutException if the operation was cancelled or its deadline passed while it was queued
+     */
+    <T> T run(Supplier<T> action) {
+        checkNotCancelled();
+
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Runs a task the operation handed to another thread as part of the operation. Unlike {@link #run(Supplier)},
+     * the task is not rejected up front, its statements fail once the operation is cancelled or past its deadline.
+     *
+     * @param task the task
+     */
+    void runAttached(Runnable task) {
+        CURRENT.set(this);
+        try {
+            task.run();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Registers the statement about to be executed, so that it can be cancelled.
+     *
+     * @param executing the statement
+     * @throws QueryTimeoutException if the operation was cancelled or its deadline has passed
+     */
+    void executing(Statement executing) {
+        statement = executing;
+        checkNotCancelled();
+    }
+
+    void executed() {
+        statement = null;
+    }
+
+    private void checkNotCancelled() {
+        if (cancelled) {
+            throw new QueryTimeoutException(operation + " was cancelled");
+        }
+        if (remainingNanos() <= 0) {
+            throw new QueryTimeoutException("Deadline of " + operation + " exceeded");
+        }
+    }
+}
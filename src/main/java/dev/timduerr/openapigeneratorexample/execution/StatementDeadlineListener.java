@@ -0,0 +1,46 @@
+package dev.timduerr.openapigeneratorexample.execution;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StatementDeadlineListener.
+ *
+ * <p>Datasource-proxy listener that derives the JDBC query timeout of every statement from the deadline of the
+ * {@link RunningOperation} executing it, and registers the statement with the operation so that it can be
+ * cancelled while it runs.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class StatementDeadlineListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RunningOperation operation = RunningOperation.current();
+        Statement statement = execInfo.getStatement();
+        if (operation == null || statement == null) return;
+
+        operation.executing(statement);
+
+        // JDBC timeouts have a resolution of seconds, the operation's own deadline cancels earlier if needed
+        long remainingSeconds = TimeUnit.NANOSECONDS.toSeconds(operation.remainingNanos() + 999_999_999);
+        try {
+            statement.setQueryTimeout(Math.clamp(remainingSeconds, 1, Integer.MAX_VALUE));
+        } catch (SQLException ignored) {
+            // the deadline still cancels the statement
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RunningOperation operation = RunningOperation.current();
+        if (operation != null) operation.executed();
+    }
+}
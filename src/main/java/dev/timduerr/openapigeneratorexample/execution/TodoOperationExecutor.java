@@ -0,0 +1,90 @@
+package dev.timduerr.openapigeneratorexample.execution;
+
+import dev.timduerr.openapigeneratorexample.config.AsyncProperties;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * TodoOperationExecutor.
+ *
+ * <p>Runs the blocking API operations on a bounded thread pool, so that servlet threads are released while
+ * the database works. Each operation gets a deadline from {@link AsyncProperties#timeout(String)}; once it
+ * passes, the in-flight statement is cancelled and the request fails with {@code 503 Service Unavailable}. The
+ * same applies if the pool and its queue are full.
+ *
+ * <p>The operation is stored as request attribute {@link RunningOperation#REQUEST_ATTRIBUTE}, so that it can be
+ * cancelled when the client disconnects.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class TodoOperationExecutor {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final AsyncProperties properties;
+
+    public TodoOperationExecutor(ThreadPoolTaskExecutor executor, AsyncProperties properties) {
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * Submits an operation.
+     *
+     * @param operation the operationId, selecting the deadline
+     * @param action the blocking operation
+     * @return the result of the operation, failed with a {@link ResponseStatusException} if it could not complete
+     *         within its deadline
+     * @param <T> the result type
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> action) {
+        Duration timeout = properties.timeout(operation);
+        RunningOperation running = new RunningOperation(operation, timeout);
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(RunningOperation.REQUEST_ATTRIBUTE, running, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> running.run(action), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many operations in progress", e));
+        }
+
+        return future
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .handle((result, error) -> {
+                    if (error == null) return result;
+
+                    Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+                    if (cause instanceof TimeoutException || cause instanceof QueryTimeoutException) {
+                        running.cancel();
+                        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                                "Deadline of " + operation + " exceeded", cause);
+                    }
+                    throw (cause instanceof RuntimeException runtimeException) ? runtimeException : new CompletionException(cause);
+                });
+    }
+
+    /**
+     * Stops accepting operations and waits for the running ones to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,12 +1,18 @@
 package dev.timduerr.openapigeneratorexample.mapper;
 
 import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoListingEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoProjection;
+import dev.timduerr.openapigeneratorexample.domain.TodoTitleIndex.Suggestion;
 import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
 import dev.timduerr.openapigeneratorexample.model.TodoDto;
+import dev.timduerr.openapigeneratorexample.model.TodoLookupEntryDto;
 import dev.timduerr.openapigeneratorexample.model.TodoPatchDto;
+import dev.timduerr.openapigeneratorexample.model.TodoSuggestionDto;
 import dev.timduerr.openapigeneratorexample.model.TodoUpdateDto;
 import org.apache.commons.lang3.SerializationUtils;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -31,11 +37,58 @@ public class TodoMapper {
      * @return a {@link TodoDto} object containing the mapped data
      */
     public static TodoDto toTodoDto(TodoEntity entity) {
-        TodoDto dto = new TodoDto();
-        dto.setId(entity.getId());
-        dto.setTitle(entity.getTitle());
-        dto.setCompleted(entity.isCompleted());
-        return dto;
+        return new TodoDto(entity.getId(), entity.getTitle(), entity.isCompleted());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // TodoDto <-- TodoListingEntity
+    /**
+     * Converts a {@link TodoListingEntity}, i.e. an active or archived todo, to a {@link TodoDto} object.
+     *
+     * @param entity the {@link TodoListingEntity} to be converted
+     * @return a {@link TodoDto} object containing the mapped data
+     */
+    public static TodoDto toTodoDto(TodoListingEntity entity) {
+        return new TodoDto(entity.getId(), entity.getTitle(), entity.isCompleted());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // TodoDto <-- TodoProjection
+    /**
+     * Converts a {@link TodoProjection} to a {@link TodoDto} object whose unselected fields are {@code null}.
+     *
+     * @param projection the {@link TodoProjection} to be converted
+     * @return a {@link TodoDto} object containing the selected fields
+     */
+    public static TodoDto toTodoDto(TodoProjection projection) {
+        return new TodoDto(projection.id(), projection.title(), projection.completed());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // TodoLookupEntryDto <-- UUID + TodoEntity
+    /**
+     * Converts the result of looking up an id to a {@link TodoLookupEntryDto} object.
+     *
+     * @param id the id that was looked up
+     * @param entity the {@link TodoEntity} found for the id, or {@code null} if there is none
+     * @return a {@link TodoLookupEntryDto} marking whether the todo was found
+     */
+    public static TodoLookupEntryDto toTodoLookupEntryDto(UUID id, TodoEntity entity) {
+        return (entity == null)
+                ? new TodoLookupEntryDto(id, false, null)
+                : new TodoLookupEntryDto(id, true, toTodoDto(entity));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // TodoSuggestionDto <-- Suggestion
+    /**
+     * Converts a {@link Suggestion} of the title index to a {@link TodoSuggestionDto} object.
+     *
+     * @param suggestion the {@link Suggestion} to convert
+     * @return a {@link TodoSuggestionDto} carrying id and title of the suggested todo
+     */
+    public static TodoSuggestionDto toTodoSuggestionDto(Suggestion suggestion) {
+        return new TodoSuggestionDto(suggestion.id(), suggestion.title());
     }
 
     // -----------------------------------------------------------------------------------------------------------------
@@ -50,7 +103,7 @@ public class TodoMapper {
      */
     public static TodoEntity toTodoEntity(TodoCreateDto dto) {
         TodoEntity entity = new TodoEntity();
-        entity.setTitle(dto.getTitle());
+        entity.setTitle(dto.title());
         return entity;
     }
 
@@ -60,7 +113,8 @@ public class TodoMapper {
      * Converts a {@link TodoUpdateDto} object and an ID into a {@link TodoEntity}.
      *
      * <p>This method maps the fields of a {@link TodoUpdateDto} and assigns the given ID
-     * to create a new {@link TodoEntity}.
+     * to create a new {@link TodoEntity}. A completed todo is stamped as completed now, since the update
+     * replaces the stored todo as a whole.
      *
      * @param id the unique identifier for the {@link TodoEntity}
      * @param dto the {@link TodoUpdateDto} containing the updates to be mapped
@@ -68,8 +122,9 @@ public class TodoMapper {
     public static TodoEntity toTodoEntity(UUID id, TodoUpdateDto dto) {
         TodoEntity entity = new TodoEntity();
         entity.setId(id);
-        entity.setTitle(dto.getTitle());
-        entity.setCompleted(dto.getCompleted());
+        entity.setTitle(dto.title());
+        entity.setCompleted(dto.completed());
+        entity.setCompletedAt(dto.completed() ? Instant.now() : null);
         return entity;
     }
 
@@ -79,7 +134,7 @@ public class TodoMapper {
      * Updates a {@link TodoEntity} object with values from a {@link TodoPatchDto}.
      *
      * <p>This method creates a copy of the provided entity and modifies its fields based on the
-     * non-null values present in the given DTO.
+     * non-null values present in the given DTO. The completion time only changes if the completed state does.
      *
      * @param entity the existing {@link TodoEntity} to be updated
      * @param dto the {@link TodoPatchDto} containing the fields to be updated
@@ -88,12 +143,13 @@ public class TodoMapper {
     public static TodoEntity toTodoEntity(TodoEntity entity, TodoPatchDto dto) {
         TodoEntity patchedEntity = SerializationUtils.clone(entity);
 
-        if (dto.getTitle() != null) {
-            patchedEntity.setTitle(dto.getTitle());
+        if (dto.title() != null) {
+            patchedEntity.setTitle(dto.title());
         }
 
-        if (dto.getCompleted() != null) {
-            patchedEntity.setCompleted(dto.getCompleted());
+        if (dto.completed() != null && dto.completed() != entity.isCompleted()) {
+            patchedEntity.setCompleted(dto.completed());
+            patchedEntity.setCompletedAt(dto.completed() ? Instant.now() : null);
         }
 
         return patchedEntity;
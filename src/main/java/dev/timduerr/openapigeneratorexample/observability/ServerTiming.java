@@ -0,0 +1,136 @@
+package dev.timduerr.openapigeneratorexample.observability;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * ServerTiming.
+ *
+ * <p>Times the phases of a request into the {@link ServerTimingMetric}s reported as {@code Server-Timing} header.
+ * The timing is bound to the thread handling the request and handed along with it, like the
+ * {@link StatementStatistics}. Requests that are not timed have no timing bound, so each recording point costs a
+ * thread-local lookup.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final String operation;
+    private final boolean sampled;
+    private final long start = System.nanoTime();
+    private final long[] nanos = new long[ServerTimingMetric.values().length];
+    private final int[] counts = new int[ServerTimingMetric.values().length];
+
+    /**
+     * @param operation the name of the API operation being handled
+     * @param sampled whether the request was picked by the sample rate, rather than asked for by the client
+     */
+    public ServerTiming(String operation, boolean sampled) {
+        this.operation = operation;
+        this.sampled = sampled;
+    }
+
+    /**
+     * Returns the timing of the request handled by the current thread.
+     *
+     * @return the timing, or {@code null} if the request is not timed
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a timing to the current thread, e.g. to the thread an operation was handed to.
+     *
+     * @param timing the timing, or {@code null} to unbind the current one
+     */
+    public static void attach(ServerTiming timing) {
+        if (timing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timing);
+        }
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header to the response of an operation, if the request handled by the current
+     * thread is timed. If the operation fails, the {@link ServerTimingInterceptor} sets the header instead.
+     *
+     * @param response the response of the operation
+     * @return the response, with the header once it completes
+     * @param <T> the body type
+     */
+    public static <T> CompletableFuture<ResponseEntity<T>> report(CompletableFuture<ResponseEntity<T>> response) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) return response;
+
+        return response.thenApply(entity -> ResponseEntity.status(entity.getStatusCode())
+                .headers(entity.getHeaders())
+                .header(HEADER, timing.toHeader())
+                .body(entity.getBody()));
+    }
+
+    /**
+     * Adds time to a metric. Operations that fan out record from several threads at once.
+     *
+     * @param metric the metric
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public synchronized void record(ServerTimingMetric metric, long elapsedNanos) {
+        nanos[metric.ordinal()] += elapsedNanos;
+        counts[metric.ordinal()]++;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Formats the recorded metrics, without serialization, and the time since the request started as
+     * {@code Server-Timing} header value, e.g. {@code sort;dur=0.1, repo;dur=8.3, db-page;dur=4.2, total;dur=9.1}.
+     *
+     * @return the header value
+     */
+    public synchronized String toHeader() {
+        StringJoiner header = new StringJoiner(", ");
+        for (ServerTimingMetric metric : ServerTimingMetric.values()) {
+            if (metric != ServerTimingMetric.SERIALIZATION && counts[metric.ordinal()] > 0) {
+                header.add(metric.getValue() + ";dur=" + millis(nanos[metric.ordinal()]));
+            }
+        }
+        return header.add("total;dur=" + millis(System.nanoTime() - start)).toString();
+    }
+
+    /**
+     * Formats all recorded metrics with their counts and the time since the request started as structured log
+     * line, e.g. {@code operation=listTodos status=200 sort=0.1 db-page=4.2/1 ... total=9.4}.
+     *
+     * @param status the HTTP status of the response
+     * @return the log line
+     */
+    public synchronized String toLogLine(int status) {
+        StringJoiner line = new StringJoiner(" ");
+        line.add("operation=" + operation).add("status=" + status);
+        for (ServerTimingMetric metric : ServerTimingMetric.values()) {
+            int count = counts[metric.ordinal()];
+            if (count > 0) line.add(metric.getValue() + "=" + millis(nanos[metric.ordinal()]) + "/" + count);
+        }
+        return line.add("total=" + millis(System.nanoTime() - start)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
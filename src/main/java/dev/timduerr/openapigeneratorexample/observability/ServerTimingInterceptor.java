@@ -0,0 +1,76 @@
+package dev.timduerr.openapigeneratorexample.observability;
+
+import dev.timduerr.openapigeneratorexample.config.ServerTimingProperties;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ServerTimingInterceptor.
+ *
+ * <p>Times requests that carry the {@code todo.timing.request-header} or are picked by the
+ * {@code todo.timing.sample-rate}, named after the handling controller method (the {@code operationId}). Once the
+ * response is complete, sampled requests are logged with all their metrics, requests timed on demand only at
+ * debug level. For operations handled asynchronously, the timing is carried over to the asynchronous dispatch in a
+ * request attribute. Operations that failed, e.g. past their deadline, never return a response entity for
+ * {@link ServerTiming#report} to add the header to, so it is set on the response before the failure is resolved.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class ServerTimingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingInterceptor.class);
+
+    private static final String REQUEST_ATTRIBUTE = ServerTiming.class.getName();
+
+    private final ServerTimingProperties properties;
+
+    public ServerTimingInterceptor(ServerTimingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            ServerTiming timing = (ServerTiming) request.getAttribute(REQUEST_ATTRIBUTE);
+            ServerTiming.attach(timing);
+            if (timing != null && WebAsyncUtils.getAsyncManager(request).getConcurrentResult() instanceof Throwable) {
+                response.setHeader(ServerTiming.HEADER, timing.toHeader());
+            }
+        } else if (handler instanceof HandlerMethod handlerMethod) {
+            boolean sampled = properties.sampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < properties.sampleRate();
+            if (sampled || request.getHeader(properties.requestHeader()) != null) {
+                ServerTiming timing = new ServerTiming(handlerMethod.getMethod().getName(), sampled);
+                ServerTiming.attach(timing);
+                request.setAttribute(REQUEST_ATTRIBUTE, timing);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) {
+        ServerTiming.attach(null);
+    }
+
+    @Override
+    public void afterCompletion(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler, Exception ex) {
+        ServerTiming.attach(null);
+        if (!(request.getAttribute(REQUEST_ATTRIBUTE) instanceof ServerTiming timing)) return;
+
+        if (timing.isSampled()) {
+            log.info("{}", timing.toLogLine(response.getStatus()));
+        } else {
+            log.debug("{}", timing.toLogLine(response.getStatus()));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dev.timduerr.openapigeneratorexample.observability;
+
+import dev.timduerr.openapigeneratorexample.observability.jfr.TodoPhase;
+
+/**
+ * ServerTimingMetric.
+ *
+ * <p>The metrics of a {@code Server-Timing} header, in the order they are reported. The statement metrics are
+ * part of the {@link #REPOSITORY} time; statements that shards execute in parallel add up to more than it.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public enum ServerTimingMetric {
+    SORT("sort"),
+    REPOSITORY("repo"),
+    DB_PAGE("db-page"),
+    DB_COUNT("db-count"),
+    DB_WRITE("db-write"),
+    MAP("map"),
+    /** Only logged, the body is written after the headers. */
+    SERIALIZATION("ser");
+
+    private final String value;
+
+    ServerTimingMetric(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the metric timing a phase.
+     *
+     * @param phase the phase
+     * @return the metric
+     */
+    public static ServerTimingMetric of(TodoPhase phase) {
+        return switch (phase) {
+            case SORT_RESOLUTION -> SORT;
+            case REPOSITORY -> REPOSITORY;
+            case MAPPING -> MAP;
+            case SERIALIZATION -> SERIALIZATION;
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package dev.timduerr.openapigeneratorexample.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * ServerTimingStatementListener.
+ *
+ * <p>Datasource-proxy listener that times the statements of timed requests into the {@link ServerTiming}: count
+ * queries as {@link ServerTimingMetric#DB_COUNT}, other queries as {@link ServerTimingMetric#DB_PAGE} and
+ * everything else as {@link ServerTimingMetric#DB_WRITE}. Statements of requests that are not timed cost a
+ * thread-local lookup.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class ServerTimingStatementListener implements QueryExecutionListener {
+
+    private static final String START = ServerTimingStatementListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (ServerTiming.current() != null) execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        ServerTiming timing = ServerTiming.current();
+        Long start = execInfo.getCustomValue(START, Long.class);
+        if (timing == null || start == null) return;
+
+        String query = queryInfoList.isEmpty() ? "" : queryInfoList.getFirst().getQuery();
+        timing.record(metric(query), System.nanoTime() - start);
+    }
+
+    /**
+     * Classifies a statement by its leading keywords.
+     *
+     * @param query the SQL of the statement
+     * @return the metric the statement is timed into
+     */
+    static ServerTimingMetric metric(String query) {
+        int offset = 0;
+        while (offset < query.length() && Character.isWhitespace(query.charAt(offset))) offset++;
+
+        if (startsWith(query, offset, "select count(")) return ServerTimingMetric.DB_COUNT;
+        if (startsWith(query, offset, "select") || startsWith(query, offset, "with")) return ServerTimingMetric.DB_PAGE;
+        return ServerTimingMetric.DB_WRITE;
+    }
+
+    private static boolean startsWith(String query, int offset, String keywords) {
+        return query.regionMatches(true, offset, keywords, 0, keywords.length());
+    }
+}
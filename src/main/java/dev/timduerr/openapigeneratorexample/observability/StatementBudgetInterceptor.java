@@ -0,0 +1,65 @@
+package dev.timduerr.openapigeneratorexample.observability;
+
+import dev.timduerr.openapigeneratorexample.config.SqlMonitoringProperties;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * StatementBudgetInterceptor.
+ *
+ * <p>Attributes the statements of a request to the API operation handling it (the name of the generated
+ * controller method, i.e. the {@code operationId}) and compares the count with the configured budget.
+ * The statistics are exposed as request attribute {@link StatementStatistics#REQUEST_ATTRIBUTE}.
+ *
+ * <p>For operations handled asynchronously, the statistics are handed to the operation's thread and evaluated
+ * once the asynchronous dispatch completes.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class StatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetInterceptor.class);
+
+    private final StatementRecorder statementRecorder;
+    private final SqlMonitoringProperties properties;
+
+    public StatementBudgetInterceptor(StatementRecorder statementRecorder, SqlMonitoringProperties properties) {
+        this.statementRecorder = statementRecorder;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) {
+        // the asynchronous dispatch continues the statistics started by the initial dispatch
+        if (handler instanceof HandlerMethod handlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            statementRecorder.begin(handlerMethod.getMethod().getName());
+            request.setAttribute(StatementStatistics.REQUEST_ATTRIBUTE, statementRecorder.current());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) {
+        statementRecorder.end();
+    }
+
+    @Override
+    public void afterCompletion(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler, Exception ex) {
+        statementRecorder.end();
+        if (!(request.getAttribute(StatementStatistics.REQUEST_ATTRIBUTE) instanceof StatementStatistics statistics)) return;
+
+        Integer budget = properties.budgets().get(statistics.getOperation());
+        if (budget != null && statistics.getStatements() > budget) {
+            log.warn("Statement budget exceeded by {}: {} > {}", statistics, statistics.getStatements(), budget);
+        } else {
+            log.debug("{}", statistics);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package dev.timduerr.openapigeneratorexample.observability;
+
+import dev.timduerr.openapigeneratorexample.config.SqlMonitoringProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * StatementRecorder.
+ *
+ * <p>Datasource-proxy listener that counts the statements executed on the current thread into the
+ * {@link StatementStatistics} of the request being handled, and reports statements slower than the
+ * configured threshold together with their bind parameters and the H2 {@code EXPLAIN} plan.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class StatementRecorder implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementRecorder.class);
+
+    private final ThreadLocal<StatementStatistics> current = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> explaining = ThreadLocal.withInitial(() -> false);
+    private final SqlMonitoringProperties properties;
+
+    public StatementRecorder(SqlMonitoringProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts recording the statements of the current thread for the given operation.
+     *
+     * @param operation the name of the API operation being handled
+     */
+    public void begin(String operation) {
+        current.set(new StatementStatistics(operation));
+    }
+
+    /**
+     * Returns the statistics recorded on the current thread.
+     *
+     * @return the statistics, or {@code null} if recording was not started
+     */
+    public StatementStatistics current() {
+        return current.get();
+    }
+
+    /**
+     * Continues recording into the given statistics on the current thread, e.g. on the thread an operation was
+     * handed to.
+     *
+     * @param statistics the statistics of the request, or {@code null} to record nothing
+     */
+    public void resume(StatementStatistics statistics) {
+        if (statistics == null) {
+            current.remove();
+        } else {
+            current.set(statistics);
+        }
+    }
+
+    /**
+     * Stops recording on the current thread.
+     *
+     * @return the statistics recorded since {@link #begin(String)}, or {@code null} if recording was not started
+     */
+    public StatementStatistics end() {
+        StatementStatistics statistics = current.get();
+        current.remove();
+        return statistics;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (explaining.get()) return;
+
+        long elapsed = execInfo.getElapsedTime();
+        boolean slow = elapsed >= properties.slowQueryThreshold().toMillis();
+
+        StatementStatistics statistics = current.get();
+        if (statistics != null) {
+            statistics.record(execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size(), elapsed, slow);
+        }
+
+        if (slow) {
+            String operation = (statistics == null) ? "-" : statistics.getOperation();
+            for (QueryInfo queryInfo : queryInfoList) {
+                reportSlowQuery(operation, elapsed, execInfo, queryInfo);
+            }
+        }
+    }
+
+    private void reportSlowQuery(String operation, long elapsed, ExecutionInfo execInfo, QueryInfo queryInfo) {
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+        List<ParameterSetOperation> parameters = parametersList.isEmpty() ? List.of() : parametersList.getFirst();
+        String plan = properties.explainSlowQueries() ? explain(execInfo, queryInfo.getQuery(), parameters) : "-";
+
+        log.warn("Slow query in {} ({} ms): {}\n  parameters: {}\n  plan: {}",
+                operation, elapsed, queryInfo.getQuery(), formatParameters(parameters), plan);
+    }
+
+    /**
+     * Runs {@code EXPLAIN} for the statement on the connection that executed it, so that the plan reflects the
+     * state visible to the statement's transaction.
+     */
+    private String explain(ExecutionInfo execInfo, String query, List<ParameterSetOperation> parameters) {
+        if (execInfo.getStatement() == null) return "unavailable";
+
+        explaining.set(true);
+        try {
+            Connection connection = execInfo.getStatement().getConnection();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query)) {
+                for (ParameterSetOperation parameter : parameters) {
+                    Object[] args = parameter.getArgs();
+                    if (args.length >= 2 && args[0] instanceof Integer index) {
+                        explain.setObject(index, args[1]);
+                    }
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    StringJoiner plan = new StringJoiner("\n");
+                    while (resultSet.next()) plan.add(resultSet.getString(1));
+                    return plan.toString();
+                }
+            }
+        } catch (SQLException e) {
+            return "unavailable (" + e.getMessage() + ")";
+        } finally {
+            explaining.set(false);
+        }
+    }
+
+    private static String formatParameters(List<ParameterSetOperation> parameters) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            joiner.add(args.length >= 2 ? args[0] + "=" + args[1] : String.valueOf(args[0]));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package dev.timduerr.openapigeneratorexample.observability;
+
+/**
+ * StatementStatistics.
+ *
+ * <p>The SQL statements executed while handling a single request, attributed to the API operation. Operations
+ * that fan out record from several threads at once.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class StatementStatistics {
+
+    /**
+     * Request attribute under which the statistics of a completed request are exposed.
+     */
+    public static final String REQUEST_ATTRIBUTE = StatementStatistics.class.getName();
+
+    private final String operation;
+    private int statements;
+    private int slowStatements;
+    private long elapsedMillis;
+
+    public StatementStatistics(String operation) {
+        this.operation = operation;
+    }
+
+    synchronized void record(int count, long elapsed, boolean slow) {
+        this.statements += count;
+        this.elapsedMillis += elapsed;
+        if (slow) this.slowStatements++;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public synchronized int getStatements() {
+        return statements;
+    }
+
+    public synchronized int getSlowStatements() {
+        return slowStatements;
+    }
+
+    public synchronized long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return operation + ": " + statements + " statement(s) in " + elapsedMillis + " ms (" + slowStatements + " slow)";
+    }
+}
@@ -0,0 +1,65 @@
+package dev.timduerr.openapigeneratorexample.observability.jfr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.observability.ServerTiming;
+import dev.timduerr.openapigeneratorexample.observability.ServerTimingMetric;
+import jakarta.annotation.Nonnull;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * RecordingJsonHttpMessageConverter.
+ *
+ * <p>Jackson converter that records writing a response body as {@link TodoPhase#SERIALIZATION} phase, and times
+ * it into the {@link ServerTiming} of timed requests.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class RecordingJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public RecordingJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(@Nonnull Object object, Type type, @Nonnull HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ServerTiming timing = ServerTiming.current();
+        TodoPhaseEvent event = new TodoPhaseEvent();
+        if (!event.isEnabled()) {
+            write(timing, object, type, outputMessage);
+            return;
+        }
+
+        event.begin();
+        write(timing, object, type, outputMessage);
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.phase = TodoPhase.SERIALIZATION.getValue();
+            event.rowCount = (object instanceof Collection<?> collection) ? collection.size() : 1;
+            TodoFlightRecorder.describePhase(event);
+            event.commit();
+        }
+    }
+
+    private void write(ServerTiming timing, Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timing.record(ServerTimingMetric.SERIALIZATION, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package dev.timduerr.openapigeneratorexample.observability.jfr;
+
+import dev.timduerr.openapigeneratorexample.observability.ServerTiming;
+import dev.timduerr.openapigeneratorexample.observability.ServerTimingMetric;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * TodoFlightRecorder.
+ *
+ * <p>Emits the {@link TodoOperationEvent} and {@link TodoPhaseEvent}s of the request handled by the current thread.
+ * While the events are disabled, each call costs a check of the event's enabled flag, which the JIT folds into
+ * a constant, and the lookup of the request's {@link ServerTiming}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class TodoFlightRecorder {
+
+    private static final ThreadLocal<TodoOperationEvent> CURRENT = new ThreadLocal<>();
+
+    private TodoFlightRecorder() {
+    }
+
+    /**
+     * Starts the operation event of the current thread.
+     *
+     * @param operation the operationId of the request
+     */
+    public static void beginOperation(String operation) {
+        TodoOperationEvent event = new TodoOperationEvent();
+        if (!event.isEnabled()) return;
+
+        event.operation = operation;
+        event.begin();
+        CURRENT.set(event);
+    }
+
+    /**
+     * Ends and commits the operation event of the current thread, if one was started.
+     *
+     * @param status the HTTP status of the response
+     */
+    public static void endOperation(int status) {
+        TodoOperationEvent event = CURRENT.get();
+        if (event == null) return;
+
+        CURRENT.remove();
+        event.end();
+        if (event.shouldCommit()) {
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the operation event of the current thread.
+     *
+     * @return the event, or {@code null} if none was started
+     */
+    public static TodoOperationEvent current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Moves an operation event to the current thread, e.g. to the thread an operation was handed to.
+     *
+     * @param event the event, or {@code null} to detach the current one
+     */
+    public static void attach(TodoOperationEvent event) {
+        if (event == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(event);
+        }
+    }
+
+    /**
+     * Records the sort key and page size of the current operation, copied to its subsequent phases.
+     *
+     * @param sortKey the applied sort key
+     * @param pageSize the applied page size
+     */
+    public static void describe(String sortKey, int pageSize) {
+        TodoOperationEvent event = CURRENT.get();
+        if (event == null) return;
+
+        event.sortKey = sortKey;
+        event.pageSize = pageSize;
+    }
+
+    /**
+     * Runs a phase of the current operation that has no result.
+     *
+     * @param phase the phase
+     * @param action the work of the phase
+     */
+    public static void recordPhase(TodoPhase phase, Runnable action) {
+        recordPhase(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a phase of the current operation without row count.
+     *
+     * @param phase the phase
+     * @param action the work of the phase
+     * @return the result of the action
+     * @param <T> the result type
+     */
+    public static <T> T recordPhase(TodoPhase phase, Supplier<T> action) {
+        return recordPhase(phase, action, result -> 0);
+    }
+
+    /**
+     * Runs a phase of the current operation and records it with the number of rows it produced. Rows of
+     * {@link TodoPhase#REPOSITORY} phases are added to the operation event. Phases of timed requests are also
+     * timed into their {@link ServerTiming}.
+     *
+     * @param phase the phase
+     * @param action the work of the phase
+     * @param rowCount counts the rows of the result
+     * @return the result of the action
+     * @param <T> the result type
+     */
+    public static <T> T recordPhase(TodoPhase phase, Supplier<T> action, ToIntFunction<? super T> rowCount) {
+        ServerTiming timing = ServerTiming.current();
+        TodoPhaseEvent event = new TodoPhaseEvent();
+        if (!event.isEnabled()) return (timing == null) ? action.get() : time(timing, phase, action);
+
+        event.begin();
+        T result = (timing == null) ? action.get() : time(timing, phase, action);
+        event.end();
+
+        int rows = (result == null) ? 0 : rowCount.applyAsInt(result);
+        TodoOperationEvent operation = CURRENT.get();
+        if (operation != null && phase == TodoPhase.REPOSITORY) {
+            operation.rowCount += rows;
+        }
+
+        if (event.shouldCommit()) {
+            event.phase = phase.getValue();
+            event.rowCount = rows;
+            describePhase(event);
+            event.commit();
+        }
+        return result;
+    }
+
+    private static <T> T time(ServerTiming timing, TodoPhase phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            timing.record(ServerTimingMetric.of(phase), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Copies operation name, sort key and page size of the current operation to a phase event.
+     */
+    static void describePhase(TodoPhaseEvent event) {
+        TodoOperationEvent operation = CURRENT.get();
+        if (operation == null) return;
+
+        event.operation = operation.operation;
+        event.sortKey = operation.sortKey;
+        event.pageSize = operation.pageSize;
+    }
+
+    /**
+     * Counts the rows of a repository result: elements of collections and pages, one for a present optional or
+     * a positive existence check.
+     *
+     * @param result the repository result
+     * @return the number of rows
+     */
+    public static int rows(Object result) {
+        return switch (result) {
+            case Collection<?> collection -> collection.size();
+            case Slice<?> slice -> slice.getNumberOfElements();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case Boolean exists -> exists ? 1 : 0;
+            default -> 1;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package dev.timduerr.openapigeneratorexample.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * TodoOperationEvent.
+ *
+ * <p>JFR event spanning the handling of one API request, from the handler being picked until the response has
+ * been written.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Name(TodoOperationEvent.NAME)
+@Label("Todo API Operation")
+@Category({"Todo API"})
+@Description("Handling of a Todo API request")
+@StackTrace(false)
+public class TodoOperationEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "dev.timduerr.todo.Operation";
+
+    @Label("Operation")
+    @Description("The operationId of the request")
+    String operation;
+
+    @Label("Sort Key")
+    String sortKey;
+
+    @Label("Page Size")
+    int pageSize;
+
+    @Label("Rows")
+    @Description("Rows returned by the repository calls of the request")
+    int rowCount;
+
+    @Label("Status")
+    int status;
+}
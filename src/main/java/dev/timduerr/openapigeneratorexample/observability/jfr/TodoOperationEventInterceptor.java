@@ -0,0 +1,44 @@
+package dev.timduerr.openapigeneratorexample.observability.jfr;
+
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * TodoOperationEventInterceptor.
+ *
+ * <p>Opens a {@link TodoOperationEvent} named after the handling controller method (the {@code operationId}) and
+ * commits it once the response is complete. For operations handled asynchronously, the event is carried over
+ * to the asynchronous dispatch in a request attribute.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class TodoOperationEventInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String REQUEST_ATTRIBUTE = TodoOperationEvent.class.getName();
+
+    @Override
+    public boolean preHandle(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            TodoFlightRecorder.attach((TodoOperationEvent) request.getAttribute(REQUEST_ATTRIBUTE));
+        } else if (handler instanceof HandlerMethod handlerMethod) {
+            TodoFlightRecorder.beginOperation(handlerMethod.getMethod().getName());
+            request.setAttribute(REQUEST_ATTRIBUTE, TodoFlightRecorder.current());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler) {
+        TodoFlightRecorder.attach(null);
+    }
+
+    @Override
+    public void afterCompletion(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response, @Nonnull Object handler, Exception ex) {
+        TodoFlightRecorder.endOperation(response.getStatus());
+    }
+}
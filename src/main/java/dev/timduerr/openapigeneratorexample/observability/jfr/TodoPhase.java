@@ -0,0 +1,24 @@
+package dev.timduerr.openapigeneratorexample.observability.jfr;
+
+/**
+ * TodoPhase.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public enum TodoPhase {
+    SORT_RESOLUTION("sort-resolution"),
+    REPOSITORY("repository"),
+    MAPPING("mapping"),
+    SERIALIZATION("serialization");
+
+    private final String value;
+
+    TodoPhase(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
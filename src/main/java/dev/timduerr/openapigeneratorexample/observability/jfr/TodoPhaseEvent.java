@@ -0,0 +1,40 @@
+package dev.timduerr.openapigeneratorexample.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * TodoPhaseEvent.
+ *
+ * <p>JFR event for one phase of an API request, nested in the {@link TodoOperationEvent} of the same thread.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Name(TodoPhaseEvent.NAME)
+@Label("Todo API Phase")
+@Category({"Todo API"})
+@Description("Sort resolution, repository call, mapping or serialization within a Todo API request")
+@StackTrace(false)
+public class TodoPhaseEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "dev.timduerr.todo.Phase";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Sort Key")
+    String sortKey;
+
+    @Label("Page Size")
+    int pageSize;
+
+    @Label("Rows")
+    int rowCount;
+}
@@ -0,0 +1,112 @@
+package dev.timduerr.openapigeneratorexample.observability.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * TodoRecordingAnalyzer.
+ *
+ * <p>Summarizes the latency of the Todo API events in a JFR recording per operation and phase, the whole
+ * operation being reported as phase {@code total}:
+ * <pre>
+ * java -cp target/classes dev.timduerr.openapigeneratorexample.observability.jfr.TodoRecordingAnalyzer recording.jfr
+ * </pre>
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class TodoRecordingAnalyzer {
+
+    static final String TOTAL = "total";
+
+    private TodoRecordingAnalyzer() {
+    }
+
+    /**
+     * Latency summary of one phase of one operation.
+     *
+     * @param operation the operationId
+     * @param phase the phase, or {@code total} for the whole operation
+     * @param count the number of events
+     * @param p50 the median duration
+     * @param p99 the 99th percentile duration
+     * @param max the longest duration
+     * @param rows the rows summed over all events
+     */
+    public record PhaseSummary(String operation, String phase, int count, Duration p50, Duration p99, Duration max, long rows) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: TodoRecordingAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        print(analyze(Path.of(args[0])), System.out);
+    }
+
+    /**
+     * Reads the Todo API events of a recording.
+     *
+     * @param recording the JFR file
+     * @return one summary per operation and phase, ordered by operation and phase
+     * @throws IOException if the recording cannot be read
+     */
+    public static List<PhaseSummary> analyze(Path recording) throws IOException {
+        Map<String, Map<String, List<RecordedEvent>>> eventsByOperation = new TreeMap<>();
+
+        try (RecordingFile recordingFile = new RecordingFile(recording)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                String phase = switch (event.getEventType().getName()) {
+                    case TodoOperationEvent.NAME -> TOTAL;
+                    case TodoPhaseEvent.NAME -> event.getString("phase");
+                    default -> null;
+                };
+                if (phase == null) continue;
+
+                String operation = (event.getString("operation") == null) ? "-" : event.getString("operation");
+                eventsByOperation.computeIfAbsent(operation, key -> new TreeMap<>())
+                        .computeIfAbsent(phase, key -> new ArrayList<>())
+                        .add(event);
+            }
+        }
+
+        List<PhaseSummary> summaries = new ArrayList<>();
+        eventsByOperation.forEach((operation, eventsByPhase) -> eventsByPhase.forEach((phase, events) -> {
+            List<Duration> durations = events.stream().map(RecordedEvent::getDuration).sorted().toList();
+            long rows = events.stream().mapToLong(event -> event.getInt("rowCount")).sum();
+            summaries.add(new PhaseSummary(operation, phase, durations.size(), percentile(durations, 50),
+                    percentile(durations, 99), durations.getLast(), rows));
+        }));
+        summaries.sort(Comparator.comparing(PhaseSummary::operation)
+                .thenComparing(summary -> TOTAL.equals(summary.phase()) ? "" : summary.phase()));
+        return summaries;
+    }
+
+    static void print(List<PhaseSummary> summaries, PrintStream out) {
+        out.printf("%-20s %-16s %8s %10s %10s %10s %10s%n", "operation", "phase", "count", "p50 µs", "p99 µs", "max µs", "rows");
+        for (PhaseSummary summary : summaries) {
+            out.printf("%-20s %-16s %8d %10d %10d %10d %10d%n", summary.operation(), summary.phase(), summary.count(),
+                    micros(summary.p50()), micros(summary.p99()), micros(summary.max()), summary.rows());
+        }
+    }
+
+    private static Duration percentile(List<Duration> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static long micros(Duration duration) {
+        return duration.toNanos() / 1_000;
+    }
+}
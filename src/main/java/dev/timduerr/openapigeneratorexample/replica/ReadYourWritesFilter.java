@@ -0,0 +1,78 @@
+package dev.timduerr.openapigeneratorexample.replica;
+
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * ReadYourWritesFilter.
+ *
+ * <p>Binds the requesting client to the {@link ReadYourWritesTracker} and records successful mutating requests
+ * as writes. Clients are identified by the {@value #CLIENT_ID_HEADER} header, falling back to the remote address.
+ *
+ * <p>The API operations run asynchronously, so their outcome is only known on the async dispatch. The write is
+ * recorded there, once the operation has committed and before the response is written, so that the client
+ * cannot read before it sticks to the primary.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final Set<String> WRITE_METHODS = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(CLIENT_ID_HEADER);
+        String clientId = (header == null || header.isBlank()) ? request.getRemoteAddr() : header;
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+
+        if (isAsyncDispatch(request)) {
+            if (write && succeeded(WebAsyncUtils.getAsyncManager(request).getConcurrentResult())) {
+                tracker.recordWrite(clientId);
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        tracker.bind(clientId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.unbind();
+            // an operation still running is recorded on its async dispatch
+            if (write && !isAsyncStarted(request) && response.getStatus() < 400) {
+                tracker.recordWrite(clientId);
+            }
+        }
+    }
+
+    private static boolean succeeded(Object result) {
+        if (result instanceof ResponseEntity<?> entity) return entity.getStatusCode().value() < 400;
+        return !(result instanceof Throwable);
+    }
+}
@@ -0,0 +1,84 @@
+package dev.timduerr.openapigeneratorexample.replica;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ReadYourWritesTracker.
+ *
+ * <p>Remembers when each client last wrote, so that the client's reads stay on the primary until the
+ * replicas had time to catch up. The client of the current request is bound to the handling thread.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class ReadYourWritesTracker {
+
+    private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    private final Map<String, Instant> lastWrites = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    /**
+     * Binds a client to the current thread.
+     *
+     * @param clientId the client, or {@code null} to bind none
+     */
+    public void bind(String clientId) {
+        if (clientId == null) {
+            currentClient.remove();
+        } else {
+            currentClient.set(clientId);
+        }
+    }
+
+    public void unbind() {
+        currentClient.remove();
+    }
+
+    /**
+     * Returns the client bound to the current thread.
+     *
+     * @return the client id, or {@code null} if none is bound
+     */
+    public String currentClient() {
+        return currentClient.get();
+    }
+
+    /**
+     * Records a write of the given client.
+     *
+     * @param clientId the client that wrote
+     */
+    void recordWrite(String clientId) {
+        lastWrites.put(clientId, clock.instant());
+    }
+
+    /**
+     * Returns whether the client bound to the current thread wrote within the stickiness window.
+     *
+     * @return {@code true} if reads of the current client have to go to the primary
+     */
+    public boolean isCurrentClientSticky() {
+        String clientId = currentClient.get();
+        if (clientId == null) return false;
+        Instant lastWrite = lastWrites.get(clientId);
+        return lastWrite != null && lastWrite.plus(window).isAfter(clock.instant());
+    }
+
+    /**
+     * Forgets clients whose stickiness window has passed.
+     */
+    public void evictExpired() {
+        Instant cutoff = clock.instant().minus(window);
+        lastWrites.values().removeIf(lastWrite -> lastWrite.isBefore(cutoff));
+    }
+}
@@ -0,0 +1,57 @@
+package dev.timduerr.openapigeneratorexample.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReplicaRoutingDataSource.
+ *
+ * <p>Target for read-only connections: distributes them round-robin over the replicas, unless the current
+ * client wrote recently, in which case the primary is used to read its own writes.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> routed = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker tracker, MeterRegistry meterRegistry) {
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.tracker = tracker;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        for (Object key : targets.keySet()) {
+            routed.put((String) key, Counter.builder("todo.datasource.reads")
+                    .description("Read-only connections routed to a datasource")
+                    .tag("target", (String) key)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String key = (replicaKeys.isEmpty() || tracker.isCurrentClientSticky())
+                ? PRIMARY
+                : replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+        routed.get(key).increment();
+        return key;
+    }
+}
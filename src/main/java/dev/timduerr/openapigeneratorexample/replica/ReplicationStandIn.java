@@ -0,0 +1,158 @@
+package dev.timduerr.openapigeneratorexample.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * ReplicationStandIn.
+ *
+ * <p>Keeps local replica databases in sync with the primary for development and tests. Each run pulls the todos,
+ * tombstones and archived todos whose change token lies between the token the replica last applied and the
+ * commit-safe watermark of the primary, and applies them with idempotent {@code MERGE} statements. Every token up to
+ * the watermark is committed, so a replica holds every change up to its applied token; changes above it, which may
+ * still be followed by late commits below them, are left for a later run.
+ *
+ * <p>This is not a replication mechanism for production; there, the database's own replication takes its place.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class ReplicationStandIn {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationStandIn.class);
+
+    private static final String SELECT_TODOS = "SELECT id, title, completed, change_seq, completed_at FROM tbl_todo WHERE change_seq > ? AND change_seq <= ?";
+    private static final String SELECT_TOMBSTONES = "SELECT id, change_seq, deleted_at FROM tbl_todo_tombstone WHERE change_seq > ? AND change_seq <= ?";
+    private static final String SELECT_ARCHIVED = "SELECT id, title, completed, change_seq, completed_at, archived_at FROM tbl_todo_archive WHERE change_seq > ? AND change_seq <= ?";
+    private static final String SELECT_HEAD = "SELECT GREATEST("
+            + "(SELECT COALESCE(MAX(change_seq), 0) FROM tbl_todo), "
+            + "(SELECT COALESCE(MAX(change_seq), 0) FROM tbl_todo_tombstone), "
+            + "(SELECT COALESCE(MAX(change_seq), 0) FROM tbl_todo_archive))";
+    private static final String MERGE_TODO = "MERGE INTO tbl_todo (id, title, completed, change_seq, completed_at) KEY (id) VALUES (?, ?, ?, ?, ?)";
+    private static final String MERGE_TOMBSTONE = "MERGE INTO tbl_todo_tombstone (id, change_seq, deleted_at) KEY (id) VALUES (?, ?, ?)";
+    private static final String MERGE_ARCHIVED = "MERGE INTO tbl_todo_archive (id, title, completed, change_seq, completed_at, archived_at) KEY (id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_TODO = "DELETE FROM tbl_todo WHERE id = ?";
+
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas;
+    private final LongSupplier watermark;
+    private final Clock clock;
+
+    /**
+     * @param primary the primary database
+     * @param replicas the replica databases by name
+     * @param watermark the change token up to which every change is committed on the primary
+     * @param clock the clock for the lag metrics
+     * @param meterRegistry the registry of the lag metrics
+     */
+    public ReplicationStandIn(DataSource primary, Map<String, DataSource> replicas, LongSupplier watermark, Clock clock,
+                              MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.watermark = watermark;
+        this.clock = clock;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), new JdbcTemplate(entry.getValue())))
+                .toList();
+
+        for (Replica replica : this.replicas) {
+            Gauge.builder("todo.replica.lag.changes", replica, r -> Math.max(0, headToken() - r.appliedToken.get()))
+                    .description("Change tokens the replica is behind the primary")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("todo.replica.lag.seconds", replica, r -> secondsSince(r.lastApplied.get()))
+                    .description("Seconds since the replica last applied changes from the primary")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Creates the schema on every replica.
+     */
+    public void initializeReplicas() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("replica-schema.sql"));
+        for (Replica replica : replicas) {
+            populator.execute(replica.jdbcTemplate.getDataSource());
+        }
+    }
+
+    /**
+     * Applies all changes of the primary that the replicas have not seen yet.
+     */
+    public void replicate() {
+        for (Replica replica : replicas) {
+            try {
+                replicate(replica);
+            } catch (RuntimeException e) {
+                log.warn("Replication to {} failed", replica.name, e);
+            }
+        }
+    }
+
+    private void replicate(Replica replica) {
+        long since = replica.appliedToken.get();
+        // taken before reading, so that every change up to it is committed and visible
+        long upTo = watermark.getAsLong();
+
+        List<Object[]> todos = primary.query(SELECT_TODOS, (rs, rowNum) -> new Object[]{
+                rs.getObject("id", UUID.class), rs.getString("title"), rs.getBoolean("completed"), rs.getLong("change_seq"),
+                rs.getObject("completed_at", OffsetDateTime.class)}, since, upTo);
+        List<Object[]> tombstones = primary.query(SELECT_TOMBSTONES, (rs, rowNum) -> new Object[]{
+                rs.getObject("id", UUID.class), rs.getLong("change_seq"), rs.getObject("deleted_at", OffsetDateTime.class)}, since, upTo);
+        List<Object[]> archived = primary.query(SELECT_ARCHIVED, (rs, rowNum) -> new Object[]{
+                rs.getObject("id", UUID.class), rs.getString("title"), rs.getBoolean("completed"), rs.getLong("change_seq"),
+                rs.getObject("completed_at", OffsetDateTime.class), rs.getObject("archived_at", OffsetDateTime.class)}, since, upTo);
+
+        if (!todos.isEmpty()) replica.jdbcTemplate.batchUpdate(MERGE_TODO, todos);
+        if (!tombstones.isEmpty()) {
+            replica.jdbcTemplate.batchUpdate(MERGE_TOMBSTONE, tombstones);
+            replica.jdbcTemplate.batchUpdate(DELETE_TODO, tombstones.stream().map(t -> new Object[]{t[0]}).toList());
+        }
+        if (!archived.isEmpty()) {
+            replica.jdbcTemplate.batchUpdate(MERGE_ARCHIVED, archived);
+            replica.jdbcTemplate.batchUpdate(DELETE_TODO, archived.stream().map(a -> new Object[]{a[0]}).toList());
+        }
+
+        replica.appliedToken.set(upTo);
+        replica.lastApplied.set(clock.instant());
+        log.trace("Replicated {} todos, {} tombstones and {} archived todos to {} up to token {}",
+                todos.size(), tombstones.size(), archived.size(), replica.name, upTo);
+    }
+
+    private long headToken() {
+        Long head = primary.queryForObject(SELECT_HEAD, Long.class);
+        return (head == null) ? 0 : head;
+    }
+
+    private double secondsSince(Instant instant) {
+        return (instant == null) ? Double.NaN : (clock.millis() - instant.toEpochMilli()) / 1000.0;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final JdbcTemplate jdbcTemplate;
+        private final AtomicLong appliedToken = new AtomicLong();
+        private final AtomicReference<Instant> lastApplied = new AtomicReference<>();
+
+        private Replica(String name, JdbcTemplate jdbcTemplate) {
+            this.name = name;
+            this.jdbcTemplate = jdbcTemplate;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dev.timduerr.openapigeneratorexample.validation;
+
+import java.util.List;
+
+/**
+ * SchemaValidated.
+ *
+ * <p>Implemented by the generated DTO records, which check the constraints of their OpenAPI schema in generated
+ * code instead of relying on Bean Validation.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public interface SchemaValidated {
+
+    /**
+     * Returns the constraint violations of this object.
+     *
+     * @return one message per violated constraint, empty if the object is valid
+     */
+    List<String> violations();
+}
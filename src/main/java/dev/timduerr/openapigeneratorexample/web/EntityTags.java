@@ -0,0 +1,58 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * EntityTags.
+ *
+ * <p>Maps between the change token of a todo and its entity tag. Every write stamps a todo with a new change
+ * token, so the token serves as the version of the todo: {@code "17"} names the todo as of change 17, and an
+ * {@code If-Match} carrying it only matches as long as nobody has written the todo since. An {@code If-Match} listing
+ * several tags matches if any of them does.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Returns the strong entity tag of a todo.
+     *
+     * @param changeSeq the change token of the todo
+     * @return the quoted entity tag
+     */
+    public static String of(long changeSeq) {
+        return "\"" + changeSeq + "\"";
+    }
+
+    /**
+     * Resolves an {@code If-Match} header to the change tokens the todo is expected to carry one of.
+     *
+     * @param ifMatch the header value, may be {@code null}
+     * @return {@code null} if there is no precondition ({@code null} or {@code *}), otherwise the change tokens named by
+     *         the strong tags, empty if no tag names one and the precondition can never pass
+     */
+    public static Set<Long> acceptedChangeSeqs(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+
+        // If-Match uses the strong comparison, weak tags never match
+        Set<Long> accepted = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.strip();
+            if (candidate.length() > 2 && candidate.startsWith("\"") && candidate.endsWith("\"")) {
+                try {
+                    accepted.add(Long.parseLong(candidate.substring(1, candidate.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not one of ours, it cannot match
+                }
+            }
+        }
+        return accepted;
+    }
+}
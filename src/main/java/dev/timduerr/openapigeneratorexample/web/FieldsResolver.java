@@ -0,0 +1,77 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoField;
+import dev.timduerr.openapigeneratorexample.model.TodoDto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * FieldsResolver.
+ *
+ * <p>Resolves the {@code fields} parameter of a sparse fieldset request. A field is accepted under the same
+ * rules as a sort key of {@link SortResolver}: it must be readable on the entity and exposed by the DTO.
+ * Resolved selections are cached by parameter value, so repeated requests skip the parsing.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class FieldsResolver {
+
+    /**
+     * The selection of a request without {@code fields} parameter.
+     */
+    public static final Set<TodoField> ALL_FIELDS = Collections.unmodifiableSet(EnumSet.allOf(TodoField.class));
+
+    private static final Map<String, TodoField> SELECTABLE_FIELDS = Arrays.stream(TodoField.values())
+            .filter(field -> SortResolver.isSortableProperty(TodoEntity.class, field.getValue())
+                    && SortResolver.isDtoExposedProperty(TodoDto.class, field.getValue()))
+            .collect(Collectors.toUnmodifiableMap(TodoField::getValue, Function.identity()));
+
+    /**
+     * Bounds the cache, parameter values beyond it are resolved on every request.
+     */
+    private static final int MAX_CACHED_SELECTIONS = 256;
+
+    private static final Map<String, Optional<Set<TodoField>>> SELECTIONS = new ConcurrentHashMap<>();
+
+    private FieldsResolver() {
+    }
+
+    /**
+     * Resolves a comma-separated list of field names, ignoring case and surrounding whitespace.
+     *
+     * @param fieldsParam the {@code fields} parameter supplied by the client, may be {@code null}
+     * @return the selected fields, all fields if the parameter is absent or blank, or empty if it names a field
+     * that cannot be selected
+     */
+    public static Optional<Set<TodoField>> resolve(String fieldsParam) {
+        if (fieldsParam == null || fieldsParam.isBlank()) return Optional.of(ALL_FIELDS);
+
+        Optional<Set<TodoField>> selection = SELECTIONS.get(fieldsParam);
+        if (selection != null) return selection;
+
+        selection = parse(fieldsParam);
+        if (SELECTIONS.size() < MAX_CACHED_SELECTIONS) SELECTIONS.putIfAbsent(fieldsParam, selection);
+        return selection;
+    }
+
+    private static Optional<Set<TodoField>> parse(String fieldsParam) {
+        EnumSet<TodoField> fields = EnumSet.noneOf(TodoField.class);
+        for (String name : fieldsParam.split(",")) {
+            TodoField field = SELECTABLE_FIELDS.get(name.trim().toLowerCase(Locale.ROOT));
+            if (field == null) return Optional.empty();
+            fields.add(field);
+        }
+        return Optional.of(fields.equals(ALL_FIELDS) ? ALL_FIELDS : Collections.unmodifiableSet(fields));
+    }
+}
@@ -0,0 +1,25 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * LockConflictAdvice.
+ *
+ * <p>Answers writes that could not lock a contended todo in time, or lost a deadlock, with
+ * {@code 409 Conflict}, so that the client can retry them.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@RestControllerAdvice
+public class LockConflictAdvice {
+
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<Void> lockConflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
@@ -0,0 +1,120 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * NdjsonReader.
+ *
+ * <p>Reads newline-delimited JSON one line at a time, each line a value of the given type. Lines are collected in
+ * a buffer of fixed size and parsed from it, so that reading takes the same memory however long the input is.
+ * Lines that are too long, not valid JSON or not a value of the type are returned with an error instead, and
+ * reading continues with the next line; blank lines are skipped.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ * @param <T> the type of the values
+ */
+final class NdjsonReader<T> {
+
+    private final InputStream input;
+    private final ObjectReader reader;
+    private final byte[] buffer = new byte[8192];
+    private final byte[] line;
+    private int position;
+    private int limit;
+    private long lineNumber;
+
+    /**
+     * @param input the input, read up to its end but not closed
+     * @param objectMapper the object mapper parsing the lines
+     * @param type the type of the values
+     * @param maxLineLength the maximum length of a line in bytes, without line break
+     */
+    NdjsonReader(InputStream input, ObjectMapper objectMapper, Class<T> type, int maxLineLength) {
+        this.input = input;
+        this.reader = objectMapper.readerFor(type).with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.line = new byte[maxLineLength];
+    }
+
+    /**
+     * Reads the next line that is not blank.
+     *
+     * @return the line, or {@code null} at the end of the input
+     * @throws IOException if the input cannot be read
+     */
+    Line<T> next() throws IOException {
+        while (true) {
+            int length = 0;
+            boolean overlong = false;
+            boolean end = false;
+            while (true) {
+                if (position == limit && !fill()) {
+                    end = true;
+                    break;
+                }
+                byte b = buffer[position++];
+                if (b == '\n') break;
+                if (length < line.length) {
+                    line[length++] = b;
+                } else {
+                    overlong = true;
+                }
+            }
+            if (end && length == 0 && !overlong) return null;
+
+            lineNumber++;
+            if (overlong) return Line.error(lineNumber, "Line exceeds " + line.length + " bytes");
+            if (isBlank(length)) {
+                if (end) return null;
+                continue;
+            }
+            return parse(length);
+        }
+    }
+
+    private Line<T> parse(int length) {
+        try {
+            T value = reader.readValue(line, 0, length);
+            return (value == null) ? Line.error(lineNumber, "Expected an object") : new Line<>(lineNumber, value, null);
+        } catch (JsonProcessingException e) {
+            return Line.error(lineNumber, e.getOriginalMessage());
+        } catch (IOException e) {
+            return Line.error(lineNumber, e.getMessage());
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read = input.read(buffer);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private boolean isBlank(int length) {
+        for (int i = 0; i < length; i++) {
+            if (line[i] != ' ' && line[i] != '\t' && line[i] != '\r') return false;
+        }
+        return true;
+    }
+
+    /**
+     * A line of the input.
+     *
+     * @param number the number of the line, starting at 1
+     * @param value the value of the line, or {@code null} if it is invalid
+     * @param error why the line is invalid, or {@code null} if it is valid
+     * @param <T> the type of the value
+     */
+    record Line<T>(long number, T value, String error) {
+
+        static <T> Line<T> error(long number, String error) {
+            return new Line<>(number, null, error);
+        }
+    }
+}
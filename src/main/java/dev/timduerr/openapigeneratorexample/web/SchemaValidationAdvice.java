@@ -0,0 +1,44 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import dev.timduerr.openapigeneratorexample.validation.SchemaValidated;
+import jakarta.annotation.Nonnull;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * SchemaValidationAdvice.
+ *
+ * <p>Rejects request bodies that violate their schema with {@code 400 Bad Request}, using the validation code
+ * generated into the DTO records.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ControllerAdvice
+public class SchemaValidationAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(@Nonnull MethodParameter methodParameter, @Nonnull Type targetType,
+                            @Nonnull Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType instanceof Class<?> targetClass && SchemaValidated.class.isAssignableFrom(targetClass);
+    }
+
+    @Nonnull
+    @Override
+    public Object afterBodyRead(@Nonnull Object body, @Nonnull HttpInputMessage inputMessage, @Nonnull MethodParameter parameter,
+                                @Nonnull Type targetType, @Nonnull Class<? extends HttpMessageConverter<?>> converterType) {
+        List<String> violations = ((SchemaValidated) body).violations();
+        if (!violations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.join(", ", violations));
+        }
+        return body;
+    }
+}
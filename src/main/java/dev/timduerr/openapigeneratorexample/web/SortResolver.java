@@ -2,11 +2,9 @@ package dev.timduerr.openapigeneratorexample.web;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Sort;
 
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -37,12 +35,11 @@ public class SortResolver {
     public static boolean isDtoExposedProperty(Class<?> dtoClass, String property) {
         if (property == null || property.isBlank()) return false;
 
-        BeanWrapper beanWrapper = new BeanWrapperImpl(dtoClass);
-        if (!(beanWrapper.isReadableProperty(property) || beanWrapper.isWritableProperty(property))) return false;
+        PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(dtoClass, property);
+        if (pd == null || (pd.getReadMethod() == null && pd.getWriteMethod() == null)) return false;
 
         if (isIgnoredOnField(dtoClass, property)) return false;
-        PropertyDescriptor pd = getPropertyDescriptor(dtoClass, property);
-        return pd == null || (!isIgnored(pd.getReadMethod()) && !isIgnored(pd.getWriteMethod()));
+        return !isIgnored(pd.getReadMethod()) && !isIgnored(pd.getWriteMethod());
     }
 
     /**
@@ -57,8 +54,8 @@ public class SortResolver {
      */
     public static boolean isSortableProperty(Class<?> clazz, String property) {
         if (property == null || property.isBlank()) return false;
-        BeanWrapper beanWrapper = new BeanWrapperImpl(clazz);
-        return beanWrapper.isReadableProperty(property);
+        PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(clazz, property);
+        return pd != null && pd.getReadMethod() != null;
     }
 
     /**
@@ -140,25 +137,6 @@ public class SortResolver {
         return false;
     }
 
-    /**
-     * Retrieves the {@link PropertyDescriptor} for a specified property name in a given class.
-     *
-     * <p>This method uses Java Bean introspection to locate the descriptor of the property
-     * by name, which contains metadata such as getter and setter methods.
-     *
-     * @param clazz the class to inspect for property descriptors.
-     * @param name the name of the property to retrieve.
-     * @return the {@link PropertyDescriptor} for the specified property, or {@code null} if not found.
-     */
-    private static PropertyDescriptor getPropertyDescriptor(Class<?> clazz, String name) {
-        try {
-            for (PropertyDescriptor pd : Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
-                if (pd.getName().equals(name)) return pd;
-            }
-        } catch (Exception ignored) { }
-        return null;
-    }
-
     /**
      * Determines if the specified method is marked as ignored or hidden.
      *
@@ -0,0 +1,56 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import jakarta.annotation.Nonnull;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * StreamingResourceHttpMessageConverter.
+ *
+ * <p>Binds {@code application/x-ndjson} request bodies to {@link Resource} parameters as a stream over the
+ * request, where the default converter would copy the whole body into memory first. The stream can be read once,
+ * on any thread, until the response is complete. The converter only reads, responses are left to the other
+ * converters.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class StreamingResourceHttpMessageConverter implements HttpMessageConverter<Resource> {
+
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON);
+
+    @Override
+    public boolean canRead(@Nonnull Class<?> clazz, MediaType mediaType) {
+        return Resource.class == clazz && (mediaType == null || MediaType.APPLICATION_NDJSON.includes(mediaType));
+    }
+
+    @Override
+    public boolean canWrite(@Nonnull Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Nonnull
+    @Override
+    public Resource read(@Nonnull Class<? extends Resource> clazz, @Nonnull HttpInputMessage inputMessage)
+            throws IOException {
+        return new InputStreamResource(inputMessage.getBody());
+    }
+
+    @Override
+    public void write(@Nonnull Resource resource, MediaType contentType, @Nonnull HttpOutputMessage outputMessage) {
+        // never asked to write, see canWrite
+    }
+}
@@ -0,0 +1,185 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.config.WarmupProperties;
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
+import dev.timduerr.openapigeneratorexample.model.TodoDto;
+import dev.timduerr.openapigeneratorexample.web.SortResolver.DefaultSort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.RecordComponent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * TodoApiWarmup.
+ *
+ * <p>Replays a synthetic request mix through the {@link TodosApiOperations} behind the API delegate before the
+ * instance reports ready, so that the first real requests neither run interpreted code nor pay for cold Hibernate
+ * query plans. Per iteration, the mix lists a page for every sort key {@link SortResolver} accepts in both
+ * directions, searches, gets existing and missing todos, in full and as sparse fieldsets, and serializes the
+ * responses. Each iteration runs in its own read-only transaction that is rolled back, so nothing it touches is
+ * written and the persistence context stays cold. The operations run on the calling thread, inside that
+ * transaction, rather than on the {@link dev.timduerr.openapigeneratorexample.execution.TodoOperationExecutor}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class TodoApiWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoApiWarmup.class);
+
+    private final TodosApiOperations todosApiOperations;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final WarmupProperties properties;
+    private final List<String> sortParams;
+
+    private volatile WarmupReport report;
+
+    public TodoApiWarmup(TodosApiOperations todosApiOperations, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager, WarmupProperties properties) {
+        this.todosApiOperations = todosApiOperations;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.sortParams = sortParams();
+    }
+
+    /**
+     * Summary of a finished warm-up.
+     *
+     * @param iterations the number of completed iterations of the request mix
+     * @param calls the number of delegate calls made
+     * @param duration the time the warm-up took
+     * @param firstIteration the time of the first iteration
+     * @param lastIteration the time of the last iteration
+     */
+    public record WarmupReport(int iterations, int calls, Duration duration, Duration firstIteration, Duration lastIteration) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long deadline = System.nanoTime() + properties.maxDuration().toNanos();
+        long start = System.nanoTime();
+        long firstIteration = 0;
+        long lastIteration = 0;
+        int iterations = 0;
+        int calls = 0;
+
+        while (iterations < properties.iterations() && System.nanoTime() < deadline) {
+            long iterationStart = System.nanoTime();
+            Integer iterationCalls = transactionTemplate.execute(status -> {
+                status.setRollbackOnly();
+                return replay();
+            });
+            lastIteration = System.nanoTime() - iterationStart;
+            if (iterations == 0) firstIteration = lastIteration;
+
+            calls += (iterationCalls == null) ? 0 : iterationCalls;
+            iterations++;
+        }
+
+        report = new WarmupReport(iterations, calls, Duration.ofNanos(System.nanoTime() - start),
+                Duration.ofNanos(firstIteration), Duration.ofNanos(lastIteration));
+
+        if (iterations < properties.iterations()) {
+            log.warn("Warm-up stopped after {} of {} iterations, max duration of {} reached",
+                    iterations, properties.iterations(), properties.maxDuration());
+        }
+        log.info("Warm-up finished: {} iterations, {} calls in {} ms (first iteration {} µs, last iteration {} µs)",
+                report.iterations(), report.calls(), report.duration().toMillis(),
+                report.firstIteration().toNanos() / 1_000, report.lastIteration().toNanos() / 1_000);
+    }
+
+    /**
+     * Returns the summary of the warm-up.
+     *
+     * @return the report, or {@code null} while the warm-up has not finished
+     */
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    /**
+     * Replays the request mix once.
+     *
+     * @return the number of delegate calls made
+     */
+    private int replay() {
+        int calls = 0;
+        List<TodoDto> todos = List.of();
+
+        for (String sortParam : sortParams) {
+            List<TodoDto> page = serialize(todosApiOperations.listTodos(0, 20, sortParam, null, false, null));
+            if (todos.isEmpty() && page != null) todos = page;
+            calls++;
+        }
+
+        for (TodoDto todo : todos.subList(0, Math.min(3, todos.size()))) {
+            String query = todo.title().substring(0, Math.min(3, todo.title().length()));
+            serialize(todosApiOperations.listTodos(0, 20, null, query, false, null));
+            serialize(todosApiOperations.listTodos(0, 20, null, query, false, "id,title"));
+            serialize(todosApiOperations.getTodo(todo.id(), null));
+            serialize(todosApiOperations.getTodo(todo.id(), "id,title"));
+            calls += 4;
+        }
+
+        // the not-found paths
+        serialize(todosApiOperations.listTodos(0, 20, null, UUID.randomUUID().toString(), false, null));
+        todosApiOperations.getTodo(UUID.randomUUID(), null);
+        calls += 2;
+
+        deserialize("{\"title\":\"Warm-up\"}");
+        return calls;
+    }
+
+    private <T> T serialize(ResponseEntity<T> response) {
+        try {
+            objectMapper.writeValueAsBytes(response.getBody());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Warm-up failed to serialize " + response.getBody(), e);
+        }
+        return response.getBody();
+    }
+
+    private void deserialize(String json) {
+        try {
+            objectMapper.readValue(json, TodoCreateDto.class).violations();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Warm-up failed to deserialize " + json, e);
+        }
+    }
+
+    /**
+     * Collects the sort parameters {@link SortResolver} accepts, in ascending and descending direction, by
+     * resolving each component of the DTO the way {@link TodosApiOperations#listTodos} does. The first entry
+     * is {@code null}, i.e. the default sort.
+     */
+    private static List<String> sortParams() {
+        DefaultSort none = new DefaultSort("", Sort.Direction.ASC);
+        List<String> sortParams = new ArrayList<>();
+        sortParams.add(null);
+        Arrays.stream(TodoDto.class.getRecordComponents())
+                .map(RecordComponent::getName)
+                .filter(key -> key.equals(SortResolver.resolve(TodoDto.class, TodoEntity.class, key, none).appliedKey()))
+                .forEach(key -> {
+                    sortParams.add(key);
+                    sortParams.add("-" + key);
+                });
+        return sortParams;
+    }
+}
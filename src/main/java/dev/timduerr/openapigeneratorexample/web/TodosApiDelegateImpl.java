@@ -1,125 +1,111 @@
 package dev.timduerr.openapigeneratorexample.web;
 
-import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
-import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
-import dev.timduerr.openapigeneratorexample.mapper.TodoMapper;
+import dev.timduerr.openapigeneratorexample.domain.TodoIdFilter;
+import dev.timduerr.openapigeneratorexample.execution.TodoOperationExecutor;
+import dev.timduerr.openapigeneratorexample.model.TodoBulkResultDto;
+import dev.timduerr.openapigeneratorexample.model.TodoChangesDto;
 import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
 import dev.timduerr.openapigeneratorexample.model.TodoDto;
 import dev.timduerr.openapigeneratorexample.model.TodoPatchDto;
+import dev.timduerr.openapigeneratorexample.model.TodoSuggestionsDto;
 import dev.timduerr.openapigeneratorexample.model.TodoUpdateDto;
-import dev.timduerr.openapigeneratorexample.web.SortResolver.DefaultSort;
-import dev.timduerr.openapigeneratorexample.web.SortResolver.SortResolution;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import dev.timduerr.openapigeneratorexample.observability.ServerTiming;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.net.URI;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
-import static dev.timduerr.openapigeneratorexample.mapper.TodoMapper.*;
-import static dev.timduerr.openapigeneratorexample.web.PaginationHeaders.*;
-import static dev.timduerr.openapigeneratorexample.web.SortHeaders.X_SORT;
-import static dev.timduerr.openapigeneratorexample.web.SortHeaders.X_SORT_DIR;
+import static dev.timduerr.openapigeneratorexample.observability.ServerTiming.report;
 
 /**
  * TodosApiDelegateImpl.
  *
+ * <p>Hands each operation to the {@link TodoOperationExecutor}, which runs the blocking
+ * {@link TodosApiOperations} within the operation's deadline while the servlet thread is released. Requests for
+ * ids the {@link TodoIdFilter} rules out are answered with {@code 404 Not Found} right away. Responses to timed
+ * requests carry the {@link ServerTiming} of the request as {@code Server-Timing} header.
+ *
  * @author Tim Dürr
  * @version 1.0
  */
 @Service
 public class TodosApiDelegateImpl implements TodosApiDelegate {
 
-    private final TodoRepository todoRepository;
+    private final TodosApiOperations operations;
+    private final TodoOperationExecutor executor;
+    private final TodoIdFilter todoIdFilter;
+
+    public TodosApiDelegateImpl(TodosApiOperations operations, TodoOperationExecutor executor, TodoIdFilter todoIdFilter) {
+        this.operations = operations;
+        this.executor = executor;
+        this.todoIdFilter = todoIdFilter;
+    }
 
-    public TodosApiDelegateImpl(TodoRepository todoRepository) {
-        this.todoRepository = todoRepository;
+    @Override
+    public CompletableFuture<ResponseEntity<List<TodoDto>>> listTodos(Integer page, Integer size, String sort, String q,
+                                                                      Boolean includeArchived, String fields) {
+        return report(executor.submit("listTodos", () -> operations.listTodos(page, size, sort, q, includeArchived, fields)));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<TodoDto>> createTodo(TodoCreateDto todoCreateDto) {
+        return report(executor.submit("createTodo", () -> operations.createTodo(todoCreateDto)));
     }
 
     @Override
-    public ResponseEntity<List<TodoDto>> listTodos(Integer page, Integer size, String sortString, String qString) {
-        int pageIndex = (page == null) ? 0 : Math.max(0, page);
-        int pageSize = (size == null) ? 20 : Math.max(1, Math.min(50, size));
-
-        DefaultSort defaultSort = new DefaultSort("title", Sort.Direction.ASC);
-        SortResolution sortResolution = SortResolver.resolve(TodoEntity.class, TodoDto.class, sortString, defaultSort);
-        Sort sort = sortResolution.sort().and(Sort.by(Sort.Order.asc("id"))); // ensure consistent order
-
-        PageRequest pageRequest = PageRequest.of(pageIndex, pageSize, sort);
-
-        Page<TodoEntity> result;
-        if (qString == null || qString.isBlank()) {
-            result = todoRepository.findAll(pageRequest);
-        } else {
-            result = todoRepository.findByTitleContainingIgnoreCase(qString, pageRequest);
-        }
-
-        List<TodoDto> body = result.getContent().stream()
-                .map(TodoMapper::toTodoDto)
-                .toList();
-
-        return ResponseEntity.ok()
-                .header(X_PAGE.getValue(), String.valueOf(pageIndex))
-                .header(X_SIZE.getValue(), String.valueOf(pageSize))
-                .header(X_TOTAL_ELEMENTS.getValue(), String.valueOf(result.getTotalElements()))
-                .header(X_TOTAL_PAGES.getValue(), String.valueOf(result.getTotalPages()))
-                .header(X_SORT.getValue(), sortResolution.appliedKey())
-                .header(X_SORT_DIR.getValue(), sortResolution.appliedDirection().name())
-                .body(body);
+    public CompletableFuture<ResponseEntity<TodoDto>> getTodo(UUID id, String fields) {
+        if (todoIdFilter.isAbsent(id, "getTodo")) return notFound();
+        return report(executor.submit("getTodo", () -> operations.getTodo(id, fields)));
     }
 
     @Override
-    public ResponseEntity<TodoDto> createTodo(TodoCreateDto todoCreateDto) {
-        TodoEntity newEntity = toTodoEntity(todoCreateDto);
-        TodoEntity savedEntity = todoRepository.save(newEntity);
+    public CompletableFuture<ResponseEntity<TodoSuggestionsDto>> suggestTodos(String prefix, Integer limit) {
+        // served from memory, a hand-off to the executor would cost more than the lookup
+        return report(CompletableFuture.completedFuture(operations.suggestTodos(prefix, limit)));
+    }
 
-        URI location = URI.create("/todos/" + savedEntity.getId());
-        return ResponseEntity.created(location).body(toTodoDto(savedEntity));
+    @Override
+    public CompletableFuture<ResponseEntity<TodoDto>> updateTodo(UUID id, TodoUpdateDto todoUpdateDto) {
+        if (todoIdFilter.isAbsent(id, "updateTodo")) return notFound();
+        return report(executor.submit("updateTodo", () -> operations.updateTodo(id, todoUpdateDto)));
     }
 
     @Override
-    public ResponseEntity<TodoDto> getTodo(UUID id) {
-        Optional<TodoEntity> todoOptional = todoRepository.findById(id);
-        return todoOptional.map(e -> ResponseEntity.ok(toTodoDto(e)))
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public CompletableFuture<ResponseEntity<TodoDto>> patchTodo(UUID id, TodoPatchDto todoPatchDto, String ifMatch) {
+        if (todoIdFilter.isAbsent(id, "patchTodo")) return notFound();
+        return report(executor.submit("patchTodo", () -> operations.patchTodo(id, todoPatchDto, ifMatch)));
     }
 
     @Override
-    public ResponseEntity<TodoDto> updateTodo(UUID id, TodoUpdateDto todoUpdateDto) {
-        if (!todoRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
-        }
-
-        TodoEntity todoEntity = toTodoEntity(id, todoUpdateDto);
-        TodoEntity updatedEntity = todoRepository.save(todoEntity);
-        return ResponseEntity.ok(toTodoDto(updatedEntity));
+    public CompletableFuture<ResponseEntity<TodoDto>> toggleTodo(UUID id, String ifMatch) {
+        if (todoIdFilter.isAbsent(id, "toggleTodo")) return notFound();
+        return report(executor.submit("toggleTodo", () -> operations.toggleTodo(id, ifMatch)));
     }
 
     @Override
-    public ResponseEntity<TodoDto> patchTodo(UUID id, TodoPatchDto todoPatchDto) {
-        Optional<TodoEntity> todoOptional = todoRepository.findById(id);
+    public CompletableFuture<ResponseEntity<Void>> deleteTodo(UUID id) {
+        if (todoIdFilter.isAbsent(id, "deleteTodo")) return notFound();
+        return report(executor.submit("deleteTodo", () -> operations.deleteTodo(id)));
+    }
 
-        if (todoOptional.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
+    @Override
+    public CompletableFuture<ResponseEntity<TodoBulkResultDto>> patchTodos(TodoPatchDto todoPatchDto, Boolean completed, String q) {
+        return report(executor.submit("patchTodos", () -> operations.patchTodos(todoPatchDto, completed, q)));
+    }
 
-        TodoEntity todoEntity = todoOptional.get();
-        TodoEntity patchedEntity = toTodoEntity(todoEntity, todoPatchDto);
-        TodoEntity updatedEntity = todoRepository.save(patchedEntity);
-        return ResponseEntity.ok(toTodoDto(updatedEntity));
+    @Override
+    public CompletableFuture<ResponseEntity<TodoBulkResultDto>> deleteTodos(Boolean completed, String q) {
+        return report(executor.submit("deleteTodos", () -> operations.deleteTodos(completed, q)));
     }
 
     @Override
-    public ResponseEntity<Void> deleteTodo(UUID id) {
-        if (!todoRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
-        }
+    public CompletableFuture<ResponseEntity<TodoChangesDto>> listTodoChanges(Long since, Integer limit) {
+        return report(executor.submit("listTodoChanges", () -> operations.listTodoChanges(since, limit)));
+    }
 
-        todoRepository.deleteById(id);
-        return ResponseEntity.noContent().build();
+    private static <T> CompletableFuture<ResponseEntity<T>> notFound() {
+        return report(CompletableFuture.completedFuture(ResponseEntity.notFound().build()));
     }
 }
@@ -0,0 +1,467 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.config.ArchiveProperties;
+import dev.timduerr.openapigeneratorexample.config.ImportProperties;
+import dev.timduerr.openapigeneratorexample.config.LookupProperties;
+import dev.timduerr.openapigeneratorexample.config.SuggestProperties;
+import dev.timduerr.openapigeneratorexample.config.SyncProperties;
+import dev.timduerr.openapigeneratorexample.domain.ChangeSequence;
+import dev.timduerr.openapigeneratorexample.domain.TodoBulkWriter;
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoField;
+import dev.timduerr.openapigeneratorexample.domain.TodoIdFilter;
+import dev.timduerr.openapigeneratorexample.domain.TodoImporter;
+import dev.timduerr.openapigeneratorexample.domain.TodoListingEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoListingRepository;
+import dev.timduerr.openapigeneratorexample.domain.TodoProjection;
+import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
+import dev.timduerr.openapigeneratorexample.domain.TodoTitleIndex;
+import dev.timduerr.openapigeneratorexample.domain.TodoTombstoneCompactor;
+import dev.timduerr.openapigeneratorexample.domain.TodoTombstoneEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoTombstoneRepository;
+import dev.timduerr.openapigeneratorexample.mapper.TodoMapper;
+import dev.timduerr.openapigeneratorexample.observability.jfr.TodoFlightRecorder;
+import dev.timduerr.openapigeneratorexample.model.TodoBulkResultDto;
+import dev.timduerr.openapigeneratorexample.model.TodoChangesDto;
+import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
+import dev.timduerr.openapigeneratorexample.model.TodoDto;
+import dev.timduerr.openapigeneratorexample.model.TodoImportErrorDto;
+import dev.timduerr.openapigeneratorexample.model.TodoImportResultDto;
+import dev.timduerr.openapigeneratorexample.model.TodoLookupDto;
+import dev.timduerr.openapigeneratorexample.model.TodoLookupResultDto;
+import dev.timduerr.openapigeneratorexample.model.TodoPatchDto;
+import dev.timduerr.openapigeneratorexample.model.TodoSuggestionsDto;
+import dev.timduerr.openapigeneratorexample.model.TodoUpdateDto;
+import dev.timduerr.openapigeneratorexample.web.SortResolver.DefaultSort;
+import dev.timduerr.openapigeneratorexample.web.SortResolver.SortResolution;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static dev.timduerr.openapigeneratorexample.mapper.TodoMapper.*;
+import static dev.timduerr.openapigeneratorexample.observability.jfr.TodoFlightRecorder.describe;
+import static dev.timduerr.openapigeneratorexample.observability.jfr.TodoFlightRecorder.recordPhase;
+import static dev.timduerr.openapigeneratorexample.observability.jfr.TodoPhase.*;
+import static dev.timduerr.openapigeneratorexample.web.PaginationHeaders.*;
+import static dev.timduerr.openapigeneratorexample.web.SortHeaders.X_SORT;
+import static dev.timduerr.openapigeneratorexample.web.SortHeaders.X_SORT_DIR;
+
+/**
+ * TodosApiOperations.
+ *
+ * <p>Blocking implementation of the Todo API operations. {@link TodosApiDelegateImpl} runs them on the
+ * {@link dev.timduerr.openapigeneratorexample.execution.TodoOperationExecutor}, within the deadline of the
+ * operation.
+ *
+ * <p>Todos read in full carry their change token as entity tag. Patches and toggles write with a single
+ * compare-and-set or in-place statement, so concurrent writers of the same todo neither lose updates nor hold its
+ * row lock across a read; an {@code If-Match} that no longer matches is answered with
+ * {@code 412 Precondition Failed}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Service
+public class TodosApiOperations {
+
+    /**
+     * Number of times an unconditional patch is retried against a todo that keeps changing under it.
+     */
+    private static final int PATCH_ATTEMPTS = 3;
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final ChangeSequence changeSequence;
+    private final TodoTombstoneCompactor todoTombstoneCompactor;
+    private final SyncProperties syncProperties;
+    private final LookupProperties lookupProperties;
+    private final TodoTitleIndex todoTitleIndex;
+    private final SuggestProperties suggestProperties;
+    private final TodoListingRepository todoListingRepository;
+    private final ArchiveProperties archiveProperties;
+    private final TodoIdFilter todoIdFilter;
+    private final TodoBulkWriter todoBulkWriter;
+    private final TodoImporter todoImporter;
+    private final ImportProperties importProperties;
+    private final ObjectMapper objectMapper;
+
+    public TodosApiOperations(TodoRepository todoRepository,
+                              TodoTombstoneRepository todoTombstoneRepository,
+                              ChangeSequence changeSequence,
+                              TodoTombstoneCompactor todoTombstoneCompactor,
+                              SyncProperties syncProperties,
+                              LookupProperties lookupProperties,
+                              TodoTitleIndex todoTitleIndex,
+                              SuggestProperties suggestProperties,
+                              TodoListingRepository todoListingRepository,
+                              ArchiveProperties archiveProperties,
+                              TodoIdFilter todoIdFilter,
+                              TodoBulkWriter todoBulkWriter,
+                              TodoImporter todoImporter,
+                              ImportProperties importProperties,
+                              ObjectMapper objectMapper) {
+        this.todoRepository = todoRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.changeSequence = changeSequence;
+        this.todoTombstoneCompactor = todoTombstoneCompactor;
+        this.syncProperties = syncProperties;
+        this.lookupProperties = lookupProperties;
+        this.todoTitleIndex = todoTitleIndex;
+        this.suggestProperties = suggestProperties;
+        this.todoListingRepository = todoListingRepository;
+        this.archiveProperties = archiveProperties;
+        this.todoIdFilter = todoIdFilter;
+        this.todoBulkWriter = todoBulkWriter;
+        this.todoImporter = todoImporter;
+        this.importProperties = importProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<TodoDto>> listTodos(Integer page, Integer size, String sortString, String qString,
+                                                   Boolean includeArchived, String fieldsString) {
+        Optional<Set<TodoField>> selection = FieldsResolver.resolve(fieldsString);
+        if (selection.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Set<TodoField> fields = selection.get();
+
+        int pageIndex = (page == null) ? 0 : Math.max(0, page);
+        int pageSize = (size == null) ? 20 : Math.max(1, Math.min(50, size));
+
+        DefaultSort defaultSort = new DefaultSort("title", Sort.Direction.ASC);
+        SortResolution sortResolution = recordPhase(SORT_RESOLUTION,
+                () -> SortResolver.resolve(TodoDto.class, TodoEntity.class, sortString, defaultSort));
+        describe(sortResolution.appliedKey(), pageSize);
+        Sort sort = sortResolution.sort().and(Sort.by(Sort.Order.asc("id"))); // ensure consistent order
+
+        PageRequest pageRequest = PageRequest.of(pageIndex, pageSize, sort);
+
+        // the union is only meaningful where archival runs, i.e. where the todos live in tbl_todo
+        boolean listArchived = Boolean.TRUE.equals(includeArchived) && archiveProperties.enabled();
+        boolean unfiltered = qString == null || qString.isBlank();
+
+        Page<TodoDto> result;
+        if (!fields.equals(FieldsResolver.ALL_FIELDS)) {
+            // select only the requested columns, the unselected properties stay null and are not serialized
+            Page<TodoProjection> projections = recordPhase(REPOSITORY,
+                    () -> todoRepository.findProjected(fields, qString, listArchived, pageRequest), TodoFlightRecorder::rows);
+            result = recordPhase(MAPPING, () -> projections.map(TodoMapper::toTodoDto), TodoFlightRecorder::rows);
+        } else if (listArchived) {
+            Page<TodoListingEntity> entities = recordPhase(REPOSITORY, () -> unfiltered
+                    ? todoListingRepository.findAll(pageRequest)
+                    : todoListingRepository.findByTitleContainingIgnoreCase(qString, pageRequest), TodoFlightRecorder::rows);
+            result = recordPhase(MAPPING, () -> entities.map(TodoMapper::toTodoDto), TodoFlightRecorder::rows);
+        } else {
+            Page<TodoEntity> entities = recordPhase(REPOSITORY, () -> unfiltered
+                    ? todoRepository.findAll(pageRequest)
+                    : todoRepository.findByTitleContainingIgnoreCase(qString, pageRequest), TodoFlightRecorder::rows);
+            result = recordPhase(MAPPING, () -> entities.map(TodoMapper::toTodoDto), TodoFlightRecorder::rows);
+        }
+
+        List<TodoDto> body = result.getContent();
+
+        return ResponseEntity.ok()
+                .header(X_PAGE.getValue(), String.valueOf(pageIndex))
+                .header(X_SIZE.getValue(), String.valueOf(pageSize))
+                .header(X_TOTAL_ELEMENTS.getValue(), String.valueOf(result.getTotalElements()))
+                .header(X_TOTAL_PAGES.getValue(), String.valueOf(result.getTotalPages()))
+                .header(X_SORT.getValue(), sortResolution.appliedKey())
+                .header(X_SORT_DIR.getValue(), sortResolution.appliedDirection().name())
+                .body(body);
+    }
+
+    @Transactional
+    public ResponseEntity<TodoDto> createTodo(TodoCreateDto todoCreateDto) {
+        TodoEntity newEntity = toTodoEntity(todoCreateDto);
+        newEntity.setChangeSeq(changeSequence.next());
+        TodoEntity savedEntity = recordPhase(REPOSITORY, () -> todoRepository.save(newEntity), TodoFlightRecorder::rows);
+        todoIdFilter.add(savedEntity.getId());
+        todoTitleIndex.put(savedEntity.getId(), savedEntity.getTitle(), savedEntity.getChangeSeq());
+
+        URI location = URI.create("/todos/" + savedEntity.getId());
+        return ResponseEntity.created(location)
+                .eTag(EntityTags.of(savedEntity.getChangeSeq()))
+                .body(toTodoDto(savedEntity));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<TodoDto> getTodo(UUID id, String fieldsString) {
+        Optional<Set<TodoField>> selection = FieldsResolver.resolve(fieldsString);
+        if (selection.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Set<TodoField> fields = selection.get();
+        if (!fields.equals(FieldsResolver.ALL_FIELDS)) {
+            Optional<TodoProjection> projectionOptional = recordPhase(REPOSITORY,
+                    () -> todoRepository.findProjectedById(id, fields), TodoFlightRecorder::rows);
+            return projectionOptional.map(p -> ResponseEntity.ok(toTodoDto(p)))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        }
+
+        Optional<TodoEntity> todoOptional = recordPhase(REPOSITORY, () -> todoRepository.findById(id), TodoFlightRecorder::rows);
+        return todoOptional.map(e -> ResponseEntity.ok().eTag(EntityTags.of(e.getChangeSeq())).body(toTodoDto(e)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<TodoLookupResultDto> lookupTodos(TodoLookupDto todoLookupDto) {
+        List<UUID> ids = todoLookupDto.ids();
+        if (ids.size() > lookupProperties.maxIds()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<TodoEntity> found = recordPhase(REPOSITORY,
+                () -> todoRepository.findAllByIdInChunks(ids, lookupProperties.chunkSize()), List::size);
+        Map<UUID, TodoEntity> todosById = new HashMap<>();
+        for (TodoEntity entity : found) {
+            todosById.put(entity.getId(), entity);
+        }
+
+        // one entry per requested id, in request order, including duplicates and misses
+        return ResponseEntity.ok(new TodoLookupResultDto(recordPhase(MAPPING, () -> ids.stream()
+                .map(id -> toTodoLookupEntryDto(id, todosById.get(id)))
+                .toList(), List::size)));
+    }
+
+    public ResponseEntity<TodoSuggestionsDto> suggestTodos(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int suggestionLimit = (limit == null)
+                ? suggestProperties.defaultLimit()
+                : Math.max(1, Math.min(suggestProperties.maxLimit(), limit));
+
+        return ResponseEntity.ok(new TodoSuggestionsDto(todoTitleIndex.suggest(prefix, suggestionLimit).stream()
+                .map(TodoMapper::toTodoSuggestionDto)
+                .toList()));
+    }
+
+    @Transactional
+    public ResponseEntity<TodoDto> updateTodo(UUID id, TodoUpdateDto todoUpdateDto) {
+        if (!recordPhase(REPOSITORY, () -> todoRepository.existsById(id), TodoFlightRecorder::rows)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        TodoEntity todoEntity = toTodoEntity(id, todoUpdateDto);
+        todoEntity.setChangeSeq(changeSequence.next());
+        TodoEntity updatedEntity = recordPhase(REPOSITORY, () -> todoRepository.save(todoEntity), TodoFlightRecorder::rows);
+        todoTitleIndex.put(id, updatedEntity.getTitle(), updatedEntity.getChangeSeq());
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedEntity.getChangeSeq()))
+                .body(toTodoDto(updatedEntity));
+    }
+
+    @Transactional
+    public ResponseEntity<TodoDto> patchTodo(UUID id, TodoPatchDto todoPatchDto, String ifMatch) {
+        Set<Long> acceptedChangeSeqs = EntityTags.acceptedChangeSeqs(ifMatch);
+
+        for (int attempt = 0; attempt < PATCH_ATTEMPTS; attempt++) {
+            Optional<TodoEntity> todoOptional = recordPhase(REPOSITORY, () -> todoRepository.findById(id), TodoFlightRecorder::rows);
+
+            if (todoOptional.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            TodoEntity todoEntity = todoOptional.get();
+            if (acceptedChangeSeqs != null && !acceptedChangeSeqs.contains(todoEntity.getChangeSeq())) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+
+            TodoEntity patchedEntity = toTodoEntity(todoEntity, todoPatchDto);
+            patchedEntity.setChangeSeq(changeSequence.next());
+            int written = recordPhase(REPOSITORY,
+                    () -> todoRepository.compareAndSet(patchedEntity, todoEntity.getChangeSeq()), Integer::intValue);
+
+            if (written == 1) {
+                if (todoPatchDto.title() != null) {
+                    todoTitleIndex.put(id, patchedEntity.getTitle(), patchedEntity.getChangeSeq());
+                }
+                return ResponseEntity.ok()
+                        .eTag(EntityTags.of(patchedEntity.getChangeSeq()))
+                        .body(toTodoDto(patchedEntity));
+            }
+
+            if (acceptedChangeSeqs != null) {
+                // written by someone else between the read and the compare-and-set
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+        }
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @Transactional
+    public ResponseEntity<TodoDto> toggleTodo(UUID id, String ifMatch) {
+        Set<Long> acceptedChangeSeqs = EntityTags.acceptedChangeSeqs(ifMatch);
+        long changeSeq = changeSequence.next();
+
+        int toggled = recordPhase(REPOSITORY,
+                () -> todoRepository.toggleCompleted(id, acceptedChangeSeqs, changeSeq, Instant.now()), Integer::intValue);
+
+        if (toggled == 0) {
+            boolean exists = acceptedChangeSeqs != null
+                    && recordPhase(REPOSITORY, () -> todoRepository.existsById(id), TodoFlightRecorder::rows);
+            return exists
+                    ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()
+                    : ResponseEntity.notFound().build();
+        }
+
+        // the update does not return the todo, read it back for the response
+        Optional<TodoEntity> todoOptional = recordPhase(REPOSITORY, () -> todoRepository.findById(id), TodoFlightRecorder::rows);
+        return todoOptional.map(e -> ResponseEntity.ok().eTag(EntityTags.of(e.getChangeSeq())).body(toTodoDto(e)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Transactional
+    public ResponseEntity<Void> deleteTodo(UUID id) {
+        if (!recordPhase(REPOSITORY, () -> todoRepository.existsById(id), TodoFlightRecorder::rows)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        recordPhase(REPOSITORY, () -> todoRepository.deleteById(id));
+
+        TodoTombstoneEntity tombstone = new TodoTombstoneEntity();
+        tombstone.setId(id);
+        tombstone.setChangeSeq(changeSequence.next());
+        tombstone.setDeletedAt(Instant.now());
+        todoTitleIndex.delete(id, tombstone.getChangeSeq());
+        recordPhase(REPOSITORY, () -> todoTombstoneRepository.save(tombstone), TodoFlightRecorder::rows);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    public ResponseEntity<TodoBulkResultDto> patchTodos(TodoPatchDto todoPatchDto, Boolean completed, String qString) {
+        String q = (qString == null || qString.isBlank()) ? null : qString;
+        if ((completed == null && q == null) || (todoPatchDto.title() == null && todoPatchDto.completed() == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // chunked, each chunk commits in a transaction of its own
+        int patched = recordPhase(REPOSITORY, () -> todoBulkWriter.patchMatching(
+                completed, q, todoPatchDto.title(), todoPatchDto.completed()), Integer::intValue);
+        return ResponseEntity.ok(new TodoBulkResultDto((long) patched));
+    }
+
+    public ResponseEntity<TodoBulkResultDto> deleteTodos(Boolean completed, String qString) {
+        String q = (qString == null || qString.isBlank()) ? null : qString;
+        if (completed == null && q == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // chunked, each chunk commits in a transaction of its own
+        int deleted = recordPhase(REPOSITORY, () -> todoBulkWriter.deleteMatching(completed, q), Integer::intValue);
+        return ResponseEntity.ok(new TodoBulkResultDto((long) deleted));
+    }
+
+    public ResponseEntity<TodoImportResultDto> importTodos(Resource body) {
+        int batchSize = importProperties.batchSize();
+        List<TodoEntity> batch = new ArrayList<>(batchSize);
+        List<TodoImportErrorDto> errors = new ArrayList<>();
+        long imported = 0;
+        long failed = 0;
+
+        // the next lines are only read once the batch before them is committed, which throttles the client
+        try (InputStream input = body.getInputStream()) {
+            NdjsonReader<TodoCreateDto> reader = new NdjsonReader<>(
+                    input, objectMapper, TodoCreateDto.class, (int) importProperties.maxLineLength().toBytes());
+            for (NdjsonReader.Line<TodoCreateDto> line = reader.next(); line != null; line = reader.next()) {
+                String error = (line.error() != null) ? line.error() : String.join(", ", line.value().violations());
+                if (!error.isEmpty()) {
+                    if (errors.size() < importProperties.maxErrors()) errors.add(new TodoImportErrorDto(line.number(), error));
+                    failed++;
+                    continue;
+                }
+
+                batch.add(toTodoEntity(line.value()));
+                if (batch.size() == batchSize) {
+                    imported += recordPhase(REPOSITORY, () -> todoImporter.insert(batch), Integer::intValue);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the import after " + (imported + batch.size() + failed) + " lines", e);
+        }
+        imported += recordPhase(REPOSITORY, () -> todoImporter.insert(batch), Integer::intValue);
+
+        return ResponseEntity.ok(new TodoImportResultDto(imported, failed, errors));
+    }
+
+    // not read-only, so that the feed is read from the primary: the watermark is the primary's, a lagging replica
+    // may hold a change above it without one below it
+    @Transactional
+    public ResponseEntity<TodoChangesDto> listTodoChanges(Long since, Integer limit) {
+        long sinceToken = (since == null) ? 0 : Math.max(0, since);
+        int changeLimit = (limit == null)
+                ? syncProperties.defaultLimit()
+                : Math.max(1, Math.min(syncProperties.maxLimit(), limit));
+
+        if (sinceToken < todoTombstoneCompactor.horizon()) {
+            // deletions below the horizon are gone, the client has to start over with a full listing
+            return ResponseEntity.ok(new TodoChangesDto(List.of(), List.of(), changeSequence.watermark(), false, true));
+        }
+
+        // taken before reading, so every change up to it is committed and visible; later ones are left for the next poll
+        long watermark = changeSequence.watermark();
+
+        // fetch one extra row per source to detect whether more changes follow
+        PageRequest pageRequest = PageRequest.of(0, changeLimit + 1, Sort.by(Sort.Order.asc("changeSeq")));
+        List<TodoEntity> changed = recordPhase(REPOSITORY,
+                () -> todoRepository.findByChangeSeqGreaterThan(sinceToken, pageRequest), List::size).stream()
+                .filter(entity -> entity.getChangeSeq() <= watermark)
+                .toList();
+        List<TodoTombstoneEntity> deleted = recordPhase(REPOSITORY,
+                () -> todoTombstoneRepository.findByChangeSeqGreaterThan(sinceToken, pageRequest), List::size).stream()
+                .filter(tombstone -> tombstone.getChangeSeq() <= watermark)
+                .toList();
+
+        List<TodoDto> changes = new ArrayList<>();
+        List<UUID> deletedIds = new ArrayList<>();
+        long nextToken = sinceToken;
+        int changedIndex = 0;
+        int deletedIndex = 0;
+
+        // merge both sources by change token so that nextToken never skips an unreturned change
+        while (changes.size() + deletedIds.size() < changeLimit
+                && (changedIndex < changed.size() || deletedIndex < deleted.size())) {
+            boolean takeChanged = deletedIndex >= deleted.size()
+                    || (changedIndex < changed.size()
+                    && changed.get(changedIndex).getChangeSeq() < deleted.get(deletedIndex).getChangeSeq());
+
+            if (takeChanged) {
+                TodoEntity entity = changed.get(changedIndex++);
+                changes.add(toTodoDto(entity));
+                nextToken = entity.getChangeSeq();
+            } else {
+                TodoTombstoneEntity tombstone = deleted.get(deletedIndex++);
+                deletedIds.add(tombstone.getId());
+                nextToken = tombstone.getChangeSeq();
+            }
+        }
+
+        boolean hasMore = changedIndex < changed.size() || deletedIndex < deleted.size();
+
+        return ResponseEntity.ok(new TodoChangesDto(changes, deletedIds, nextToken, hasMore, false));
+    }
+}
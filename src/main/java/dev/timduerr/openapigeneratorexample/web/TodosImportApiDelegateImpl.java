@@ -0,0 +1,38 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import dev.timduerr.openapigeneratorexample.execution.TodoOperationExecutor;
+import dev.timduerr.openapigeneratorexample.model.TodoImportResultDto;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+import static dev.timduerr.openapigeneratorexample.observability.ServerTiming.report;
+
+/**
+ * TodosImportApiDelegateImpl.
+ *
+ * <p>The generator groups operations by their first path segment, so {@code /todos:import} has a delegate of its
+ * own. The body is bound by the {@link StreamingResourceHttpMessageConverter} and read on the operation's thread
+ * while it arrives.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Service
+public class TodosImportApiDelegateImpl implements TodosImportApiDelegate {
+
+    private final TodosApiOperations operations;
+    private final TodoOperationExecutor executor;
+
+    public TodosImportApiDelegateImpl(TodosApiOperations operations, TodoOperationExecutor executor) {
+        this.operations = operations;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<TodoImportResultDto>> importTodos(Resource body) {
+        return report(executor.submit("importTodos", () -> operations.importTodos(body)));
+    }
+}
@@ -0,0 +1,37 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import dev.timduerr.openapigeneratorexample.execution.TodoOperationExecutor;
+import dev.timduerr.openapigeneratorexample.model.TodoLookupDto;
+import dev.timduerr.openapigeneratorexample.model.TodoLookupResultDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+import static dev.timduerr.openapigeneratorexample.observability.ServerTiming.report;
+
+/**
+ * TodosLookupApiDelegateImpl.
+ *
+ * <p>The generator groups operations by their first path segment, so {@code /todos:lookup} has a delegate of its
+ * own. It is run like the operations of {@link TodosApiDelegateImpl}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Service
+public class TodosLookupApiDelegateImpl implements TodosLookupApiDelegate {
+
+    private final TodosApiOperations operations;
+    private final TodoOperationExecutor executor;
+
+    public TodosLookupApiDelegateImpl(TodosApiOperations operations, TodoOperationExecutor executor) {
+        this.operations = operations;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<TodoLookupResultDto>> lookupTodos(TodoLookupDto todoLookupDto) {
+        return report(executor.submit("lookupTodos", () -> operations.lookupTodos(todoLookupDto)));
+    }
+}
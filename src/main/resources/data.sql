@@ -1,27 +1,30 @@
-INSERT INTO tbl_todo (id, title, completed) VALUES
-    ('073c98bc-4fa0-4ede-b121-6be06c25977f', 'Call mom', FALSE),
-    ('0f454f77-b06d-4927-abfb-e301b9337258', 'Buy groceries', FALSE),
-    ('114003e0-9b78-45f2-9d79-e5e336ebb3b0', 'Put the groceries in the fridge', FALSE),
-    ('28d36827-1368-4b95-8b6c-154c2cb37112', 'Pay rent', TRUE),
-    ('3ae37453-5404-45fa-8e7b-9bef0b31bb26', 'Finish report', FALSE),
-    ('45576b06-7f47-4279-96d0-17cad5cdfd7f', 'Book dentist', FALSE),
-    ('4c297f8b-e20f-4ae6-8af3-623a9232a9c9', 'Clean kitchen', FALSE),
-    ('546b4a7c-0c66-4934-9408-17e6812ae6b5', 'Send invoice', TRUE),
-    ('5a08fd66-1279-4412-89fa-6ab8b9d77336', 'Update CV', TRUE),
-    ('62ba2230-6870-4557-8078-277c837811bd', 'Car wash', TRUE),
-    ('6e4e1bae-5390-431b-bd90-a29234cfa3c8', 'Gym workout', TRUE),
-    ('70ebdeac-e3c4-42d0-9487-382bf06a20b3', 'Plan trip', TRUE),
-    ('848db4b6-f89b-4e0a-af2c-4481dc3c78ef', 'Team meeting', TRUE),
-    ('855d8195-d4ad-48d7-818b-58f5aad4c07a', 'Fix bike', FALSE),
-    ('856ce288-a04b-49f4-b97e-c3617001b3dc', 'Water plants', FALSE),
-    ('87aabdd5-c6ca-4628-bc84-9fcb872ca531', 'Backup laptop', TRUE),
-    ('9979a052-380d-452d-87f7-e80b0157ab2e', 'Read article', FALSE),
-    ('b81a90d2-a157-413c-b135-8c26cccdceb4', 'Buy birthday gift', TRUE),
-    ('c2fbf68f-e226-450a-bcad-a334bbb95e79', 'Check emails', TRUE),
-    ('ce23d388-528a-4eef-a27c-865bec018987', 'Walk dog', FALSE),
-    ('d4965ea6-cd7d-46df-9554-b9ba18506256', 'Order printer ink', TRUE),
-    ('dd8c214d-3a41-43c1-bd4a-4d2a56ac4db6', 'Review code', FALSE),
-    ('f08191df-65ab-42b5-8b3f-8b3e5b275c2e', 'Schedule haircut', FALSE),
-    ('f53d5a36-7d69-4309-9863-36ed3a3d8208', 'Prepare slides', TRUE),
-    ('fb176acf-9d4a-4ede-b083-37b0c11c77c0', 'Call insurance', TRUE),
-    ('fe3a5023-b5d0-4223-9ea0-daad61492fc2', 'Clean inbox', FALSE);
+INSERT INTO tbl_todo (id, title, completed, change_seq) VALUES
+    ('073c98bc-4fa0-4ede-b121-6be06c25977f', 'Call mom', FALSE, 1),
+    ('0f454f77-b06d-4927-abfb-e301b9337258', 'Buy groceries', FALSE, 2),
+    ('114003e0-9b78-45f2-9d79-e5e336ebb3b0', 'Put the groceries in the fridge', FALSE, 3),
+    ('28d36827-1368-4b95-8b6c-154c2cb37112', 'Pay rent', TRUE, 4),
+    ('3ae37453-5404-45fa-8e7b-9bef0b31bb26', 'Finish report', FALSE, 5),
+    ('45576b06-7f47-4279-96d0-17cad5cdfd7f', 'Book dentist', FALSE, 6),
+    ('4c297f8b-e20f-4ae6-8af3-623a9232a9c9', 'Clean kitchen', FALSE, 7),
+    ('546b4a7c-0c66-4934-9408-17e6812ae6b5', 'Send invoice', TRUE, 8),
+    ('5a08fd66-1279-4412-89fa-6ab8b9d77336', 'Update CV', TRUE, 9),
+    ('62ba2230-6870-4557-8078-277c837811bd', 'Car wash', TRUE, 10),
+    ('6e4e1bae-5390-431b-bd90-a29234cfa3c8', 'Gym workout', TRUE, 11),
+    ('70ebdeac-e3c4-42d0-9487-382bf06a20b3', 'Plan trip', TRUE, 12),
+    ('848db4b6-f89b-4e0a-af2c-4481dc3c78ef', 'Team meeting', TRUE, 13),
+    ('855d8195-d4ad-48d7-818b-58f5aad4c07a', 'Fix bike', FALSE, 14),
+    ('856ce288-a04b-49f4-b97e-c3617001b3dc', 'Water plants', FALSE, 15),
+    ('87aabdd5-c6ca-4628-bc84-9fcb872ca531', 'Backup laptop', TRUE, 16),
+    ('9979a052-380d-452d-87f7-e80b0157ab2e', 'Read article', FALSE, 17),
+    ('b81a90d2-a157-413c-b135-8c26cccdceb4', 'Buy birthday gift', TRUE, 18),
+    ('c2fbf68f-e226-450a-bcad-a334bbb95e79', 'Check emails', TRUE, 19),
+    ('ce23d388-528a-4eef-a27c-865bec018987', 'Walk dog', FALSE, 20),
+    ('d4965ea6-cd7d-46df-9554-b9ba18506256', 'Order printer ink', TRUE, 21),
+    ('dd8c214d-3a41-43c1-bd4a-4d2a56ac4db6', 'Review code', FALSE, 22),
+    ('f08191df-65ab-42b5-8b3f-8b3e5b275c2e', 'Schedule haircut', FALSE, 23),
+    ('f53d5a36-7d69-4309-9863-36ed3a3d8208', 'Prepare slides', TRUE, 24),
+    ('fb176acf-9d4a-4ede-b083-37b0c11c77c0', 'Call insurance', TRUE, 25),
+    ('fe3a5023-b5d0-4223-9ea0-daad61492fc2', 'Clean inbox', FALSE, 26);
+
+-- completed seed todos count as completed at startup, so archival only picks them up after the configured age
+UPDATE tbl_todo SET completed_at = CURRENT_TIMESTAMP WHERE completed;
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS tbl_todo (
+    id           UUID                        NOT NULL PRIMARY KEY,
+    title        VARCHAR(255)                NOT NULL,
+    completed    BOOLEAN                     NOT NULL,
+    change_seq   BIGINT                      NOT NULL,
+    completed_at TIMESTAMP(6) WITH TIME ZONE
+);
+CREATE INDEX IF NOT EXISTS idx_todo_change_seq ON tbl_todo (change_seq);
+
+CREATE TABLE IF NOT EXISTS tbl_todo_tombstone (
+    id         UUID                        NOT NULL PRIMARY KEY,
+    change_seq BIGINT                      NOT NULL,
+    deleted_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstone_change_seq ON tbl_todo_tombstone (change_seq);
+
+CREATE TABLE IF NOT EXISTS tbl_todo_archive (
+    id           UUID                        NOT NULL PRIMARY KEY,
+    title        VARCHAR(255)                NOT NULL,
+    completed    BOOLEAN                     NOT NULL,
+    change_seq   BIGINT                      NOT NULL,
+    completed_at TIMESTAMP(6) WITH TIME ZONE,
+    archived_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_todo_archive_change_seq ON tbl_todo_archive (change_seq);
@@ -0,0 +1,81 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import dev.timduerr.openapigeneratorexample.OpenApiGeneratorExampleApplication;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ApiDocsStartupBenchmark.
+ *
+ * <p>Compares serving the OpenAPI document bundled at build time with springdoc's runtime scanning: time to start
+ * the application, time of the first document request and the heap retained afterward. The modes alternate for
+ * {@code benchmark.rounds} rounds so that JIT and class loading of earlier runs do not favour one mode. Run with
+ * {@code mvn test -Pbenchmark -Dbenchmark.rounds=3}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class ApiDocsStartupBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiDocsStartupBenchmark.class);
+
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 3);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void bundledVersusRuntimeScanning() throws Exception {
+        for (int round = 1; round <= ROUNDS; round++) {
+            run(round, false, "/api-docs/openapi.json");
+            run(round, true, "/v3/api-docs");
+        }
+    }
+
+    private void run(int round, boolean runtimeScanning, String documentPath) throws Exception {
+        String mode = runtimeScanning ? "runtime scanning" : "bundled";
+        long heapBefore = usedHeapAfterGc();
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OpenApiGeneratorExampleApplication.class)
+                .properties(
+                        "server.port=0",
+                        "springdoc.api-docs.enabled=" + runtimeScanning,
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run()) {
+            long startupNanos = System.nanoTime() - start;
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + documentPath)).build();
+            start = System.nanoTime();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long firstRequestNanos = System.nanoTime() - start;
+            assertEquals(200, response.statusCode(), documentPath);
+
+            long retainedHeap = usedHeapAfterGc() - heapBefore;
+            log.info("round {} {}: startup {} ms, first {} {} ms ({} bytes), retained heap {} MB", round, mode,
+                    startupNanos / 1_000_000, documentPath, firstRequestNanos / 1_000_000, response.body().length,
+                    retainedHeap / (1024 * 1024));
+        }
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,85 @@
+package dev.timduerr.openapigeneratorexample.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * StaticResourceConfigurationTest.
+ *
+ * <p>Uses the fixtures in {@code src/test/resources/static}, which were precompressed with
+ * {@code frontend/scripts/compress.mjs}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@WebMvcTest
+@Import(StaticResourceConfiguration.class)
+public class StaticResourceConfigurationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    /**
+     * Tests that a client accepting Brotli gets the precompressed Brotli variant of a hashed asset.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void hashedAsset_acceptsBrotli_servesBrotliVariantImmutable() throws Exception {
+        mockMvc.perform(get("/main-TESTHASH.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, StaticResourceConfiguration.HASHED_ASSET_CACHE.getHeaderValue()))
+                .andExpect(content().bytes(fixture("main-TESTHASH.js.br")));
+    }
+
+    /**
+     * Tests that a client accepting only gzip gets the precompressed gzip variant.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void hashedAsset_acceptsGzip_servesGzipVariant() throws Exception {
+        mockMvc.perform(get("/main-TESTHASH.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(fixture("main-TESTHASH.js.gz")));
+    }
+
+    /**
+     * Tests that a client without Accept-Encoding gets the uncompressed asset.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void hashedAsset_noAcceptEncoding_servesIdentity() throws Exception {
+        mockMvc.perform(get("/main-TESTHASH.js"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(fixture("main-TESTHASH.js")));
+    }
+
+    /**
+     * Tests that index.html is only cached briefly.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void indexHtml_shortCache() throws Exception {
+        mockMvc.perform(get("/index.html").header(HttpHeaders.ACCEPT_ENCODING, "br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, StaticResourceConfiguration.INDEX_CACHE.getHeaderValue()));
+    }
+
+    private static byte[] fixture(String name) throws Exception {
+        return new ClassPathResource("static/" + name).getContentAsByteArray();
+    }
+}
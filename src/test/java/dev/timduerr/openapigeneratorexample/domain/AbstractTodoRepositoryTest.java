@@ -0,0 +1,205 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AbstractTodoRepositoryTest.
+ *
+ * <p>Behaviour every {@link TodoRepository} engine has to provide. Each test runs in a transaction, like the
+ * repository calls of the application; the class-level transaction of {@code @DataJpaTest} does not reach the
+ * methods inherited from here.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@Transactional
+abstract class AbstractTodoRepositoryTest {
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    /**
+     * Tests that the repository is seeded with data via the data.sql script and that the repository can be paginated.
+     */
+    @Test
+    void findAll_isSeeded_viaDataSql_andPaginates() {
+        PageRequest pageRequest = PageRequest.of(0, 5, Sort.by("title"));
+        Page<TodoEntity> pageZero = todoRepository.findAll(pageRequest);
+
+        assertTrue(6 < pageZero.getTotalElements(), "Expected more than 5 items");
+        assertEquals(5, pageZero.getContent().size(), "Expected 5 items on the first page");
+    }
+
+    /**
+     * Tests that the repository can be paginated and filtered by title.
+     */
+    @Test
+    void search_titleContainingIgnoreCase_returnsExpectedResults() {
+        PageRequest pageRequest = PageRequest.of(0, 5);
+        Page<TodoEntity> pageZero = todoRepository.findByTitleContainingIgnoreCase("grocer", pageRequest);
+
+        assertTrue(pageZero.getContent().stream()
+                .map(item -> item.getTitle().toLowerCase())
+                .anyMatch(title -> title.contains("grocer")),
+                "Expected 'grocer' to be in the results");
+    }
+
+    /**
+     * Tests that projections carry only the selected fields, for pages and single todos.
+     */
+    @Test
+    void findProjected_selectedFieldsOnly() {
+        PageRequest pageRequest = PageRequest.of(0, 5, Sort.by("completed"));
+        Page<TodoProjection> page = todoRepository.findProjected(Set.of(TodoField.TITLE), "grocer", false, pageRequest);
+
+        assertFalse(page.isEmpty(), "Expected 'grocer' to be found");
+        assertTrue(page.getContent().stream().allMatch(todo -> todo.id() == null && todo.completed() == null),
+                "Expected only the title to be selected");
+        assertTrue(page.getContent().stream().allMatch(todo -> todo.title().toLowerCase().contains("grocer")),
+                "Expected the search to be applied");
+
+        Optional<TodoProjection> todo = todoRepository.findProjectedById(
+                UUID.fromString("073c98bc-4fa0-4ede-b121-6be06c25977f"), Set.of(TodoField.ID, TodoField.COMPLETED));
+        assertEquals(Optional.of(new TodoProjection(UUID.fromString("073c98bc-4fa0-4ede-b121-6be06c25977f"), null, false)), todo,
+                "Expected id and completed state only");
+    }
+
+    /**
+     * Tests that toggles and compare-and-set writes apply only while the todo carries the expected change token.
+     */
+    @Test
+    void toggleCompletedAndCompareAndSet_applyToExpectedChangeSeqOnly() {
+        TodoEntity todo = new TodoEntity();
+        todo.setTitle("Contended");
+        todo.setChangeSeq(1_000_000);
+        UUID id = todoRepository.save(todo).getId();
+
+        assertEquals(0, todoRepository.toggleCompleted(id, Set.of(999_999L), 1_000_001, Instant.now()), "Expected a stale toggle to be rejected");
+        assertEquals(0, todoRepository.toggleCompleted(id, Set.of(), 1_000_001, Instant.now()), "Expected an unmatchable toggle to be rejected");
+        assertEquals(1, todoRepository.toggleCompleted(id, Set.of(999_999L, 1_000_000L), 1_000_001, Instant.now()), "Expected the toggle to apply");
+
+        TodoEntity toggled = todoRepository.findById(id).orElseThrow();
+        assertTrue(toggled.isCompleted(), "Expected the todo to be completed");
+        assertNotNull(toggled.getCompletedAt(), "Expected the completion time to be stamped");
+        assertEquals(1_000_001, toggled.getChangeSeq(), "Expected the change token of the toggle");
+
+        // a detached new state, like the patches of the API
+        TodoEntity renamed = SerializationUtils.clone(toggled);
+        renamed.setTitle("Renamed");
+        renamed.setChangeSeq(1_000_002);
+        assertEquals(0, todoRepository.compareAndSet(renamed, 1_000_000), "Expected a stale write to be rejected");
+        assertEquals(1, todoRepository.compareAndSet(renamed, 1_000_001), "Expected the write to apply");
+        assertEquals(1, todoRepository.toggleCompleted(id, null, 1_000_003, Instant.now()), "Expected an unconditional toggle to apply");
+
+        TodoEntity written = todoRepository.findById(id).orElseThrow();
+        assertEquals("Renamed", written.getTitle(), "Expected the written title");
+        assertFalse(written.isCompleted(), "Expected the todo to be toggled back");
+        assertNull(written.getCompletedAt(), "Expected the completion time to be cleared");
+
+        todoRepository.deleteById(id);
+    }
+
+    /**
+     * Tests that bulk writes apply to the matching todos only and stamp each one with its own change token, in id
+     * order.
+     */
+    @Test
+    void bulkPatchAndBulkDelete_matchingTodosOnly_distinctChangeSeqs() {
+        UUID otherId = null;
+        for (String title : List.of("Bulk first", "Bulk second", "Other")) {
+            TodoEntity todo = new TodoEntity();
+            todo.setTitle(title);
+            otherId = todoRepository.save(todo).getId();
+        }
+
+        List<UUID> ids = todoRepository.lockMatching(false, "bulk", new UUID(0, 0), 10);
+        assertEquals(2, ids.size(), "Expected the two matching todos");
+        assertEquals(List.of(ids.get(1)), todoRepository.lockMatching(false, "bulk", ids.get(0), 10),
+                "Expected the walk to continue after the given id");
+
+        assertEquals(2, todoRepository.bulkPatch(ids, null, true, 2_000_000, Instant.now()), "Expected both todos to be patched");
+        TodoEntity first = todoRepository.findById(ids.get(0)).orElseThrow();
+        TodoEntity second = todoRepository.findById(ids.get(1)).orElseThrow();
+        assertTrue(first.isCompleted() && second.isCompleted(), "Expected both todos to be completed");
+        assertNotNull(first.getCompletedAt(), "Expected the completion time to be stamped");
+        assertEquals("Bulk first", first.getTitle(), "Expected the title to be kept");
+        assertEquals(2_000_001, first.getChangeSeq(), "Expected the first change token for the lower id");
+        assertEquals(2_000_002, second.getChangeSeq(), "Expected the next change token for the higher id");
+
+        assertEquals(2, todoRepository.bulkDelete(ids), "Expected both todos to be deleted");
+        assertTrue(todoRepository.lockMatching(null, "bulk", new UUID(0, 0), 10).isEmpty(), "Expected no match to be left");
+        assertTrue(todoRepository.existsById(otherId), "Expected the todo not matching the search to be kept");
+        todoRepository.deleteById(otherId);
+    }
+
+    /**
+     * Tests that a keyset walk visits every todo once, in the database's unsigned id order.
+     */
+    @Test
+    void findByIdGreaterThanOrderById_walk_visitsEveryTodoOnceInIdOrder() {
+        TodoEntity highBit = todo(UUID.fromString("ffffffff-0000-4000-8000-000000000000"), "Keyset last", 4_000_001);
+        todoRepository.insertAll(List.of(highBit));
+
+        List<UUID> walked = new ArrayList<>();
+        UUID after = new UUID(0, 0);
+        List<TodoEntity> page;
+        do {
+            page = todoRepository.findByIdGreaterThanOrderById(after, Limit.of(3));
+            for (TodoEntity todo : page) {
+                walked.add(todo.getId());
+                after = todo.getId();
+            }
+        } while (page.size() == 3);
+
+        List<UUID> expected = todoRepository.findAll().stream().map(TodoEntity::getId).sorted(TodoOrder.ID_ORDER).toList();
+        assertEquals(expected, walked, "Expected every todo once, in id order");
+        assertEquals(highBit.getId(), walked.getLast(), "Expected the id with the high bit set to come last");
+
+        todoRepository.deleteById(highBit.getId());
+    }
+
+    /**
+     * Tests that inserted todos keep the ids and change tokens they carry.
+     */
+    @Test
+    void insertAll_assignedIdsAndChangeSeqs_kept() {
+        List<TodoEntity> todos = List.of(
+                todo(UUID.randomUUID(), "Imported first", 3_000_001),
+                todo(UUID.randomUUID(), "Imported second", 3_000_002));
+
+        assertEquals(2, todoRepository.insertAll(todos), "Expected both todos to be inserted");
+        for (TodoEntity todo : todos) {
+            TodoEntity found = todoRepository.findById(todo.getId()).orElseThrow();
+            assertEquals(todo.getTitle(), found.getTitle());
+            assertEquals(todo.getChangeSeq(), found.getChangeSeq(), "Expected the assigned change token");
+            assertFalse(found.isCompleted(), "Expected the todo to be open");
+        }
+        assertEquals(0, todoRepository.insertAll(List.of()), "Expected nothing to insert");
+
+        todos.forEach(todo -> todoRepository.deleteById(todo.getId()));
+    }
+
+    private static TodoEntity todo(UUID id, String title, long changeSeq) {
+        TodoEntity todo = new TodoEntity();
+        todo.setId(id);
+        todo.setTitle(title);
+        todo.setChangeSeq(changeSeq);
+        return todo;
+    }
+}
@@ -0,0 +1,70 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BloomFilterTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class BloomFilterTest {
+
+    /**
+     * Tests that every added id is reported as possibly contained.
+     */
+    @Test
+    void mightContain_addedIds_noFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = randomUUID();
+            ids.add(id);
+            filter.add(id);
+        }
+
+        for (UUID id : ids) {
+            assertTrue(filter.mightContain(id), "Expected an added id to be possibly contained");
+        }
+    }
+
+    /**
+     * Tests that the measured false positive rate of a filled filter stays close to the configured rate.
+     */
+    @Test
+    void mightContain_unknownIds_falsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(randomUUID());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < 0.02, "Expected a false positive rate near 1% but was " + rate);
+    }
+
+    /**
+     * Tests that the filter is sized from the capacity and the false positive rate.
+     */
+    @Test
+    void constructor_sizesFromCapacityAndRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        assertTrue(filter.bitSize() >= 95_850, "Expected about 9.6 bits per id for a 1% rate");
+        assertEquals(7, filter.hashCount(), "Expected seven hash functions for a 1% rate");
+    }
+}
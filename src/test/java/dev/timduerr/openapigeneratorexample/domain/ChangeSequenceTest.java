@@ -0,0 +1,82 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ChangeSequenceTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class ChangeSequenceTest {
+
+    private final ChangeSequence changeSequence = new ChangeSequence(mock(TodoRepository.class),
+            mock(TodoTombstoneRepository.class), mock(TodoArchiveRepository.class));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Tests that the watermark stays below a token whose transaction is still running, even after a later token
+     * completed, and catches up once the earlier transaction completes.
+     */
+    @Test
+    void watermark_earlierTransactionInFlight_staysBelowIt() {
+        Transaction first = begin();
+        long firstToken = changeSequence.next();
+        first.suspend();
+
+        Transaction second = begin();
+        long secondToken = changeSequence.reserve(3) + 3;
+        second.complete();
+
+        assertEquals(firstToken - 1, changeSequence.watermark());
+
+        first.complete();
+
+        assertEquals(secondToken, changeSequence.watermark());
+        assertEquals(secondToken, changeSequence.current());
+    }
+
+    /**
+     * Tests that tokens are only handed out within a transaction, which is needed to learn when they complete.
+     */
+    @Test
+    void next_noTransaction_throws() {
+        assertThrows(IllegalStateException.class, changeSequence::next);
+    }
+
+    private static Transaction begin() {
+        TransactionSynchronizationManager.initSynchronization();
+        return new Transaction();
+    }
+
+    /**
+     * Stands in for a transaction by holding the synchronizations registered while it was bound to the thread.
+     */
+    private static final class Transaction {
+        private List<TransactionSynchronization> synchronizations;
+
+        private void suspend() {
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        private void complete() {
+            if (synchronizations == null) suspend();
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.domain.memory.InMemoryTodoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InMemoryTodoRepositoryTest.
+ *
+ * <p>Runs the repository contract against the in-memory engine of the {@code memory} profile.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("memory")
+class InMemoryTodoRepositoryTest extends AbstractTodoRepositoryTest {
+
+    /**
+     * Tests that the memory profile replaces the JPA engine.
+     */
+    @Test
+    void todoRepository_isInMemoryEngine() {
+        assertInstanceOf(InMemoryTodoRepository.class, todoRepository);
+    }
+
+    /**
+     * Tests that a case-insensitive title sort with id tie-breaker is answered in the expected order.
+     */
+    @Test
+    void findAll_sortedByTitleIgnoreCaseDescending_returnsOrderedPage() {
+        Sort sort = Sort.by(Sort.Order.desc("title").ignoreCase()).and(Sort.by(Sort.Order.asc("id")));
+        List<TodoEntity> content = todoRepository.findAll(PageRequest.of(0, 10, sort)).getContent();
+
+        List<String> titles = content.stream().map(entity -> entity.getTitle().toLowerCase()).toList();
+        assertEquals(titles.stream().sorted(Comparator.reverseOrder()).toList(), titles, "Expected titles in descending order");
+    }
+
+    /**
+     * Tests that saved todos get an id, are returned as detached copies and can be deleted again.
+     */
+    @Test
+    void save_assignsId_andDeleteRemoves() {
+        TodoEntity entity = new TodoEntity();
+        entity.setTitle("Stored in memory");
+        TodoEntity saved = todoRepository.save(entity);
+
+        assertNotNull(saved.getId(), "Expected an id to be generated");
+        TodoEntity found = todoRepository.findById(saved.getId()).orElseThrow();
+        assertNotSame(saved, found, "Expected a detached copy");
+        assertEquals("Stored in memory", found.getTitle());
+
+        todoRepository.deleteById(saved.getId());
+        assertFalse(todoRepository.existsById(saved.getId()), "Expected the todo to be deleted");
+    }
+}
@@ -0,0 +1,107 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.domain.shard.ShardedTodoRepository;
+import dev.timduerr.openapigeneratorexample.domain.shard.TodoShard;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ShardedTodoRepositoryTest.
+ *
+ * <p>Runs the repository contract against the sharded engine of the {@code sharded} profile.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("sharded")
+class ShardedTodoRepositoryTest extends AbstractTodoRepositoryTest {
+
+    /**
+     * Tests that the sharded profile replaces the JPA engine and spreads the seeded todos over every shard.
+     */
+    @Test
+    void todoRepository_isShardedEngine_withEveryShardSeeded() {
+        ShardedTodoRepository sharded = assertInstanceOf(ShardedTodoRepository.class, todoRepository);
+
+        long total = 0;
+        for (TodoShard shard : sharded.getShards()) {
+            long count = shard.read(TodoRepository::count);
+            assertTrue(count > 0, "Expected todos on " + shard.getName());
+            total += count;
+        }
+        assertEquals(todoRepository.count(), total, "Expected every todo on exactly one shard");
+    }
+
+    /**
+     * Tests that every page of a scatter-gather listing equals the same slice of all todos in the requested order.
+     */
+    @Test
+    void findAll_sortedByTitleIgnoreCase_mergesShardsInOrder() {
+        Sort sort = Sort.by(Sort.Order.desc("title").ignoreCase()).and(Sort.by(Sort.Order.asc("id")));
+        List<TodoEntity> all = todoRepository.findAll().stream().sorted(TodoOrder.of(sort)).toList();
+
+        for (int page = 0; page * 7 < all.size(); page++) {
+            Page<TodoEntity> result = todoRepository.findAll(PageRequest.of(page, 7, sort));
+            List<UUID> expected = all.subList(page * 7, Math.min(all.size(), (page + 1) * 7)).stream().map(TodoEntity::getId).toList();
+
+            assertEquals(expected, result.getContent().stream().map(TodoEntity::getId).toList(), "Expected page " + page + " in order");
+            assertEquals(all.size(), result.getTotalElements(), "Expected the totals of all shards");
+        }
+    }
+
+    /**
+     * Tests that todos saved without id are stored on the shard their generated id hashes to.
+     */
+    @Test
+    void save_withoutId_storesOnOwningShard() {
+        ShardedTodoRepository sharded = (ShardedTodoRepository) todoRepository;
+        TodoEntity todo = new TodoEntity();
+        todo.setTitle("Routed");
+        UUID id = todoRepository.save(todo).getId();
+
+        boolean onOwningShard = sharded.shardOf(id).read(repository -> repository.existsById(id));
+        assertNotNull(id, "Expected an id to be generated");
+        assertTrue(onOwningShard, "Expected the todo on its owning shard");
+        todoRepository.deleteById(id);
+        assertFalse(todoRepository.existsById(id), "Expected the todo to be deleted");
+    }
+
+    /**
+     * Tests bulk writes across shards; the shards take consecutive blocks of the reserved change tokens, so the
+     * tokens are distinct and reserved, but only in id order within a shard.
+     */
+    @Test
+    @Override
+    void bulkPatchAndBulkDelete_matchingTodosOnly_distinctChangeSeqs() {
+        for (int i = 0; i < 12; i++) {
+            TodoEntity todo = new TodoEntity();
+            todo.setTitle("Sharded bulk " + i);
+            todoRepository.save(todo);
+        }
+
+        List<UUID> ids = todoRepository.lockMatching(false, "sharded bulk", new UUID(0, 0), 20);
+        assertEquals(12, ids.size(), "Expected the matching todos of all shards");
+        assertEquals(ids.stream().sorted(TodoOrder.ID_ORDER).toList(), ids, "Expected the matches in id order");
+
+        assertEquals(12, todoRepository.bulkPatch(ids, "Sharded bulk", true, 3_000_000, Instant.now()), "Expected every todo to be patched");
+        Set<Long> changeSeqs = todoRepository.findAllById(ids).stream().map(TodoEntity::getChangeSeq).collect(Collectors.toSet());
+        assertEquals(12, changeSeqs.size(), "Expected a change token of its own per todo");
+        assertTrue(changeSeqs.stream().allMatch(changeSeq -> changeSeq > 3_000_000 && changeSeq <= 3_000_012), "Expected the reserved tokens");
+
+        assertEquals(12, todoRepository.bulkDelete(ids), "Expected every todo to be deleted");
+        assertTrue(todoRepository.lockMatching(null, "sharded bulk", new UUID(0, 0), 20).isEmpty(), "Expected no match to be left");
+    }
+}
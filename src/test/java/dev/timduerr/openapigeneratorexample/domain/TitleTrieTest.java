@@ -0,0 +1,85 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TitleTrieTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TitleTrieTest {
+
+    /**
+     * Tests that the ids of all keys starting with a prefix are visited in key order, shorter keys first.
+     */
+    @Test
+    void visit_prefix_visitsMatchingKeysInOrder() {
+        TitleTrie trie = new TitleTrie();
+        UUID buy = randomUUID();
+        UUID buyMilk = randomUUID();
+        UUID buyBread = randomUUID();
+        UUID call = randomUUID();
+        trie.add("buy milk", buyMilk);
+        trie.add("buy", buy);
+        trie.add("buy bread", buyBread);
+        trie.add("call mom", call);
+
+        assertEquals(List.of(buy, buyBread, buyMilk), visit(trie, "bu"), "Expected the keys below the prefix in order");
+        assertEquals(List.of(buyBread), visit(trie, "buy b"), "Expected a prefix ending inside an edge to match");
+        assertEquals(List.of(), visit(trie, "buz"), "Expected no match for a diverging prefix");
+        assertEquals(List.of(), visit(trie, "buy milk and eggs"), "Expected no match for a prefix longer than the keys");
+    }
+
+    /**
+     * Tests that removing ids prunes and merges nodes without losing other keys.
+     */
+    @Test
+    void remove_prunesAndKeepsOtherKeys() {
+        TitleTrie trie = new TitleTrie();
+        UUID first = randomUUID();
+        UUID second = randomUUID();
+        UUID third = randomUUID();
+        trie.add("test", first);
+        trie.add("team", second);
+        trie.add("tea", third);
+
+        trie.remove("tea", third);
+        assertEquals(List.of(second), visit(trie, "tea"), "Expected the removed key to be gone");
+
+        trie.remove("team", second);
+        assertEquals(List.of(first), visit(trie, "te"), "Expected the remaining key to survive the merge");
+
+        trie.remove("test", randomUUID());
+        assertEquals(List.of(first), visit(trie, "test"), "Expected removing an unknown id to be a no-op");
+    }
+
+    /**
+     * Tests that the visitor can stop the traversal.
+     */
+    @Test
+    void visit_visitorStops_noFurtherIds() {
+        TitleTrie trie = new TitleTrie();
+        for (int i = 0; i < 10; i++) {
+            trie.add("item " + i, randomUUID());
+        }
+
+        List<UUID> visited = new ArrayList<>();
+        trie.visit("item", id -> visited.add(id) && visited.size() < 3);
+
+        assertEquals(3, visited.size(), "Expected the traversal to stop after three ids");
+    }
+
+    private static List<UUID> visit(TitleTrie trie, String prefix) {
+        List<UUID> ids = new ArrayList<>();
+        trie.visit(prefix, ids::add);
+        return ids;
+    }
+}
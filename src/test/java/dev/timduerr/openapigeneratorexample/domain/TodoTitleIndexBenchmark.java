@@ -0,0 +1,79 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.config.SuggestProperties;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * TodoTitleIndexBenchmark.
+ *
+ * <p>Fills the title index with 1,000 and with {@code benchmark.rows} generated titles and reports the average
+ * suggestion latency and the heap used by the index for both. Run with
+ * {@code mvn test -Pbenchmark -Dbenchmark.rows=100000}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoTitleIndexBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoTitleIndexBenchmark.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 100_000);
+
+    private static final List<String> WORDS = List.of("buy", "call", "clean", "fix", "pay", "plan", "read", "write",
+            "groceries", "rent", "mom", "kitchen", "bike", "report", "invoice", "garden", "tickets", "taxes");
+    private static final List<String> PREFIXES = List.of("b", "bu", "gro", "clean k", "inv", "pay r", "t", "wri");
+
+    /**
+     * Measures suggestion latency and index size for a small and a large number of todos.
+     */
+    @Test
+    void suggest_latencyIndependentOfSize() {
+        measure(1_000);
+        measure(ROWS);
+    }
+
+    private void measure(int rows) {
+        Random random = new Random(42);
+        System.gc();
+        long heapBefore = usedHeap();
+
+        TodoTitleIndex index = new TodoTitleIndex(null, null, new SuggestProperties(10, 20, 32, 8));
+        for (int i = 0; i < rows; i++) {
+            String title = WORDS.get(random.nextInt(WORDS.size())) + " " + WORDS.get(random.nextInt(WORDS.size()))
+                    + " " + i;
+            index.put(UUID.randomUUID(), title, i + 1);
+        }
+
+        System.gc();
+        long heapAfter = usedHeap();
+
+        // warm up, then measure
+        for (int i = 0; i < LOOKUPS; i++) {
+            index.suggest(PREFIXES.get(i % PREFIXES.size()), 10);
+        }
+        long start = System.nanoTime();
+        int suggestions = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            suggestions += index.suggest(PREFIXES.get(i % PREFIXES.size()), 10).size();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertFalse(suggestions == 0, "Expected suggestions for the benchmark prefixes");
+        log.info("{} todos: {} ns per suggestion lookup, ~{} KiB index", rows, elapsed / LOOKUPS,
+                Math.max(0, heapAfter - heapBefore) / 1024);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
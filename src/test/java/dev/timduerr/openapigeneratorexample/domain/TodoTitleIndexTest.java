@@ -0,0 +1,48 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.config.SuggestProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * TodoTitleIndexTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoTitleIndexTest {
+
+    private final TodoTitleIndex index = new TodoTitleIndex(mock(TodoRepository.class),
+            new ChangeSequence(mock(TodoRepository.class), mock(TodoTombstoneRepository.class), mock(TodoArchiveRepository.class)),
+            new SuggestProperties(10, 20, 32, 8));
+
+    /**
+     * Tests that an update arriving after a more recent one, as when its transaction gets there later, is ignored.
+     */
+    @Test
+    void put_olderThanIndexed_ignored() {
+        UUID id = UUID.randomUUID();
+        index.put(id, "Buy milk", 2);
+        index.put(id, "Buy bread", 1);
+
+        assertEquals(List.of(new TodoTitleIndex.Suggestion(id, "Buy milk")), index.suggest("buy", 10));
+    }
+
+    /**
+     * Tests that an update arriving after the todo's removal does not bring it back.
+     */
+    @Test
+    void put_olderThanRemoval_staysRemoved() {
+        UUID id = UUID.randomUUID();
+        index.put(id, "Buy milk", 1);
+        index.delete(id, 3);
+        index.put(id, "Buy bread", 2);
+
+        assertTrue(index.suggest("buy", 10).isEmpty(), "Expected the removed todo to stay removed");
+    }
+}
@@ -0,0 +1,55 @@
+package dev.timduerr.openapigeneratorexample.domain;
+
+import dev.timduerr.openapigeneratorexample.config.SyncProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TodoTombstoneCompactorTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@DataJpaTest
+class TodoTombstoneCompactorTest {
+
+    private static final SyncProperties SYNC_PROPERTIES = new SyncProperties(100, 500, Duration.ofDays(7));
+
+    @Autowired
+    TodoTombstoneRepository todoTombstoneRepository;
+
+    @Autowired
+    TodoCompactionHorizonRepository todoCompactionHorizonRepository;
+
+    /**
+     * Tests that the horizon of a compaction is still known after a restart, although the tombstones are gone.
+     */
+    @Test
+    void onApplicationReady_afterCompaction_restoresHorizon() {
+        TodoTombstoneEntity tombstone = new TodoTombstoneEntity();
+        tombstone.setId(UUID.randomUUID());
+        tombstone.setChangeSeq(42);
+        tombstone.setDeletedAt(Instant.now().minus(Duration.ofDays(30)));
+        todoTombstoneRepository.save(tombstone);
+
+        newCompactor().compact();
+        assertEquals(0, todoTombstoneRepository.count());
+
+        TodoTombstoneCompactor restarted = newCompactor();
+        assertEquals(0, restarted.horizon());
+        restarted.onApplicationReady();
+
+        assertEquals(42, restarted.horizon());
+    }
+
+    private TodoTombstoneCompactor newCompactor() {
+        return new TodoTombstoneCompactor(todoTombstoneRepository, todoCompactionHorizonRepository, SYNC_PROPERTIES);
+    }
+}
@@ -0,0 +1,95 @@
+package dev.timduerr.openapigeneratorexample.domain.id;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * TodoIdInsertBenchmark.
+ *
+ * <p>Measures the insert throughput into an H2 file database with the {@code tbl_todo} layout for each
+ * {@link TodoIdStrategy}, reported per window of rows as the table grows. Run with
+ * {@code mvn test -Pbenchmark -Dbenchmark.rows=10000000}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoIdInsertBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoIdInsertBenchmark.class);
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 10_000_000L);
+    private static final long WINDOW = Long.getLong("benchmark.window", 1_000_000L);
+    private static final int BATCH_SIZE = 1_000;
+    private static final Path DATABASE_DIR = Path.of("target", "benchmark", "todo-id");
+
+    @Test
+    void insertThroughput_randomVersusUuidV7() throws Exception {
+        for (TodoIdStrategy strategy : TodoIdStrategy.values()) {
+            run(strategy);
+        }
+    }
+
+    private void run(TodoIdStrategy strategy) throws Exception {
+        Path databaseDir = DATABASE_DIR.resolve(strategy.name().toLowerCase());
+        deleteRecursively(databaseDir);
+
+        String url = "jdbc:h2:file:" + databaseDir.toAbsolutePath().resolve("todo-db");
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE tbl_todo (id UUID NOT NULL PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                        + "completed BOOLEAN NOT NULL, change_seq BIGINT NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+
+            long totalStart = System.nanoTime();
+            long windowStart = totalStart;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO tbl_todo (id, title, completed, change_seq) VALUES (?, ?, FALSE, ?)")) {
+                for (long row = 1; row <= ROWS; row++) {
+                    insert.setObject(1, strategy.nextId());
+                    insert.setString(2, "Todo " + row);
+                    insert.setLong(3, row);
+                    insert.addBatch();
+
+                    if (row % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+
+                    if (row % WINDOW == 0) {
+                        long now = System.nanoTime();
+                        log.info("{} rows {}-{}: {} rows/s", strategy, row - WINDOW, row, rowsPerSecond(WINDOW, now - windowStart));
+                        windowStart = now;
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            log.info("{} total: {} rows in {} ms ({} rows/s)", strategy, ROWS,
+                    (System.nanoTime() - totalStart) / 1_000_000, rowsPerSecond(ROWS, System.nanoTime() - totalStart));
+        }
+    }
+
+    private static long rowsPerSecond(long rows, long nanos) {
+        return rows * 1_000_000_000L / Math.max(1, nanos);
+    }
+
+    private static void deleteRecursively(Path dir) throws Exception {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
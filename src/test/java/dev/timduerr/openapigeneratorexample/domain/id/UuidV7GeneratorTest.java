@@ -0,0 +1,106 @@
+package dev.timduerr.openapigeneratorexample.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UuidV7GeneratorTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class UuidV7GeneratorTest {
+
+    /**
+     * Tests that generated UUIDs carry version 7, the RFC 9562 variant and the current timestamp.
+     */
+    @Test
+    void next_setsVersionVariantAndTimestamp() {
+        UuidV7Generator generator = new UuidV7Generator(() -> 0x0190_1234_5678L);
+
+        UUID uuid = generator.next();
+
+        assertEquals(7, uuid.version(), "Expected version 7");
+        assertEquals(2, uuid.variant(), "Expected the RFC 9562 variant");
+        assertEquals(0x0190_1234_5678L, uuid.getMostSignificantBits() >>> 16, "Expected the timestamp in the first 48 bits");
+    }
+
+    /**
+     * Tests that UUIDs generated within the same millisecond are strictly increasing, even past a counter overflow.
+     */
+    @Test
+    void next_isMonotonicWithinSameMillisecond() {
+        UuidV7Generator generator = new UuidV7Generator(() -> 1_700_000_000_000L);
+
+        UUID previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            UUID current = generator.next();
+            assertTrue(compareUnsigned(previous, current) < 0, "Expected strictly increasing UUIDs");
+            previous = current;
+        }
+    }
+
+    /**
+     * Tests that UUIDs stay increasing when the clock moves backwards.
+     */
+    @Test
+    void next_isMonotonicWhenClockMovesBackwards() {
+        long[] now = {1_700_000_000_000L};
+        UuidV7Generator generator = new UuidV7Generator(() -> now[0]);
+
+        UUID before = generator.next();
+        now[0] -= 5_000;
+        UUID after = generator.next();
+
+        assertTrue(compareUnsigned(before, after) < 0, "Expected the UUID after the clock step to still be greater");
+    }
+
+    /**
+     * Tests that concurrently generated UUIDs are unique.
+     */
+    @Test
+    void next_isUniqueUnderConcurrency() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        Set<UUID> generated = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) generated.add(generator.next());
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        }
+
+        assertEquals(threads * perThread, generated.size(), "Expected no duplicate UUIDs");
+    }
+
+    /**
+     * Tests that the strategy is resolved from its configuration value.
+     */
+    @Test
+    void strategy_fromValue_resolvesConfiguredStrategy() {
+        assertEquals(TodoIdStrategy.UUID_V7, TodoIdStrategy.fromValue("uuid-v7"));
+        assertEquals(TodoIdStrategy.RANDOM, TodoIdStrategy.fromValue("RANDOM"));
+        assertEquals(TodoIdStrategy.UUID_V7, TodoIdStrategy.fromValue(null));
+        assertThrows(IllegalArgumentException.class, () -> TodoIdStrategy.fromValue("sequential"));
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return (msb != 0) ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,110 @@
+package dev.timduerr.openapigeneratorexample.domain.memory;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TodoJournalTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoJournalTest {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that puts and deletes are recovered from the log of a journal that was never closed.
+     */
+    @Test
+    void recover_replaysLogAfterCrash() {
+        TodoJournal journal = new TodoJournal(directory, CHUNK_SIZE, true);
+        journal.recover();
+        TodoEntity kept = todo("Kept", 1);
+        TodoEntity deleted = todo("Deleted", 2);
+        journal.put(kept);
+        journal.put(deleted);
+        journal.delete(deleted.getId());
+        // no close: simulates a crash
+
+        Map<UUID, TodoEntity> state = new TodoJournal(directory, CHUNK_SIZE, true).recover();
+
+        assertEquals(1, state.size(), "Expected only the kept todo");
+        assertEquals("Kept", state.get(kept.getId()).getTitle());
+        assertEquals(1, state.get(kept.getId()).getChangeSeq());
+    }
+
+    /**
+     * Tests that a snapshot plus the log written after it restore the state, and that older generations are removed.
+     */
+    @Test
+    void recover_loadsSnapshotAndSubsequentLog() throws Exception {
+        TodoJournal journal = new TodoJournal(directory, CHUNK_SIZE, false);
+        journal.recover();
+        TodoEntity first = todo("First", 1);
+        journal.put(first);
+
+        long generation = journal.rotate();
+        journal.writeSnapshot(generation, List.of(first));
+        TodoEntity second = todo("Second", 2);
+        journal.put(second);
+        journal.close();
+
+        Map<UUID, TodoEntity> state = new TodoJournal(directory, CHUNK_SIZE, false).recover();
+
+        assertEquals(2, state.size(), "Expected the snapshot and the log to be combined");
+        try (var files = Files.list(directory)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().equals("wal-1.log")), "Expected the old log to be deleted");
+        }
+    }
+
+    /**
+     * Tests that a torn record at the end of the log is ignored.
+     */
+    @Test
+    void recover_ignoresTornTail() throws Exception {
+        TodoJournal journal = new TodoJournal(directory, CHUNK_SIZE, true);
+        journal.recover();
+        TodoEntity intact = todo("Intact", 1);
+        journal.put(intact);
+        TodoEntity torn = todo("Torn", 2);
+        journal.put(torn);
+        journal.close();
+
+        // corrupt the last byte of the second record's title
+        Path wal = directory.resolve("wal-1.log");
+        int secondRecordEnd = 2 * (1 + Integer.BYTES + TodoRecords.encode(intact).length + Integer.BYTES)
+                + ("Torn".length() - "Intact".length());
+        try (FileChannel channel = FileChannel.open(wal, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), secondRecordEnd - Integer.BYTES - 1);
+        }
+
+        Map<UUID, TodoEntity> state = new TodoJournal(directory, CHUNK_SIZE, true).recover();
+
+        assertTrue(state.containsKey(intact.getId()), "Expected the intact record to be recovered");
+        assertFalse(state.containsKey(torn.getId()), "Expected the torn record to be discarded");
+    }
+
+    private static TodoEntity todo(String title, long changeSeq) {
+        TodoEntity entity = new TodoEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setTitle(title);
+        entity.setChangeSeq(changeSeq);
+        return entity;
+    }
+}
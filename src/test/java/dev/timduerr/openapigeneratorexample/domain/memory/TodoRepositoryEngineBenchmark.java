@@ -0,0 +1,92 @@
+package dev.timduerr.openapigeneratorexample.domain.memory;
+
+import dev.timduerr.openapigeneratorexample.OpenApiGeneratorExampleApplication;
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * TodoRepositoryEngineBenchmark.
+ *
+ * <p>Compares the JPA engine with the in-memory engine for the operations the API performs: inserts, point
+ * reads, sorted page reads and searches. Run with {@code mvn test -Pbenchmark -Dbenchmark.rows=100000}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoRepositoryEngineBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoRepositoryEngineBenchmark.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 10_000);
+    private static final Sort TITLE_SORT = Sort.by(Sort.Order.asc("title").ignoreCase()).and(Sort.by(Sort.Order.asc("id")));
+
+    @Test
+    void jpaVersusInMemory() {
+        run("jpa");
+        run("memory");
+    }
+
+    private void run(String profile) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OpenApiGeneratorExampleApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "todo.memory.directory=./target/benchmark/memory-engine/" + UUID.randomUUID())
+                .run()) {
+            TodoRepository todoRepository = context.getBean(TodoRepository.class);
+
+            List<UUID> ids = new ArrayList<>(ROWS);
+            long start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                TodoEntity entity = new TodoEntity();
+                entity.setTitle("Todo " + i);
+                entity.setChangeSeq(i + 1L);
+                ids.add(todoRepository.save(entity).getId());
+            }
+            report(profile, "save", ROWS, start);
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                todoRepository.findById(ids.get(random.nextInt(ids.size())));
+            }
+            report(profile, "findById", OPERATIONS, start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                todoRepository.findAll(PageRequest.of(random.nextInt(10), 20, TITLE_SORT));
+            }
+            report(profile, "findAll(page, title)", OPERATIONS, start);
+
+            int searches = Math.max(1, OPERATIONS / 100);
+            start = System.nanoTime();
+            for (int i = 0; i < searches; i++) {
+                todoRepository.findByTitleContainingIgnoreCase(String.valueOf(random.nextInt(1000)), PageRequest.of(0, 20, TITLE_SORT));
+            }
+            report(profile, "findByTitleContainingIgnoreCase", searches, start);
+        }
+    }
+
+    private static void report(String profile, String operation, int count, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        log.info("{} {}: {} ops in {} ms ({} ops/s)", profile, operation, count, nanos / 1_000_000,
+                count * 1_000_000_000L / Math.max(1, nanos));
+    }
+}
@@ -0,0 +1,61 @@
+package dev.timduerr.openapigeneratorexample.domain.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ShardRingTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class ShardRingTest {
+
+    private static final int IDS = 100_000;
+
+    /**
+     * Tests that every shard owns a fair share of the ids and that an id always maps to the same shard.
+     */
+    @Test
+    void shardOf_randomIds_spreadEvenly() {
+        ShardRing ring = new ShardRing(4, 64);
+        int[] owned = new int[4];
+        Random random = new Random(42);
+        for (int i = 0; i < IDS; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            owned[ring.shardOf(id)]++;
+            assertEquals(ring.shardOf(id), new ShardRing(4, 64).shardOf(id), "Expected a stable assignment");
+        }
+
+        for (int shard = 0; shard < owned.length; shard++) {
+            assertTrue(Math.abs(owned[shard] - IDS / 4) < IDS / 10, "Expected a fair share on shard " + shard + ": " + owned[shard]);
+        }
+    }
+
+    /**
+     * Tests that adding a shard only moves ids to the new shard, and about its share of them.
+     */
+    @Test
+    void shardOf_addedShard_movesOnlyItsShare() {
+        ShardRing three = new ShardRing(3, 64);
+        ShardRing four = new ShardRing(4, 64);
+        Random random = new Random(7);
+
+        int moved = 0;
+        for (int i = 0; i < IDS; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            int before = three.shardOf(id);
+            int after = four.shardOf(id);
+            if (before != after) {
+                assertEquals(3, after, "Expected ids to move to the new shard only");
+                moved++;
+            }
+        }
+
+        assertTrue(moved > IDS * 15 / 100 && moved < IDS * 35 / 100, "Expected about a quarter of the ids to move: " + moved);
+    }
+}
@@ -7,6 +7,7 @@ import dev.timduerr.openapigeneratorexample.model.TodoPatchDto;
 import dev.timduerr.openapigeneratorexample.model.TodoUpdateDto;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import static java.util.UUID.randomUUID;
@@ -34,9 +35,9 @@ class TodoMapperTest {
 
         TodoDto todoDto = TodoMapper.toTodoDto(entity);
 
-        assertEquals(uuid, todoDto.getId(), "Expected the ID to be mapped");
-        assertEquals("Test Title", todoDto.getTitle(), "Expected the title to be mapped");
-        assertTrue(todoDto.getCompleted(), "Expected the completed status to be mapped");
+        assertEquals(uuid, todoDto.id(), "Expected the ID to be mapped");
+        assertEquals("Test Title", todoDto.title(), "Expected the title to be mapped");
+        assertTrue(todoDto.completed(), "Expected the completed status to be mapped");
     }
 
     /**
@@ -44,7 +45,7 @@ class TodoMapperTest {
      */
     @Test
     void toTodoEntity_fromCreateDto_setsTitleOnly() {
-        TodoCreateDto todoCreateDto = new TodoCreateDto().title("New Todo");
+        TodoCreateDto todoCreateDto = new TodoCreateDto("New Todo");
         TodoEntity entity = TodoMapper.toTodoEntity(todoCreateDto);
 
         assertNull(entity.getId(), "Expected the ID to be null");
@@ -59,7 +60,7 @@ class TodoMapperTest {
     void toTodoEntity_fromUpdateDto_setsAllFields() {
         UUID uuid = randomUUID();
 
-        TodoUpdateDto todoUpdateDto = new TodoUpdateDto().title("Updated Title").completed(true);
+        TodoUpdateDto todoUpdateDto = new TodoUpdateDto("Updated Title", true);
         TodoEntity entity = TodoMapper.toTodoEntity(uuid, todoUpdateDto);
 
         assertEquals(uuid, entity.getId(), "Expected the ID to be mapped");
@@ -77,7 +78,7 @@ class TodoMapperTest {
         originalTodoEntity.setTitle("Original Title");
         originalTodoEntity.setCompleted(false);
 
-        TodoPatchDto todoPatchDto = new TodoPatchDto().completed(true);
+        TodoPatchDto todoPatchDto = new TodoPatchDto(null, true);
 
         TodoEntity patchedTodoEntity = TodoMapper.toTodoEntity(originalTodoEntity, todoPatchDto);
 
@@ -86,4 +87,26 @@ class TodoMapperTest {
         assertEquals("Original Title", patchedTodoEntity.getTitle(), "Expected the title to remain unchanged");
         assertTrue(patchedTodoEntity.isCompleted(), "Expected the completed status to be updated");
     }
+
+    /**
+     * Tests that patching keeps the completion time unless the completed status changes.
+     */
+    @Test
+    void toTodoEntity_fromPatchDto_stampsCompletionTimeOnlyOnChange() {
+        Instant completedAt = Instant.parse("2020-01-01T00:00:00Z");
+        TodoEntity completedTodoEntity = new TodoEntity();
+        completedTodoEntity.setId(randomUUID());
+        completedTodoEntity.setTitle("Completed");
+        completedTodoEntity.setCompleted(true);
+        completedTodoEntity.setCompletedAt(completedAt);
+
+        TodoEntity renamed = TodoMapper.toTodoEntity(completedTodoEntity, new TodoPatchDto("Renamed", true));
+        assertEquals(completedAt, renamed.getCompletedAt(), "Expected the completion time to be kept");
+
+        TodoEntity reopened = TodoMapper.toTodoEntity(completedTodoEntity, new TodoPatchDto(null, false));
+        assertNull(reopened.getCompletedAt(), "Expected the completion time to be cleared");
+
+        TodoEntity completedAgain = TodoMapper.toTodoEntity(reopened, new TodoPatchDto(null, true));
+        assertTrue(completedAgain.getCompletedAt().isAfter(completedAt), "Expected a new completion time");
+    }
 }
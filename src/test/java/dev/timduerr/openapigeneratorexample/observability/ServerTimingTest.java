@@ -0,0 +1,93 @@
+package dev.timduerr.openapigeneratorexample.observability;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+import static dev.timduerr.openapigeneratorexample.observability.jfr.TodoFlightRecorder.recordPhase;
+import static dev.timduerr.openapigeneratorexample.observability.jfr.TodoPhase.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ServerTimingTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class ServerTimingTest {
+
+    /**
+     * Tests that the phases of a timed request are reported in order, without serialization, and that the log line
+     * carries every metric with its count.
+     */
+    @Test
+    void toHeader_recordedPhases_inMetricOrder() {
+        ServerTiming timing = new ServerTiming("listTodos", true);
+        ServerTiming.attach(timing);
+        try {
+            recordPhase(MAPPING, () -> "mapped");
+            recordPhase(SORT_RESOLUTION, () -> "sorted");
+            recordPhase(REPOSITORY, () -> "found");
+        } finally {
+            ServerTiming.attach(null);
+        }
+        timing.record(ServerTimingMetric.DB_COUNT, 3_900_000);
+        timing.record(ServerTimingMetric.DB_PAGE, 4_200_000);
+        timing.record(ServerTimingMetric.DB_PAGE, 1_000_000);
+        timing.record(ServerTimingMetric.SERIALIZATION, 200_000);
+
+        String header = timing.toHeader();
+        assertTrue(header.matches("sort;dur=\\d+\\.\\d, repo;dur=\\d+\\.\\d, db-page;dur=5\\.2, db-count;dur=3\\.9, "
+                + "map;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d"), "Expected the metrics in order: " + header);
+
+        String line = timing.toLogLine(200);
+        assertTrue(line.startsWith("operation=listTodos status=200 sort="), "Expected operation and status first: " + line);
+        assertTrue(line.contains(" db-page=5.2/2 ") && line.contains(" ser=0.2/1 "), "Expected all metrics with counts: " + line);
+    }
+
+    /**
+     * Tests that requests that are not timed record nothing and keep their response.
+     */
+    @Test
+    void report_untimedRequest_keepsResponse() {
+        CompletableFuture<ResponseEntity<String>> response = CompletableFuture.completedFuture(ResponseEntity.ok("body"));
+
+        assertNull(ServerTiming.current(), "Expected no timing bound");
+        assertSame(response, ServerTiming.report(response), "Expected the response unchanged");
+        assertEquals("sorted", recordPhase(SORT_RESOLUTION, () -> "sorted"));
+    }
+
+    /**
+     * Tests that the response of a timed request gets the header, with its status, headers and body kept.
+     */
+    @Test
+    void report_timedRequest_addsHeader() {
+        ServerTiming.attach(new ServerTiming("getTodo", false));
+        CompletableFuture<ResponseEntity<String>> reported;
+        try {
+            reported = ServerTiming.report(CompletableFuture.completedFuture(
+                    ResponseEntity.status(201).header("X-Other", "kept").body("body")));
+        } finally {
+            ServerTiming.attach(null);
+        }
+
+        ResponseEntity<String> entity = reported.join();
+        assertEquals(201, entity.getStatusCode().value());
+        assertEquals("kept", entity.getHeaders().getFirst("X-Other"));
+        assertEquals("body", entity.getBody());
+        assertTrue(entity.getHeaders().getFirst(ServerTiming.HEADER).startsWith("total;dur="), "Expected the total");
+    }
+
+    /**
+     * Tests that statements are classified by their leading keywords.
+     */
+    @Test
+    void metric_classifiesStatements() {
+        assertEquals(ServerTimingMetric.DB_COUNT, ServerTimingStatementListener.metric(" select count(te1_0.id) from tbl_todo te1_0"));
+        assertEquals(ServerTimingMetric.DB_PAGE, ServerTimingStatementListener.metric("SELECT te1_0.id FROM tbl_todo te1_0"));
+        assertEquals(ServerTimingMetric.DB_PAGE, ServerTimingStatementListener.metric("with page as (select 1) select * from page"));
+        assertEquals(ServerTimingMetric.DB_WRITE, ServerTimingStatementListener.metric("update tbl_todo set completed=? where id=?"));
+        assertEquals(ServerTimingMetric.DB_WRITE, ServerTimingStatementListener.metric(""));
+    }
+}
@@ -0,0 +1,35 @@
+package dev.timduerr.openapigeneratorexample.observability;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * StatementBudgetMatchers.
+ *
+ * <p>MockMvc assertions on the {@link StatementStatistics} recorded for a request.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class StatementBudgetMatchers {
+
+    private StatementBudgetMatchers() {
+    }
+
+    /**
+     * Asserts that the request executed exactly the given number of SQL statements.
+     *
+     * @param expected the expected number of statements
+     * @return a result matcher for {@code andExpect}
+     */
+    public static ResultMatcher statements(int expected) {
+        return result -> {
+            StatementStatistics statistics = assertInstanceOf(StatementStatistics.class,
+                    result.getRequest().getAttribute(StatementStatistics.REQUEST_ATTRIBUTE),
+                    "Expected statement statistics to be recorded");
+            assertEquals(expected, statistics.getStatements(), "Unexpected number of statements for " + statistics);
+        };
+    }
+}
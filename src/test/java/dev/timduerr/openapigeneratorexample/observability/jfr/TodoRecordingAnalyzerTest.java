@@ -0,0 +1,74 @@
+package dev.timduerr.openapigeneratorexample.observability.jfr;
+
+import dev.timduerr.openapigeneratorexample.observability.jfr.TodoRecordingAnalyzer.PhaseSummary;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static dev.timduerr.openapigeneratorexample.observability.jfr.TodoFlightRecorder.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TodoRecordingAnalyzerTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoRecordingAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that operations and their phases are recorded and summarized per operation and phase.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void analyze_summarizesOperationsAndPhases() throws Exception {
+        Path file = tempDir.resolve("recording.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(TodoOperationEvent.NAME).withoutThreshold().withoutStackTrace();
+            recording.enable(TodoPhaseEvent.NAME).withoutThreshold().withoutStackTrace();
+            recording.start();
+
+            for (int i = 0; i < 3; i++) {
+                beginOperation("listTodos");
+                describe("title", 20);
+                List<String> rows = recordPhase(TodoPhase.REPOSITORY, () -> List.of("a", "b"), TodoFlightRecorder::rows);
+                recordPhase(TodoPhase.MAPPING, () -> rows.stream().map(String::toUpperCase).toList(), List::size);
+                endOperation(200);
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<PhaseSummary> summaries = TodoRecordingAnalyzer.analyze(file);
+
+        assertEquals(List.of("total", "mapping", "repository"),
+                summaries.stream().map(PhaseSummary::phase).toList(), "Expected the total first, then the phases");
+        for (PhaseSummary summary : summaries) {
+            assertEquals("listTodos", summary.operation(), "Expected the operation to be copied to the phases");
+            assertEquals(3, summary.count(), "Expected one event per operation and phase");
+            assertEquals(6, summary.rows(), "Expected the rows of all events to be summed");
+            assertTrue(summary.p50().compareTo(summary.max()) <= 0, "Expected the median not to exceed the maximum");
+        }
+    }
+
+    /**
+     * Tests that phases run their action and return its result when no recording is active.
+     */
+    @Test
+    void recordPhase_withoutRecording_returnsResult() {
+        beginOperation("getTodo");
+
+        assertEquals("result", recordPhase(TodoPhase.REPOSITORY, () -> "result"), "Expected the result of the action");
+
+        endOperation(200);
+    }
+}
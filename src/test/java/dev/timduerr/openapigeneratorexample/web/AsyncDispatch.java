@@ -0,0 +1,62 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultHandler;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * AsyncDispatch.
+ *
+ * <p>Performs MockMvc requests against the asynchronous API: if the handler started asynchronous processing,
+ * the result is awaited and dispatched, so that expectations apply to the final response.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+public class AsyncDispatch {
+
+    private AsyncDispatch() {
+    }
+
+    /**
+     * Performs a request and, if it was handled asynchronously, its asynchronous dispatch.
+     *
+     * @param mockMvc the MockMvc instance
+     * @param requestBuilder the request
+     * @return the actions of the final response
+     * @throws Exception if the request fails
+     */
+    public static ResultActions perform(MockMvc mockMvc, RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(result));
+        }
+        return completed(result);
+    }
+
+    private static ResultActions completed(MvcResult result) {
+        return new ResultActions() {
+            @Override
+            public ResultActions andExpect(ResultMatcher matcher) throws Exception {
+                matcher.match(result);
+                return this;
+            }
+
+            @Override
+            public ResultActions andDo(ResultHandler handler) throws Exception {
+                handler.handle(result);
+                return this;
+            }
+
+            @Override
+            public MvcResult andReturn() {
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EntityTagsTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class EntityTagsTest {
+
+    /**
+     * Tests that an entity tag resolves back to the change token it was built from.
+     */
+    @Test
+    void acceptedChangeSeqs_ownTag_roundTrips() {
+        assertEquals("\"17\"", EntityTags.of(17), "Expected a quoted strong tag");
+        assertEquals(Set.of(17L), EntityTags.acceptedChangeSeqs(EntityTags.of(17)), "Expected the change token of the tag");
+        assertEquals(Set.of(17L), EntityTags.acceptedChangeSeqs("\"x\", \"17\""), "Expected the tag naming a version");
+    }
+
+    /**
+     * Tests that every strong tag of a list is accepted, not only the first.
+     */
+    @Test
+    void acceptedChangeSeqs_severalTags_acceptsEveryStrongTag() {
+        assertEquals(Set.of(17L, 23L), EntityTags.acceptedChangeSeqs("\"17\", W/\"19\", \"23\""),
+                "Expected the change tokens of both strong tags");
+    }
+
+    /**
+     * Tests that a missing header and the wildcard impose no precondition.
+     */
+    @Test
+    void acceptedChangeSeqs_absentOrWildcard_noPrecondition() {
+        assertNull(EntityTags.acceptedChangeSeqs(null), "Expected no precondition without header");
+        assertNull(EntityTags.acceptedChangeSeqs(" * "), "Expected no precondition for the wildcard");
+    }
+
+    /**
+     * Tests that weak and foreign tags can never match.
+     */
+    @Test
+    void acceptedChangeSeqs_weakOrForeignTag_unmatchable() {
+        assertEquals(Set.of(), EntityTags.acceptedChangeSeqs("W/\"17\""), "Expected weak tags not to match");
+        assertEquals(Set.of(), EntityTags.acceptedChangeSeqs("\"0a1b2c\""), "Expected foreign tags not to match");
+        assertEquals(Set.of(), EntityTags.acceptedChangeSeqs("17"), "Expected unquoted tags not to match");
+    }
+}
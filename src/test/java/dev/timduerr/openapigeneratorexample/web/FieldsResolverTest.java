@@ -0,0 +1,68 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FieldsResolverTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class FieldsResolverTest {
+
+    /**
+     * Tests that all fields are selected when the fields string is null or blank.
+     */
+    @Test
+    void resolve_allFields_whenNullOrBlank() {
+        assertEquals(Optional.of(FieldsResolver.ALL_FIELDS), FieldsResolver.resolve(null), "Expected all fields for null");
+        assertEquals(Optional.of(FieldsResolver.ALL_FIELDS), FieldsResolver.resolve(" "), "Expected all fields for blank");
+    }
+
+    /**
+     * Tests that field names are matched ignoring case and surrounding whitespace.
+     */
+    @Test
+    void resolve_knownFields_ignoringCaseAndWhitespace() {
+        Optional<Set<TodoField>> selection = FieldsResolver.resolve(" ID, Title ");
+
+        assertEquals(Optional.of(Set.of(TodoField.ID, TodoField.TITLE)), selection, "Expected id and title to be selected");
+    }
+
+    /**
+     * Tests that naming every field resolves to the shared selection of all fields.
+     */
+    @Test
+    void resolve_everyField_isAllFields() {
+        Optional<Set<TodoField>> selection = FieldsResolver.resolve("completed,title,id,title");
+
+        assertSame(FieldsResolver.ALL_FIELDS, selection.orElseThrow(), "Expected the selection of all fields");
+    }
+
+    /**
+     * Tests that unknown and empty field names are rejected, also when resolved again from the cache.
+     */
+    @Test
+    void resolve_unknownOrEmptyField_isRejected() {
+        assertTrue(FieldsResolver.resolve("id,secret").isEmpty(), "Expected an unknown field to be rejected");
+        assertTrue(FieldsResolver.resolve("id,secret").isEmpty(), "Expected the cached rejection to be returned");
+        assertTrue(FieldsResolver.resolve("id,,title").isEmpty(), "Expected an empty field name to be rejected");
+    }
+
+    /**
+     * Tests that a repeated fields string resolves to the cached selection.
+     */
+    @Test
+    void resolve_repeatedFields_isCached() {
+        Set<TodoField> first = FieldsResolver.resolve("title").orElseThrow();
+        Set<TodoField> second = FieldsResolver.resolve("title").orElseThrow();
+
+        assertSame(first, second, "Expected the cached selection to be returned");
+    }
+}
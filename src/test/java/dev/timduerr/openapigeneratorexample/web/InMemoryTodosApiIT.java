@@ -0,0 +1,15 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * InMemoryTodosApiIT.
+ *
+ * <p>Runs the API integration tests against the in-memory engine of the {@code memory} profile.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ActiveProfiles("memory")
+class InMemoryTodosApiIT extends TodosApiIT {
+}
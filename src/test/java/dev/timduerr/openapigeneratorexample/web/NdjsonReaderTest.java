@@ -0,0 +1,83 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NdjsonReaderTest.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class NdjsonReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Tests that every line is read as a value, with blank lines skipped but counted.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void next_validLines_numberedValues() throws Exception {
+        List<NdjsonReader.Line<Title>> lines = readAll("{\"title\":\"first\"}\n\n  \r\n{\"title\":\"second\"}\r\n{\"title\":\"last\"}", 64);
+
+        assertEquals(List.of(1L, 4L, 5L), lines.stream().map(NdjsonReader.Line::number).toList(), "Expected the line numbers");
+        assertEquals(List.of("first", "second", "last"), lines.stream().map(line -> line.value().title()).toList(),
+                "Expected the values, the last line without line break too");
+        assertTrue(lines.stream().allMatch(line -> line.error() == null), "Expected no error");
+    }
+
+    /**
+     * Tests that invalid lines are returned with an error and reading continues after them.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void next_invalidLines_errorsAndContinues() throws Exception {
+        String overlong = "{\"title\":\"" + "x".repeat(100) + "\"}";
+        List<NdjsonReader.Line<Title>> lines = readAll(
+                "{\"title\":\n" + "{\"title\":\"a\"} {\"title\":\"b\"}\n" + "null\n" + overlong + "\n" + "{\"title\":\"ok\"}\n", 64);
+
+        assertEquals(5, lines.size(), "Expected every line");
+        for (NdjsonReader.Line<Title> line : lines.subList(0, 4)) {
+            assertNull(line.value(), "Expected no value for line " + line.number());
+            assertNotNull(line.error(), "Expected an error for line " + line.number());
+        }
+        assertTrue(lines.get(3).error().contains("64 bytes"), "Expected the overlong line to be named");
+        assertEquals("ok", lines.get(4).value().title(), "Expected the line after the invalid ones to be read");
+        assertEquals(5L, lines.get(4).number());
+    }
+
+    /**
+     * Tests that an empty input has no lines.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void next_emptyInput_noLines() throws Exception {
+        assertTrue(readAll("", 64).isEmpty(), "Expected no lines");
+        assertTrue(readAll("\n \n", 64).isEmpty(), "Expected blank lines to be skipped");
+    }
+
+    private List<NdjsonReader.Line<Title>> readAll(String input, int maxLineLength) throws IOException {
+        NdjsonReader<Title> reader = new NdjsonReader<>(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), objectMapper, Title.class, maxLineLength);
+        List<NdjsonReader.Line<Title>> lines = new ArrayList<>();
+        for (NdjsonReader.Line<Title> line = reader.next(); line != null; line = reader.next()) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    record Title(String title) {
+    }
+}
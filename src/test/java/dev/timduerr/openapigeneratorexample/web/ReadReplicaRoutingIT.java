@@ -0,0 +1,197 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.domain.ChangeSequence;
+import dev.timduerr.openapigeneratorexample.domain.TodoEntity;
+import dev.timduerr.openapigeneratorexample.domain.TodoIdFilter;
+import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
+import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
+import dev.timduerr.openapigeneratorexample.replica.ReplicationStandIn;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static dev.timduerr.openapigeneratorexample.web.AsyncDispatch.perform;
+import static dev.timduerr.openapigeneratorexample.replica.ReadYourWritesFilter.CLIENT_ID_HEADER;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ReadReplicaRoutingIT.
+ *
+ * <p>Runs against a primary and one replica. Scheduled replication is effectively disabled by the test profile,
+ * so the tests decide when the replica catches up.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("replicas")
+class ReadReplicaRoutingIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ReplicationStandIn replicationStandIn;
+
+    @Autowired
+    ChangeSequence changeSequence;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    TodoIdFilter todoIdFilter;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    /**
+     * Tests that the client that created a todo reads it back from the primary immediately.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getTodo_afterOwnWrite_readsFromPrimary() throws Exception {
+        String id = createTestTodo("writer", "Read your writes");
+
+        perform(mockMvc, get("/todos/{id}", id).header(CLIENT_ID_HEADER, "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Read your writes")));
+    }
+
+    /**
+     * Tests that a failed write does not bind the client to the primary, although it fails only after the request
+     * went asynchronous.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getTodo_afterFailedWrite_readsFromReplica() throws Exception {
+        perform(mockMvc, delete("/todos/{id}", UUID.randomUUID()).header(CLIENT_ID_HEADER, "failed-writer"))
+                .andExpect(status().isNotFound());
+        String id = createTestTodo("writer", "Not yet replicated");
+
+        perform(mockMvc, get("/todos/{id}", id).header(CLIENT_ID_HEADER, "failed-writer"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests that other clients read from the replica and see the todo only once it has been replicated.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getTodo_otherClient_readsFromReplica() throws Exception {
+        String id = createTestTodo("writer", "Replicated later");
+
+        perform(mockMvc, get("/todos/{id}", id).header(CLIENT_ID_HEADER, "reader"))
+                .andExpect(status().isNotFound());
+
+        replicationStandIn.replicate();
+
+        perform(mockMvc, get("/todos/{id}", id).header(CLIENT_ID_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Replicated later")));
+    }
+
+    /**
+     * Tests that a write committing after later writes is still replicated, even when its token lies far below
+     * theirs, like a todo of a bulk write that reserved a large block of tokens.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getTodo_lateCommitFarBelowLaterWrites_isReplicated() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<UUID> late = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            TodoEntity todo = new TodoEntity();
+            todo.setTitle("Committed late");
+            todo.setChangeSeq(changeSequence.reserve(500) + 1);
+            UUID id = todoRepository.save(todo).getId();
+            todoIdFilter.add(id);
+            written.countDown();
+            await(commit);
+            return id;
+        }));
+        assertTrue(written.await(5, TimeUnit.SECONDS), "Expected the late write to start");
+
+        String laterId = createTestTodo("writer", "Committed early");
+        replicationStandIn.replicate();
+
+        commit.countDown();
+        String lateId = late.get(5, TimeUnit.SECONDS).toString();
+        replicationStandIn.replicate();
+
+        perform(mockMvc, get("/todos/{id}", lateId).header(CLIENT_ID_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Committed late")));
+        perform(mockMvc, get("/todos/{id}", laterId).header(CLIENT_ID_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Committed early")));
+    }
+
+    /**
+     * Tests that the change feed is read from the primary, so that other clients see changes not yet replicated.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodoChanges_otherClient_readsFromPrimary() throws Exception {
+        String id = createTestTodo("writer", "Feed from the primary");
+
+        perform(mockMvc, get("/todos/changes").param("since", "0").param("limit", "500").header(CLIENT_ID_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[*].id", hasItem(id)));
+    }
+
+    /**
+     * Tests that the seeded todos are replicated on startup.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_otherClient_servesSeededTodosFromReplica() throws Exception {
+        perform(mockMvc, get("/todos").param("q", "Call mom").header(CLIENT_ID_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title", is("Call mom")));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String createTestTodo(String clientId, String title) throws Exception {
+        byte[] response = perform(mockMvc, post("/todos")
+                        .header(CLIENT_ID_HEADER, clientId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoCreateDto(title))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        return objectMapper.readTree(response).get("id").asText();
+    }
+}
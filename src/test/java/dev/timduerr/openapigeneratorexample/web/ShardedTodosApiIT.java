@@ -0,0 +1,15 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * ShardedTodosApiIT.
+ *
+ * <p>Runs the API integration tests against the sharded engine of the {@code sharded} profile.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@ActiveProfiles("sharded")
+class ShardedTodosApiIT extends TodosApiIT {
+}
@@ -0,0 +1,85 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import dev.timduerr.openapigeneratorexample.execution.RunningOperation;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlowQueryListener.
+ *
+ * <p>Simulates a slow statement: a statement binding {@link #MARKER} blocks until its operation is cancelled,
+ * at most ten seconds. Tests observe when such a statement starts and when it is cancelled.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@TestComponent
+public class SlowQueryListener implements QueryExecutionListener {
+
+    /** Parameter value that makes a statement slow. */
+    public static final long MARKER = 424_242;
+
+    private volatile CountDownLatch started = new CountDownLatch(1);
+    private volatile CountDownLatch cancelled = new CountDownLatch(1);
+
+    /**
+     * Prepares for the next slow statement.
+     */
+    public void reset() {
+        started = new CountDownLatch(1);
+        cancelled = new CountDownLatch(1);
+    }
+
+    public boolean awaitStarted(Duration timeout) throws InterruptedException {
+        return started.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean awaitCancelled(Duration timeout) throws InterruptedException {
+        return cancelled.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!bindsMarker(queryInfoList)) return;
+
+        started.countDown();
+        long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < giveUp) {
+            RunningOperation operation = RunningOperation.current();
+            if (operation != null && operation.isCancelled()) {
+                cancelled.countDown();
+                return;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    private static boolean bindsMarker(List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+                for (ParameterSetOperation parameter : parameters) {
+                    Object[] args = parameter.getArgs();
+                    if (args.length >= 2 && String.valueOf(MARKER).equals(String.valueOf(args[1]))) return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import dev.timduerr.openapigeneratorexample.observability.ServerTiming;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static dev.timduerr.openapigeneratorexample.web.AsyncDispatch.perform;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SqlMonitoringDisabledIT.
+ *
+ * <p>Runs with the SQL monitoring switched off, which must not take the statement deadlines and timings with it.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@SpringBootTest(properties = "todo.sql.enabled=false")
+@AutoConfigureMockMvc
+@Import(SlowQueryListener.class)
+class SqlMonitoringDisabledIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    SlowQueryListener slowQueryListener;
+
+    /**
+     * Tests that the timing of a listing still contains its statements.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_timingRequested_statementMetrics() throws Exception {
+        perform(mockMvc, get("/todos").header("X-Server-Timing", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTiming.HEADER, matchesPattern(".*db-page;dur=[0-9.]+.*")));
+    }
+
+    /**
+     * Tests that a statement running past the deadline of its operation is still cancelled.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodoChanges_pastDeadline_serviceUnavailableAndCancelled() throws Exception {
+        slowQueryListener.reset();
+
+        perform(mockMvc, get("/todos/changes").param("since", String.valueOf(SlowQueryListener.MARKER)))
+                .andExpect(status().isServiceUnavailable());
+
+        assertTrue(slowQueryListener.awaitCancelled(Duration.ofSeconds(1)), "Expected the statement to be cancelled at the deadline");
+    }
+}
@@ -0,0 +1,59 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import dev.timduerr.openapigeneratorexample.domain.TodoRepository;
+import dev.timduerr.openapigeneratorexample.web.TodoApiWarmup.WarmupReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TodoApiWarmupIT.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@SpringBootTest(properties = {
+        "todo.warmup.enabled=true",
+        "todo.warmup.iterations=5"
+})
+class TodoApiWarmupIT {
+
+    @Autowired
+    TodoApiWarmup todoApiWarmup;
+
+    @Autowired
+    TodoRepository todoRepository;
+
+    @Autowired
+    ApplicationAvailability applicationAvailability;
+
+    /**
+     * Tests that the warm-up completes its iteration budget before the application accepts traffic.
+     */
+    @Test
+    void warmup_completesIterationsBeforeReady() {
+        WarmupReport report = todoApiWarmup.getReport();
+
+        assertNotNull(report, "Expected the warm-up to have finished on startup");
+        assertEquals(5, report.iterations(), "Expected the configured number of iterations");
+        assertTrue(report.calls() > 5, "Expected several delegate calls per iteration");
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState(),
+                "Expected the application to accept traffic after the warm-up");
+    }
+
+    /**
+     * Tests that the warm-up leaves no changes behind.
+     */
+    @Test
+    void warmup_leavesNoChanges() {
+        long maxChangeSeq = todoRepository.findMaxChangeSeq();
+
+        todoApiWarmup.run(null);
+
+        assertEquals(maxChangeSeq, todoRepository.findMaxChangeSeq(), "Expected no todo to be written");
+    }
+}
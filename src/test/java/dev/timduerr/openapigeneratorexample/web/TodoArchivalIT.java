@@ -0,0 +1,136 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.domain.TodoArchiver;
+import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
+import dev.timduerr.openapigeneratorexample.model.TodoPatchDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static dev.timduerr.openapigeneratorexample.web.AsyncDispatch.perform;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * TodoArchivalIT.
+ *
+ * <p>Archives todos whose completion time was moved into the past, instead of waiting for the configured age.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@SpringBootTest(properties = "todo.archive.chunk-size=2")
+@AutoConfigureMockMvc
+class TodoArchivalIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TodoArchiver todoArchiver;
+
+    /**
+     * Tests that todos completed long enough ago are archived in several chunks, and are listed only when asked for.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void archive_longCompletedTodos_listedOnlyWithIncludeArchived() throws Exception {
+        String marker = UUID.randomUUID().toString();
+        List<String> archivable = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String id = createCompletedTodo("Archivable " + i + " " + marker);
+            completedAgo(id, Duration.ofDays(31));
+            archivable.add(id);
+        }
+        String recent = createCompletedTodo("Recently completed " + marker);
+
+        assertTrue(todoArchiver.archive() >= archivable.size(), "Expected all archivable todos to be archived");
+
+        perform(mockMvc, get("/todos").param("q", marker))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(recent)));
+
+        perform(mockMvc, get("/todos").param("q", marker).param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasSize(archivable.size() + 1)))
+                .andExpect(jsonPath("$[*].id", hasItems(archivable.toArray(String[]::new))))
+                .andExpect(jsonPath("$[*].completed", everyItem(is(true))));
+    }
+
+    /**
+     * Tests that an archived todo is no longer suggested and that open todos are never archived.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void archive_dropsSuggestionsAndKeepsOpenTodos() throws Exception {
+        String archived = createCompletedTodo("Return the tandem");
+        completedAgo(archived, Duration.ofDays(31));
+        String reopened = createCompletedTodo("Oil the tandem");
+        completedAgo(reopened, Duration.ofDays(31));
+        perform(mockMvc, patch("/todos/{id}", reopened)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto(null, false))))
+                .andExpect(status().isOk());
+
+        todoArchiver.archive();
+
+        perform(mockMvc, get("/todos/suggest").param("prefix", "tandem"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[*].id", not(hasItem(archived))))
+                .andExpect(jsonPath("$.suggestions[*].id", hasItem(reopened)));
+        perform(mockMvc, get("/todos/{id}", reopened))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Moves the completion time of a todo into the past.
+     * @param id the ID of the Todo
+     * @param age how long ago the Todo is supposed to have been completed
+     */
+    private void completedAgo(String id, Duration age) {
+        jdbcTemplate.update("UPDATE tbl_todo SET completed_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().minus(age)), UUID.fromString(id));
+    }
+
+    /**
+     * Creates a new test Todo item and marks it as completed.
+     * @param title the title of the Todo to be created
+     * @return the ID of the created Todo as a String
+     * @throws Exception if an error occurs during the request or response processing
+     */
+    private String createCompletedTodo(String title) throws Exception {
+        byte[] response = perform(mockMvc, post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoCreateDto(title))))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        String id = objectMapper.readTree(response).get("id").asText();
+
+        perform(mockMvc, patch("/todos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto(null, true))))
+                .andExpect(status().isOk());
+        return id;
+    }
+}
@@ -0,0 +1,145 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
+import dev.timduerr.openapigeneratorexample.model.TodoPatchDto;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.timduerr.openapigeneratorexample.web.AsyncDispatch.perform;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * TodoContentionBenchmark.
+ *
+ * <p>Lets {@code benchmark.workers} threads flip the completed state of the same todo {@code benchmark.writes}
+ * times each: by reading the todo and patching the opposite state, by doing the same with {@code If-Match}, and by
+ * toggling it in place. Reports throughput, rejected writes and lost updates, i.e. applied writes that did not
+ * change the state written before them. Run with {@code mvn test -Pbenchmark -Dbenchmark.workers=8}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=warn"})
+@AutoConfigureMockMvc
+class TodoContentionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoContentionBenchmark.class);
+
+    private static final int WORKERS = Integer.getInteger("benchmark.workers", 8);
+    private static final int WRITES = Integer.getInteger("benchmark.writes", 200);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void readModifyWriteVersusToggle() throws Exception {
+        contend("GET + PATCH", this::readAndPatch);
+        contend("GET + PATCH with If-Match", this::readAndPatchIfMatch);
+        contend("POST :toggle", this::toggle);
+    }
+
+    private void contend(String variant, Write write) throws Exception {
+        MvcResult created = perform(mockMvc, post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoCreateDto("Contended"))))
+                .andReturn();
+        String id = objectMapper.readTree(created.getResponse().getContentAsByteArray()).get("id").asText();
+
+        List<Version> versions = Collections.synchronizedList(new ArrayList<>());
+        versions.add(version(created));
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int worker = 0; worker < WORKERS; worker++) {
+                running.add(workers.submit(() -> {
+                    for (int i = 0; i < WRITES; i++) {
+                        MvcResult result = write.apply(id);
+                        if (result.getResponse().getStatus() == 200) {
+                            versions.add(version(result));
+                        } else {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+        long nanos = System.nanoTime() - start;
+
+        // every applied flip has to change the state of the version before it
+        versions.sort(Comparator.comparingLong(Version::changeSeq));
+        int lost = 0;
+        for (int i = 1; i < versions.size(); i++) {
+            if (versions.get(i).completed() == versions.get(i - 1).completed()) lost++;
+        }
+
+        int attempts = WORKERS * WRITES;
+        log.info("{}: {} writes/s, {} of {} applied, {} rejected, {} lost updates",
+                variant, attempts * 1_000_000_000L / nanos, versions.size() - 1, attempts, rejected.get(), lost);
+    }
+
+    private MvcResult readAndPatch(String id) throws Exception {
+        MvcResult read = perform(mockMvc, get("/todos/{id}", id)).andReturn();
+        return perform(mockMvc, patch("/todos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto(null, !version(read).completed()))))
+                .andReturn();
+    }
+
+    private MvcResult readAndPatchIfMatch(String id) throws Exception {
+        MvcResult read = perform(mockMvc, get("/todos/{id}", id)).andReturn();
+        return perform(mockMvc, patch("/todos/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, read.getResponse().getHeader(HttpHeaders.ETAG))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto(null, !version(read).completed()))))
+                .andReturn();
+    }
+
+    private MvcResult toggle(String id) throws Exception {
+        return perform(mockMvc, post("/todos/{id}:toggle", id)).andReturn();
+    }
+
+    private Version version(MvcResult result) throws Exception {
+        long changeSeq = EntityTags.acceptedChangeSeqs(result.getResponse().getHeader(HttpHeaders.ETAG)).iterator().next();
+        boolean completed = objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("completed").asBoolean();
+        return new Version(changeSeq, completed);
+    }
+
+    private interface Write {
+        MvcResult apply(String id) throws Exception;
+    }
+
+    private record Version(long changeSeq, boolean completed) {
+    }
+}
@@ -0,0 +1,126 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.model.TodoDto;
+import dev.timduerr.openapigeneratorexample.model.TodoUpdateDto;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TodoDtoCodecBenchmark.
+ *
+ * <p>Measures the per-request cost of reading, validating and writing a todo: the generated records with their
+ * generated validation code versus mutable beans validated by Hibernate Validator, as the stock generator templates
+ * produced them. Run with {@code mvn test -Pbenchmark -Dbenchmark.operations=1000000}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+class TodoDtoCodecBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoDtoCodecBenchmark.class);
+
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 1_000_000);
+    private static final byte[] REQUEST = "{\"title\":\"Buy groceries\",\"completed\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void generatedRecordsVersusBeanValidation() throws Exception {
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = validatorFactory.getValidator();
+            UUID id = UUID.randomUUID();
+
+            // warm up both paths before measuring
+            for (int round = 0; round < 2; round++) {
+                boolean report = round == 1;
+
+                long start = System.nanoTime();
+                long bytes = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    TodoUpdateDto request = objectMapper.readValue(REQUEST, TodoUpdateDto.class);
+                    assertTrue(request.violations().isEmpty());
+                    bytes += objectMapper.writeValueAsBytes(new TodoDto(id, request.title(), request.completed())).length;
+                }
+                if (report) report("generated record", bytes, start);
+
+                start = System.nanoTime();
+                bytes = 0;
+                for (int i = 0; i < OPERATIONS; i++) {
+                    TodoUpdateBean request = objectMapper.readValue(REQUEST, TodoUpdateBean.class);
+                    assertTrue(validator.validate(request).isEmpty());
+                    TodoBean response = new TodoBean();
+                    response.setId(id);
+                    response.setTitle(request.getTitle());
+                    response.setCompleted(request.getCompleted());
+                    bytes += objectMapper.writeValueAsBytes(response).length;
+                }
+                if (report) report("bean + Hibernate Validator", bytes, start);
+            }
+        }
+    }
+
+    private static void report(String variant, long bytes, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        log.info("{}: {} requests in {} ms ({} ns/request, {} bytes written)", variant, OPERATIONS, nanos / 1_000_000,
+                nanos / OPERATIONS, bytes);
+    }
+
+    /**
+     * Request bean in the shape of the stock generator output.
+     */
+    public static class TodoUpdateBean {
+
+        @NotNull
+        @Size(min = 1)
+        private String title;
+
+        @NotNull
+        private Boolean completed;
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public Boolean getCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(Boolean completed) {
+            this.completed = completed;
+        }
+    }
+
+    /**
+     * Response bean in the shape of the stock generator output.
+     */
+    public static class TodoBean extends TodoUpdateBean {
+
+        @NotNull
+        private UUID id;
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+    }
+}
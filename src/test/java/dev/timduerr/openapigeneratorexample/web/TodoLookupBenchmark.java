@@ -0,0 +1,99 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
+import dev.timduerr.openapigeneratorexample.model.TodoLookupDto;
+import dev.timduerr.openapigeneratorexample.observability.StatementStatistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static dev.timduerr.openapigeneratorexample.web.AsyncDispatch.perform;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * TodoLookupBenchmark.
+ *
+ * <p>Resolves the same ids once with {@code benchmark.ids} single gets and once with a single lookup, and reports
+ * the time and the number of SQL statements of both. Run with {@code mvn test -Pbenchmark -Dbenchmark.ids=200}.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=warn"})
+@AutoConfigureMockMvc
+class TodoLookupBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoLookupBenchmark.class);
+
+    private static final int IDS = Integer.getInteger("benchmark.ids", 200);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 20);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void singleGetsVersusLookup() throws Exception {
+        List<UUID> ids = new ArrayList<>(IDS);
+        for (int i = 0; i < IDS; i++) {
+            ids.add(createTestTodo("Lookup " + i));
+        }
+        byte[] lookup = objectMapper.writeValueAsBytes(new TodoLookupDto(ids));
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            boolean report = round == ROUNDS;
+
+            long start = System.nanoTime();
+            int statements = 0;
+            for (UUID id : ids) {
+                statements += statements(perform(mockMvc, get("/todos/{id}", id))
+                        .andExpect(status().isOk())
+                        .andReturn());
+            }
+            if (report) report(IDS + " single gets", statements, start);
+
+            start = System.nanoTime();
+            statements = statements(perform(mockMvc, post("/todos:lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(lookup))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            if (report) report("lookup of " + IDS + " ids", statements, start);
+        }
+    }
+
+    private UUID createTestTodo(String title) throws Exception {
+        byte[] response = perform(mockMvc, post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoCreateDto(title))))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        return UUID.fromString(objectMapper.readTree(response).get("id").asText());
+    }
+
+    private static int statements(MvcResult result) {
+        return ((StatementStatistics) result.getRequest().getAttribute(StatementStatistics.REQUEST_ATTRIBUTE)).getStatements();
+    }
+
+    private static void report(String variant, int statements, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        log.info("{}: {} µs, {} statements", variant, nanos / 1_000, statements);
+    }
+}
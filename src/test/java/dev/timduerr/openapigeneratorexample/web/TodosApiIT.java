@@ -1,17 +1,36 @@
 package dev.timduerr.openapigeneratorexample.web;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
+import dev.timduerr.openapigeneratorexample.model.TodoLookupDto;
+import dev.timduerr.openapigeneratorexample.model.TodoPatchDto;
 import dev.timduerr.openapigeneratorexample.model.TodoUpdateDto;
+import dev.timduerr.openapigeneratorexample.observability.ServerTiming;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static dev.timduerr.openapigeneratorexample.web.AsyncDispatch.perform;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -24,6 +43,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(SlowQueryListener.class)
 class TodosApiIT {
 
     @Autowired
@@ -32,13 +52,16 @@ class TodosApiIT {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    SlowQueryListener slowQueryListener;
+
     /**
      * Tests that the API returns a list of todos with default values.
      * @throws Exception if an error occurs during the test
      */
     @Test
     void listTodos_defaults_headersAndBody() throws Exception {
-        mockMvc.perform(get("/todos"))
+        perform(mockMvc, get("/todos"))
                 .andExpect(status().isOk())
                 .andExpect(header().string(PaginationHeaders.X_PAGE.getValue(), "0"))
                 .andExpect(header().string(PaginationHeaders.X_SIZE.getValue(), "20"))
@@ -55,7 +78,7 @@ class TodosApiIT {
      */
     @Test
     void listTodos_sorting_andDirection() throws Exception {
-        mockMvc.perform(get("/todos").param("sort", "-completed"))
+        perform(mockMvc, get("/todos").param("sort", "-completed"))
                 .andExpect(status().isOk())
                 .andExpect(header().string(SortHeaders.X_SORT.getValue(), "completed"))
                 .andExpect(header().string(SortHeaders.X_SORT_DIR.getValue(), Sort.Direction.DESC.name()));
@@ -67,7 +90,7 @@ class TodosApiIT {
      */
     @Test
     void listTodos_sorting_isCaseInsensitive_nonDefaultPropertyAndDirection() throws Exception {
-        mockMvc.perform(get("/todos").param("sort", "-COMPLETED"))
+        perform(mockMvc, get("/todos").param("sort", "-COMPLETED"))
                 .andExpect(status().isOk())
                 .andExpect(header().string("X-Sort", "completed"))
                 .andExpect(header().string("X-Sort-Dir", Sort.Direction.DESC.name()));
@@ -79,7 +102,7 @@ class TodosApiIT {
      */
     @Test
     void listTodos_fallbackWhenInvalidSortProperty() throws Exception {
-        mockMvc.perform(get("/todos").param("sort", "-doesNotExist"))
+        perform(mockMvc, get("/todos").param("sort", "-doesNotExist"))
                 .andExpect(status().isOk())
                 .andExpect(header().string(SortHeaders.X_SORT.getValue(), "title"))
                 .andExpect(header().string(SortHeaders.X_SORT_DIR.getValue(), Sort.Direction.DESC.name())); // direction kept, key fell back
@@ -91,18 +114,88 @@ class TodosApiIT {
      */
     @Test
     void listTodos_queryFilterReturnsExpectedResults() throws Exception {
-        mockMvc.perform(get("/todos").param("q", "grocer"))
+        perform(mockMvc, get("/todos").param("q", "grocer"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[*].title", everyItem(containsStringIgnoringCase("grocer"))));
     }
 
+    /**
+     * Tests that an unchanged page is revalidated with its ETag instead of being sent again.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_unchangedPage_notModified() throws Exception {
+        String etag = perform(mockMvc, get("/todos").param("q", "grocer"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        perform(mockMvc, get("/todos").param("q", "grocer").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    /**
+     * Tests that a sparse fieldset returns only the selected properties of each todo.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_fields_onlySelectedProperties() throws Exception {
+        perform(mockMvc, get("/todos").param("fields", "id,title").param("sort", "-completed"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SortHeaders.X_SORT.getValue(), "completed"))
+                .andExpect(jsonPath("$", is(not(empty()))))
+                .andExpect(jsonPath("$[*].id", everyItem(notNullValue())))
+                .andExpect(jsonPath("$[*].title", everyItem(notNullValue())))
+                .andExpect(jsonPath("$[*].completed", is(empty())));
+
+        perform(mockMvc, get("/todos").param("fields", "completed").param("q", "grocer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].completed", is(not(empty()))))
+                .andExpect(jsonPath("$[*].id", is(empty())));
+    }
+
+    /**
+     * Tests that a sparse fieldset naming an unknown property is rejected.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_unknownField_returnsBadRequest() throws Exception {
+        perform(mockMvc, get("/todos").param("fields", "id,secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that a request asking for its timing is answered with the phases of the listing.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_timingRequested_serverTimingHeader() throws Exception {
+        perform(mockMvc, get("/todos").header("X-Server-Timing", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTiming.HEADER,
+                        matchesPattern("sort;dur=[0-9.]+, repo;dur=[0-9.]+, .*map;dur=[0-9.]+, total;dur=[0-9.]+")));
+    }
+
+    /**
+     * Tests that requests not asking for their timing are not timed.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_timingNotRequested_noServerTimingHeader() throws Exception {
+        perform(mockMvc, get("/todos"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTiming.HEADER));
+    }
+
     /**
      * Tests that the API returns a specific todo when it exists.
      * @throws Exception if an error occurs during the test
      */
     @Test
     void getTodo_found() throws Exception {
-        mockMvc.perform(get("/todos/{id}", "073c98bc-4fa0-4ede-b121-6be06c25977f"))
+        perform(mockMvc, get("/todos/{id}", "073c98bc-4fa0-4ede-b121-6be06c25977f"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is("073c98bc-4fa0-4ede-b121-6be06c25977f")));
     }
@@ -113,8 +206,161 @@ class TodosApiIT {
      */
     @Test
     void getTodo_notFound() throws Exception {
-        mockMvc.perform(get("/todos/{id}", "00000000-0000-0000-0000-000000000000"))
+        perform(mockMvc, get("/todos/{id}", "00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests that a sparse fieldset narrows a single todo and still reports missing todos.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getTodo_fields_onlySelectedProperties() throws Exception {
+        perform(mockMvc, get("/todos/{id}", "073c98bc-4fa0-4ede-b121-6be06c25977f").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Call mom")))
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.completed").doesNotExist());
+
+        perform(mockMvc, get("/todos/{id}", "00000000-0000-0000-0000-000000000000").param("fields", "title"))
                 .andExpect(status().isNotFound());
+        perform(mockMvc, get("/todos/{id}", "073c98bc-4fa0-4ede-b121-6be06c25977f").param("fields", "secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that looking up ids returns one entry per id in request order, marking ids without a todo.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void lookupTodos_requestOrderWithNotFoundMarkers() throws Exception {
+        String first = createTestTodo("Looked up first");
+        String second = createTestTodo("Looked up second");
+        String missing = "00000000-0000-0000-0000-000000000000";
+
+        perform(mockMvc, post("/todos:lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoLookupDto(List.of(
+                                UUID.fromString(second), UUID.fromString(missing), UUID.fromString(first), UUID.fromString(second))))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].id", contains(second, missing, first, second)))
+                .andExpect(jsonPath("$.results[*].found", contains(true, false, true, true)))
+                .andExpect(jsonPath("$.results[0].todo.title", is("Looked up second")))
+                .andExpect(jsonPath("$.results[1].todo").doesNotExist())
+                .andExpect(jsonPath("$.results[2].todo.title", is("Looked up first")));
+    }
+
+    /**
+     * Tests that looking up more ids than allowed, or none at all, returns a bad request response.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void lookupTodos_tooManyOrNoIds_returnsBadRequest() throws Exception {
+        List<UUID> tooMany = Stream.generate(UUID::randomUUID).limit(501).toList();
+        perform(mockMvc, post("/todos:lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoLookupDto(tooMany))))
+                .andExpect(status().isBadRequest());
+
+        perform(mockMvc, post("/todos:lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoLookupDto(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that an NDJSON import creates a todo per valid line and reports the invalid lines by number.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void importTodos_ndjson_importsValidLinesAndReportsInvalidOnes() throws Exception {
+        String body = """
+                {"title":"Ndjson alpha"}
+                {"title":""}
+
+                not json
+                {"title":"Ndjson beta"}
+                {"title":"Ndjson gamma"}""";
+
+        perform(mockMvc, post("/todos:import")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(3)))
+                .andExpect(jsonPath("$.failed", is(2)))
+                .andExpect(jsonPath("$.errors[*].line", contains(2, 4)));
+
+        perform(mockMvc, get("/todos").param("q", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Ndjson alpha", "Ndjson beta", "Ndjson gamma")));
+    }
+
+    /**
+     * Tests that suggestions match the start of any title word, ignoring case.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void suggestTodos_wordPrefixIgnoringCase() throws Exception {
+        String id = createTestTodo("Water the Zucchini plants");
+
+        perform(mockMvc, get("/todos/suggest").param("prefix", "ZUCC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[*].id", hasItem(id)))
+                .andExpect(jsonPath("$.suggestions[*].title", hasItem("Water the Zucchini plants")));
+
+        perform(mockMvc, get("/todos/suggest").param("prefix", "water the z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[*].id", hasItem(id)));
+
+        perform(mockMvc, get("/todos/suggest").param("prefix", "ucchini"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[*].id", not(hasItem(id))));
+    }
+
+    /**
+     * Tests that suggestions follow renamed and deleted todos.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void suggestTodos_followsRenamesAndDeletes() throws Exception {
+        String id = createTestTodo("Feed the quokka");
+
+        perform(mockMvc, patch("/todos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto("Feed the wombat", null))))
+                .andExpect(status().isOk());
+
+        perform(mockMvc, get("/todos/suggest").param("prefix", "quokka"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[*].id", not(hasItem(id))));
+        perform(mockMvc, get("/todos/suggest").param("prefix", "wombat"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[*].id", hasItem(id)));
+
+        perform(mockMvc, delete("/todos/{id}", id))
+                .andExpect(status().isNoContent());
+
+        perform(mockMvc, get("/todos/suggest").param("prefix", "wombat"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions[*].id", not(hasItem(id))));
+    }
+
+    /**
+     * Tests that the number of suggestions is limited and that a blank prefix is rejected.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void suggestTodos_limitAndBlankPrefix() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createTestTodo("Limited suggestion " + i);
+        }
+
+        perform(mockMvc, get("/todos/suggest").param("prefix", "limited").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions", hasSize(2)));
+
+        perform(mockMvc, get("/todos/suggest").param("prefix", " "))
+                .andExpect(status().isBadRequest());
     }
 
     /**
@@ -123,9 +369,9 @@ class TodosApiIT {
      */
     @Test
     void createTodo_returnsCreated() throws Exception {
-        TodoCreateDto todoCreateDto = new TodoCreateDto().title("Write some tests");
+        TodoCreateDto todoCreateDto = new TodoCreateDto("Write some tests");
 
-        mockMvc.perform(post("/todos")
+        perform(mockMvc, post("/todos")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(todoCreateDto)))
                 .andExpect(status().isCreated())
@@ -141,15 +387,15 @@ class TodosApiIT {
     @Test
     void createTodo_emptyOrNullTitle_returnsBadRequest() throws Exception {
         // Empty title
-        TodoCreateDto emptyTitle = new TodoCreateDto().title("");
-        mockMvc.perform(post("/todos")
+        TodoCreateDto emptyTitle = new TodoCreateDto("");
+        perform(mockMvc, post("/todos")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(emptyTitle)))
                 .andExpect(status().isBadRequest());
 
         // Null title (no field at all)
         String nullTitleJson = "{}";
-        mockMvc.perform(post("/todos")
+        perform(mockMvc, post("/todos")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(nullTitleJson))
                 .andExpect(status().isBadRequest());
@@ -163,9 +409,9 @@ class TodosApiIT {
     void updateTodo_returnsOk() throws Exception {
         String id = createTestTodo("Write some more tests");
 
-        TodoUpdateDto todoUpdateDto = new TodoUpdateDto().title("Updated Title").completed(true);
+        TodoUpdateDto todoUpdateDto = new TodoUpdateDto("Updated Title", true);
 
-        mockMvc.perform(put("/todos/{id}", id)
+        perform(mockMvc, put("/todos/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(todoUpdateDto)))
                 .andExpect(status().isOk())
@@ -181,9 +427,9 @@ class TodosApiIT {
     void updateTodo_returnsNotFound() throws Exception {
         String missingId = "00000000-0000-0000-0000-000000000000";
 
-        TodoUpdateDto todoUpdateDto = new TodoUpdateDto().title("Does not matter").completed(true);
+        TodoUpdateDto todoUpdateDto = new TodoUpdateDto("Does not matter", true);
 
-        mockMvc.perform(put("/todos/{id}", missingId)
+        perform(mockMvc, put("/todos/{id}", missingId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(todoUpdateDto)))
                 .andExpect(status().isNotFound());
@@ -194,15 +440,15 @@ class TodosApiIT {
         String id = createTestTodo("Title will be updated");
 
         // Empty title
-        TodoUpdateDto emptyTitle = new TodoUpdateDto().title("").completed(false);
-        mockMvc.perform(put("/todos/{id}", id)
+        TodoUpdateDto emptyTitle = new TodoUpdateDto("", false);
+        perform(mockMvc, put("/todos/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(emptyTitle)))
                 .andExpect(status().isBadRequest());
 
         // Null title
-        TodoUpdateDto nullTitle = new TodoUpdateDto().title(null).completed(false);
-        mockMvc.perform(put("/todos/{id}", id)
+        TodoUpdateDto nullTitle = new TodoUpdateDto(null, false);
+        perform(mockMvc, put("/todos/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(nullTitle)))
                 .andExpect(status().isBadRequest());
@@ -216,9 +462,9 @@ class TodosApiIT {
     void patchTodo_returnsOk() throws Exception {
         String id = createTestTodo("Patch me");
 
-        TodoUpdateDto todoUpdateDto = new TodoUpdateDto().title("Patched Title");
+        TodoUpdateDto todoUpdateDto = new TodoUpdateDto("Patched Title", null);
 
-        mockMvc.perform(patch("/todos/{id}", id)
+        perform(mockMvc, patch("/todos/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(todoUpdateDto)))
                 .andExpect(status().isOk())
@@ -233,14 +479,88 @@ class TodosApiIT {
     void patchTodo_returnsNotFound() throws Exception {
         String missingId = "00000000-0000-0000-0000-000000000000";
 
-        TodoUpdateDto todoUpdateDto = new TodoUpdateDto().title("Patched Title");
+        TodoUpdateDto todoUpdateDto = new TodoUpdateDto("Patched Title", null);
 
-        mockMvc.perform(patch("/todos/{id}", missingId)
+        perform(mockMvc, patch("/todos/{id}", missingId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsBytes(todoUpdateDto)))
                 .andExpect(status().isNotFound());
     }
 
+    /**
+     * Tests that a patch with {@code If-Match} applies to the tagged version only, answers later attempts with
+     * the outdated tag with Precondition Failed, and applies again once any of the listed tags is current.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void patchTodo_ifMatch_appliesToTaggedVersionOnly() throws Exception {
+        String id = createTestTodo("Patch me conditionally");
+        String etag = perform(mockMvc, get("/todos/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        String patchedEtag = perform(mockMvc, patch("/todos/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto("Patched once", null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Patched once")))
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        perform(mockMvc, patch("/todos/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto("Patched twice", null))))
+                .andExpect(status().isPreconditionFailed());
+
+        perform(mockMvc, get("/todos/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, patchedEtag))
+                .andExpect(jsonPath("$.title", is("Patched once")));
+
+        perform(mockMvc, patch("/todos/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, etag + ", " + patchedEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto("Patched twice", null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Patched twice")));
+    }
+
+    /**
+     * Tests that toggling flips the completed state back and forth, and that a toggle with an outdated
+     * {@code If-Match} is rejected.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void toggleTodo_flipsCompleted_andHonoursIfMatch() throws Exception {
+        String id = createTestTodo("Toggle me");
+        String etag = perform(mockMvc, get("/todos/{id}", id))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        perform(mockMvc, post("/todos/{id}:toggle", id).header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed", is(true)))
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+
+        perform(mockMvc, post("/todos/{id}:toggle", id).header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+
+        perform(mockMvc, post("/todos/{id}:toggle", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed", is(false)));
+
+        perform(mockMvc, post("/todos/{id}:toggle", "00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isNotFound());
+    }
+
     /**
      * Tests that deleting an existing todo returns the expected No Content response and that later retrieval returns Not Found.
      * @throws Exception if an error occurs during the test
@@ -249,10 +569,10 @@ class TodosApiIT {
     void deleteTodo_returnsNoContent_andThenNotFoundOnGet() throws Exception {
         String id = createTestTodo("Delete me");
 
-        mockMvc.perform(delete("/todos/{id}", id))
+        perform(mockMvc, delete("/todos/{id}", id))
                 .andExpect(status().isNoContent());
 
-        mockMvc.perform(get("/todos/{id}", id))
+        perform(mockMvc, get("/todos/{id}", id))
                 .andExpect(status().isNotFound());
     }
 
@@ -264,10 +584,168 @@ class TodosApiIT {
     void deleteTodo_returnsNotFound() throws Exception {
         String missingId = "00000000-0000-0000-0000-000000000000";
 
-        mockMvc.perform(delete("/todos/{id}", missingId))
+        perform(mockMvc, delete("/todos/{id}", missingId))
                 .andExpect(status().isNotFound());
     }
 
+    /**
+     * Tests that all todos matching a filter are patched and deleted in bulk, reporting the affected count, and that
+     * the change feed reports each deletion.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void patchTodosAndDeleteTodos_matchingFilter_reportAffected() throws Exception {
+        String term = "bulk-" + UUID.randomUUID();
+        List<String> ids = List.of(createTestTodo(term + " one"), createTestTodo(term + " two"), createTestTodo(term + " three"));
+        long token = currentChangeToken();
+
+        perform(mockMvc, patch("/todos").param("q", term)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto(null, true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(3)));
+
+        perform(mockMvc, get("/todos").param("q", term))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].completed", everyItem(is(true))));
+
+        perform(mockMvc, delete("/todos").param("completed", "true").param("q", term))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(3)));
+
+        perform(mockMvc, get("/todos").param("q", term))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(empty())));
+
+        perform(mockMvc, get("/todos/changes").param("since", String.valueOf(token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", hasItems(ids.toArray())));
+    }
+
+    /**
+     * Tests that bulk writes without a filter are rejected.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void patchTodosAndDeleteTodos_withoutFilter_returnBadRequest() throws Exception {
+        perform(mockMvc, patch("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto(null, true))))
+                .andExpect(status().isBadRequest());
+
+        perform(mockMvc, delete("/todos").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that the change feed returns created and modified todos plus tombstones for deleted todos after a token.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodoChanges_returnsModifiedAndDeletedSinceToken() throws Exception {
+        String patchedId = createTestTodo("Sync me");
+        String deletedId = createTestTodo("Delete me before sync");
+        long token = currentChangeToken();
+
+        perform(mockMvc, patch("/todos/{id}", patchedId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto(null, true))))
+                .andExpect(status().isOk());
+        perform(mockMvc, delete("/todos/{id}", deletedId))
+                .andExpect(status().isNoContent());
+
+        perform(mockMvc, get("/todos/changes").param("since", String.valueOf(token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[*].id", hasItem(patchedId)))
+                .andExpect(jsonPath("$.changes[*].id", not(hasItem(deletedId))))
+                .andExpect(jsonPath("$.deleted", hasItem(deletedId)))
+                .andExpect(jsonPath("$.resyncRequired", is(false)));
+    }
+
+    /**
+     * Tests that the change feed honours the limit and signals that further changes are available.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodoChanges_limit_reportsHasMore() throws Exception {
+        perform(mockMvc, get("/todos/changes").param("since", "0").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore", is(true)))
+                .andExpect(jsonPath("$.nextToken", is(1)));
+    }
+
+    /**
+     * Tests that an operation running past its deadline fails with 503 and that its statement is cancelled.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodoChanges_pastDeadline_serviceUnavailableAndCancelled() throws Exception {
+        slowQueryListener.reset();
+
+        perform(mockMvc, get("/todos/changes").param("since", String.valueOf(SlowQueryListener.MARKER)))
+                .andExpect(status().isServiceUnavailable());
+
+        assertTrue(slowQueryListener.awaitCancelled(Duration.ofSeconds(1)), "Expected the statement to be cancelled at the deadline");
+    }
+
+    /**
+     * Tests that an operation failing at its deadline still reports its timing when asked for.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodoChanges_pastDeadlineTimingRequested_serverTimingHeader() throws Exception {
+        slowQueryListener.reset();
+
+        perform(mockMvc, get("/todos/changes").param("since", String.valueOf(SlowQueryListener.MARKER))
+                        .header("X-Server-Timing", "1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(ServerTiming.HEADER, matchesPattern(".*total;dur=[0-9.]+")));
+    }
+
+    /**
+     * Tests that the statement of an operation is cancelled as soon as the client disconnects, before the deadline.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodoChanges_clientDisconnects_cancelled() throws Exception {
+        slowQueryListener.reset();
+
+        MvcResult result = mockMvc.perform(get("/todos/changes").param("since", String.valueOf(SlowQueryListener.MARKER)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(slowQueryListener.awaitStarted(Duration.ofSeconds(1)), "Expected the statement to start");
+
+        // the container reports a disconnected client as an error of the asynchronous request
+        AsyncContext asyncContext = result.getRequest().getAsyncContext();
+        AsyncEvent disconnect = new AsyncEvent(asyncContext, new IOException("Broken pipe"));
+        for (AsyncListener listener : ((MockAsyncContext) asyncContext).getListeners()) {
+            listener.onError(disconnect);
+        }
+
+        assertTrue(slowQueryListener.awaitCancelled(Duration.ofMillis(500)), "Expected the statement to be cancelled before the deadline");
+    }
+
+    /**
+     * Reads the change feed from the beginning and returns the token of the latest change.
+     * @return the current change token
+     * @throws Exception if an error occurs during the request or response processing
+     */
+    private long currentChangeToken() throws Exception {
+        long token = 0;
+        boolean hasMore = true;
+        while (hasMore) {
+            byte[] response = perform(mockMvc, get("/todos/changes").param("since", String.valueOf(token)).param("limit", "500"))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsByteArray();
+            JsonNode changes = objectMapper.readTree(response);
+            token = changes.get("nextToken").asLong();
+            hasMore = changes.get("hasMore").asBoolean();
+        }
+        return token;
+    }
+
     /**
      * Creates a new test Todo item by sending a POST request to the "/todos" API.
      * @param title the title of the Todo to be created
@@ -275,9 +753,9 @@ class TodosApiIT {
      * @throws Exception if an error occurs during the request or response processing
      */
     private String createTestTodo(String title) throws Exception {
-        byte[] originalTodoResponse = mockMvc.perform(post("/todos")
+        byte[] originalTodoResponse = perform(mockMvc, post("/todos")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsBytes(new TodoCreateDto().title(title))))
+                        .content(objectMapper.writeValueAsBytes(new TodoCreateDto(title))))
                 .andReturn()
                 .getResponse()
                 .getContentAsByteArray();
@@ -0,0 +1,279 @@
+package dev.timduerr.openapigeneratorexample.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.timduerr.openapigeneratorexample.model.TodoCreateDto;
+import dev.timduerr.openapigeneratorexample.model.TodoLookupDto;
+import dev.timduerr.openapigeneratorexample.model.TodoPatchDto;
+import dev.timduerr.openapigeneratorexample.model.TodoUpdateDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static dev.timduerr.openapigeneratorexample.web.AsyncDispatch.perform;
+import static dev.timduerr.openapigeneratorexample.observability.StatementBudgetMatchers.statements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * TodosApiStatementBudgetIT.
+ *
+ * <p>Pins the number of SQL statements each endpoint executes against the JPA engine, so that an additional
+ * query fails the build instead of slipping in unnoticed.
+ *
+ * @author Tim Dürr
+ * @version 1.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TodosApiStatementBudgetIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * Tests that listing a full page executes the page query and the count query.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_fullPage_pageAndCountQuery() throws Exception {
+        perform(mockMvc, get("/todos"))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+    }
+
+    /**
+     * Tests that listing archived todos as well reads the union view with the same two queries.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_includeArchived_pageAndCountQuery() throws Exception {
+        perform(mockMvc, get("/todos").param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+    }
+
+    /**
+     * Tests that a sparse fieldset executes the narrowed page query and the count query.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_fields_pageAndCountQuery() throws Exception {
+        perform(mockMvc, get("/todos").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+    }
+
+    /**
+     * Tests that a search matching less than a page skips the count query.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodos_partialPage_pageQueryOnly() throws Exception {
+        perform(mockMvc, get("/todos").param("q", "grocer"))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+    }
+
+    /**
+     * Tests that getting a todo executes a single select.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getTodo_singleSelect() throws Exception {
+        perform(mockMvc, get("/todos/{id}", "073c98bc-4fa0-4ede-b121-6be06c25977f"))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+    }
+
+    /**
+     * Tests that getting a sparse fieldset of a todo executes a single narrowed select.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getTodo_fields_singleSelect() throws Exception {
+        perform(mockMvc, get("/todos/{id}", "073c98bc-4fa0-4ede-b121-6be06c25977f").param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+    }
+
+    /**
+     * Tests that looking up several ids executes a single IN query.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void lookupTodos_singleInQuery() throws Exception {
+        List<UUID> ids = List.of(UUID.fromString(createTestTodo("Lookup budget")), UUID.randomUUID(),
+                UUID.fromString("073c98bc-4fa0-4ede-b121-6be06c25977f"));
+
+        perform(mockMvc, post("/todos:lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoLookupDto(ids))))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+    }
+
+    /**
+     * Tests that suggestions are served from the title index without any statement.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void suggestTodos_noStatements() throws Exception {
+        perform(mockMvc, get("/todos/suggest").param("prefix", "groc"))
+                .andExpect(status().isOk())
+                .andExpect(statements(0));
+    }
+
+    /**
+     * Tests that creating a todo executes a single insert.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void createTodo_singleInsert() throws Exception {
+        perform(mockMvc, post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoCreateDto("Budgeted"))))
+                .andExpect(status().isCreated())
+                .andExpect(statements(1));
+    }
+
+    /**
+     * Tests the statements of updating a todo: existence check, merge select and update.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void updateTodo_existsMergeAndUpdate() throws Exception {
+        String id = createTestTodo("Update budget");
+
+        perform(mockMvc, put("/todos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoUpdateDto("Updated", true))))
+                .andExpect(status().isOk())
+                .andExpect(statements(3));
+    }
+
+    /**
+     * Tests the statements of patching a todo: select and compare-and-set update.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void patchTodo_selectAndUpdate() throws Exception {
+        String id = createTestTodo("Patch budget");
+
+        perform(mockMvc, patch("/todos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto(null, true))))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+    }
+
+    /**
+     * Tests the statements of toggling a todo: the in-place update and the select of the toggled todo.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void toggleTodo_updateAndSelect() throws Exception {
+        String id = createTestTodo("Toggle budget");
+
+        perform(mockMvc, post("/todos/{id}:toggle", id))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+    }
+
+    /**
+     * Tests the statements of deleting a todo: existence check, select, delete and the tombstone merge and insert.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void deleteTodo_existsSelectDeleteAndTombstone() throws Exception {
+        String id = createTestTodo("Delete budget");
+
+        perform(mockMvc, delete("/todos/{id}", id))
+                .andExpect(status().isNoContent())
+                .andExpect(statements(5));
+    }
+
+    /**
+     * Tests that a missing todo ruled out by the id filter is answered without a statement.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void deleteTodo_notFound_noStatements() throws Exception {
+        perform(mockMvc, delete("/todos/{id}", "00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isNotFound())
+                .andExpect(statements(0));
+    }
+
+    /**
+     * Tests that reading a missing todo ruled out by the id filter executes no statement.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void getTodo_notFound_noStatements() throws Exception {
+        perform(mockMvc, get("/todos/{id}", "00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isNotFound())
+                .andExpect(statements(0));
+    }
+
+    /**
+     * Tests that a bulk patch of a chunk executes the locking select and a single update.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void patchTodos_lockAndUpdatePerChunk() throws Exception {
+        String term = "bulk-" + UUID.randomUUID();
+        createTestTodo(term + " one");
+        createTestTodo(term + " two");
+
+        perform(mockMvc, patch("/todos").param("q", term)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoPatchDto(null, true))))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+    }
+
+    /**
+     * Tests that a bulk delete of a chunk executes the locking select, a single tombstone insert and a single delete.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void deleteTodos_lockInsertTombstonesAndDeletePerChunk() throws Exception {
+        String term = "bulk-" + UUID.randomUUID();
+        createTestTodo(term + " one");
+        createTestTodo(term + " two");
+
+        perform(mockMvc, delete("/todos").param("q", term))
+                .andExpect(status().isOk())
+                .andExpect(statements(3));
+    }
+
+    /**
+     * Tests that the change feed executes one query for changed todos and one for tombstones.
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void listTodoChanges_changesAndTombstoneQuery() throws Exception {
+        perform(mockMvc, get("/todos/changes").param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+    }
+
+    private String createTestTodo(String title) throws Exception {
+        byte[] response = perform(mockMvc, post("/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new TodoCreateDto(title))))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        return objectMapper.readTree(response).get("id").asText();
+    }
+}
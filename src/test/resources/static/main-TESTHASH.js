@@ -0,0 +1,10 @@
+// Fixture for StaticResourceConfigurationTest, stands in for a content-hashed bundle of the Angular build.
+export function listTodos(page, size) {
+  return fetch(`/api/todos?page=${page}&size=${size}`).then((response) => response.json());
+}
+export function getTodo(id) {
+  return fetch(`/api/todos/${id}`).then((response) => response.json());
+}
+export function createTodo(title) {
+  return fetch('/api/todos', { method: 'POST', body: JSON.stringify({ title }) }).then((response) => response.json());
+}